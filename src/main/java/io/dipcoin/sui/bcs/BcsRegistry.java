@@ -28,6 +28,7 @@ import io.dipcoin.sui.bcs.types.signature.*;
 import io.dipcoin.sui.bcs.types.tag.TypeTag;
 import io.dipcoin.sui.bcs.types.tag.TypeTagStructTag;
 import io.dipcoin.sui.bcs.types.transaction.*;
+import io.dipcoin.sui.jfr.BcsSerializeEvent;
 import org.bouncycastle.util.encoders.Base64;
 
 import java.io.IOException;
@@ -153,9 +154,14 @@ public class BcsRegistry {
      * Serialize object to Base64.
      */
     public static <T> String serializeToBase64Direct(T obj, BcsSerializer.BcsTypeSerializer<T> serializer) throws IOException {
+        BcsSerializeEvent event = new BcsSerializeEvent();
+        event.begin();
         BcsSerializer bcsSerializer = new BcsSerializer();
         serializer.serialize(bcsSerializer, obj);
-        return bcsSerializer.toBase64();
+        byte[] bytes = bcsSerializer.toByteArray();
+        String base64 = Base64.toBase64String(bytes);
+        SuiBcs.commit(event, obj, bytes.length);
+        return base64;
     }
     
     /**
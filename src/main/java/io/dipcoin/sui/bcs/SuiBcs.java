@@ -25,6 +25,7 @@ import io.dipcoin.sui.bcs.types.owner.Owner;
 import io.dipcoin.sui.bcs.types.signature.*;
 import io.dipcoin.sui.bcs.types.tag.*;
 import io.dipcoin.sui.bcs.types.transaction.*;
+import io.dipcoin.sui.jfr.BcsSerializeEvent;
 import io.dipcoin.sui.util.Numeric;
 import io.dipcoin.sui.util.ObjectIdUtil;
 import org.bouncycastle.util.encoders.Base64;
@@ -959,9 +960,26 @@ public class SuiBcs {
      * Serialize object to Base64 string.
      */
     public static <T> String serializeToBase64(T obj, BcsSerializer.BcsTypeSerializer<T> serializer) throws IOException {
+        BcsSerializeEvent event = new BcsSerializeEvent();
+        event.begin();
         BcsSerializer bcsSerializer = new BcsSerializer();
         serializer.serialize(bcsSerializer, obj);
-        return bcsSerializer.toBase64();
+        byte[] bytes = bcsSerializer.toByteArray();
+        String base64 = Base64.toBase64String(bytes);
+        commit(event, obj, bytes.length);
+        return base64;
+    }
+
+    /**
+     * Commit a BCS serialization event, the type is only resolved when JFR records it.
+     */
+    static void commit(BcsSerializeEvent event, Object obj, int size) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = obj == null ? null : obj.getClass().getName();
+            event.size = size;
+            event.commit();
+        }
     }
     
     /**
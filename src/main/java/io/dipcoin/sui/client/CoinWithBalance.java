@@ -57,7 +57,11 @@ public class CoinWithBalance {
      */
     public static List<Coin> getCoinsOfType(SuiClient suiClient, String owner, String type, BigInteger requiredBalance) {
         List<Coin> selectedCoins = new ArrayList<>();
-        BigInteger remaining = requiredBalance;
+        if (requiredBalance.bitLength() > Long.SIZE) {
+            throw new IllegalStateException("Not enough coins of type " + type + " to satisfy requested balance");
+        }
+        // Unsigned u64 arithmetic on the raw balances, a balance never exceeds the total supply
+        long remaining = requiredBalance.signum() <= 0 ? 0 : requiredBalance.longValue();
         String cursor = null;
 
         while (true) {
@@ -65,10 +69,11 @@ public class CoinWithBalance {
             List<Coin> coinList = response.getData();
             for (Coin coin : coinList) {
                 selectedCoins.add(coin);
-                remaining = remaining.subtract(coin.getBalance());
-                if (remaining.compareTo(BigInteger.ZERO) <= 0) {
+                long balance = coin.getBalanceAsLong();
+                if (Long.compareUnsigned(balance, remaining) >= 0) {
                     return selectedCoins;
                 }
+                remaining -= balance;
             }
             if (!response.getHasNextPage()) break;
             cursor = response.getNextCursor();
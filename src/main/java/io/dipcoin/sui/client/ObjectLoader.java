@@ -0,0 +1,177 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.client;
+
+import io.dipcoin.sui.model.object.ObjectData;
+import io.dipcoin.sui.model.object.ObjectDataOptions;
+import io.dipcoin.sui.model.object.SuiObjectResponse;
+import io.dipcoin.sui.protocol.SuiClient;
+import io.dipcoin.sui.protocol.exceptions.RpcRequestFailedException;
+import io.dipcoin.sui.protocol.http.request.MultiGetObjects;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/28 10:20
+ * @Description : DataLoader-style object loader. Loads collected within the window, or until
+ * {@link #dispatch()}, are deduplicated and sent as chunked sui_multiGetObjects calls, and the results are
+ * fanned back out to the callers. Loads with different options are sent in separate calls.
+ */
+@Slf4j
+public class ObjectLoader {
+
+    private final SuiClient suiClient;
+
+    private final ObjectLoaderConfig config;
+
+    // Guarded by this, pending loads by options and object id
+    private Map<ObjectDataOptions, Map<String, CompletableFuture<ObjectData>>> pending = new LinkedHashMap<>();
+
+    private boolean scheduled;
+
+    public ObjectLoader(SuiClient suiClient, ObjectLoaderConfig config) {
+        this.suiClient = suiClient;
+        this.config = config;
+    }
+
+    public ObjectLoader(SuiClient suiClient) {
+        this(suiClient, ObjectLoaderConfig.defaults());
+    }
+
+    /**
+     * Load an object with owner and type, the options used by {@link TransactionBuilder}.
+     * @param objectId
+     * @return
+     */
+    public CompletableFuture<ObjectData> load(String objectId) {
+        return load(objectId, ObjectDataOptions.ownerAndTypeTrue());
+    }
+
+    /**
+     * Load an object.
+     * @param objectId object id
+     * @param options data options, not to be modified afterwards
+     * @return future completed with the object data, failed with {@link RpcRequestFailedException} if the object
+     * does not exist or was deleted
+     */
+    public CompletableFuture<ObjectData> load(String objectId, ObjectDataOptions options) {
+        Map<String, CompletableFuture<ObjectData>> full = null;
+        CompletableFuture<ObjectData> future;
+        synchronized (this) {
+            Map<String, CompletableFuture<ObjectData>> group = pending.computeIfAbsent(options, k -> new LinkedHashMap<>());
+            future = group.get(objectId);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            group.put(objectId, future);
+            if (group.size() >= config.maxBatchSize()) {
+                full = pending.remove(options);
+            } else if (!scheduled && !config.window().isZero()) {
+                scheduled = true;
+                CompletableFuture.delayedExecutor(config.window().toNanos(), TimeUnit.NANOSECONDS).execute(this::dispatch);
+            }
+        }
+        if (full != null) {
+            send(options, full);
+        }
+        return future;
+    }
+
+    /**
+     * Load objects in one round trip per chunk, results are in the order of the ids.
+     * @param objectIds object ids
+     * @param options data options
+     * @return
+     */
+    public CompletableFuture<List<ObjectData>> loadAll(List<String> objectIds, ObjectDataOptions options) {
+        List<CompletableFuture<ObjectData>> futures = new ArrayList<>(objectIds.size());
+        for (String objectId : objectIds) {
+            futures.add(load(objectId, options));
+        }
+        dispatch();
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Send every pending load now.
+     */
+    public void dispatch() {
+        Map<ObjectDataOptions, Map<String, CompletableFuture<ObjectData>>> batch;
+        synchronized (this) {
+            scheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        batch.forEach(this::send);
+    }
+
+    private void send(ObjectDataOptions options, Map<String, CompletableFuture<ObjectData>> group) {
+        List<String> objectIds = new ArrayList<>(group.keySet());
+        for (int from = 0; from < objectIds.size(); from += config.maxBatchSize()) {
+            List<String> chunk = objectIds.subList(from, Math.min(objectIds.size(), from + config.maxBatchSize()));
+            MultiGetObjects data = new MultiGetObjects();
+            data.setObjectIds(List.copyOf(chunk));
+            data.setOptions(options);
+            suiClient.multiGetObjects(data).sendAsync().whenComplete((response, e) -> {
+                if (e != null) {
+                    fail(chunk, group, new RpcRequestFailedException("Get objectData failed! objectIds = " + chunk, e));
+                } else if (response == null) {
+                    fail(chunk, group, new RpcRequestFailedException("Get objectData failed! objectIds = " + chunk + ", no response"));
+                } else if (response.hasError() || response.getResult() == null) {
+                    fail(chunk, group, new RpcRequestFailedException("Get objectData failed! objectIds = " + chunk
+                            + (response.hasError() ? ", error = " + response.getError().getMessage() : "")));
+                } else {
+                    complete(chunk, group, response.getResult());
+                }
+            });
+        }
+    }
+
+    private static void complete(List<String> chunk, Map<String, CompletableFuture<ObjectData>> group,
+                                 List<SuiObjectResponse> results) {
+        // Results are in the order of the requested ids
+        for (int i = 0; i < chunk.size(); i++) {
+            CompletableFuture<ObjectData> future = group.get(chunk.get(i));
+            SuiObjectResponse result = i < results.size() ? results.get(i) : null;
+            if (result == null) {
+                future.completeExceptionally(new RpcRequestFailedException("No object returned for objectId = " + chunk.get(i)));
+            } else if (result.getData() == null) {
+                // Deleted or missing object
+                future.completeExceptionally(new RpcRequestFailedException("Get objectData failed! objectId = " + chunk.get(i)
+                        + ", error = " + result.getError()));
+            } else {
+                future.complete(result.getData());
+            }
+        }
+    }
+
+    private static void fail(List<String> chunk, Map<String, CompletableFuture<ObjectData>> group, RuntimeException e) {
+        log.warn("multiGetObjects failed for {} objects: {}", chunk.size(), e.getMessage());
+        for (String objectId : chunk) {
+            group.get(objectId).completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.client;
+
+import java.time.Duration;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/28 10:05
+ * @Description : Object loader configuration
+ *
+ * @param window time loads are collected before they are sent, zero to send only on {@link ObjectLoader#dispatch()}
+ * @param maxBatchSize object ids per sui_multiGetObjects call, a full batch is sent at once
+ */
+public record ObjectLoaderConfig(Duration window, int maxBatchSize) {
+
+    /**
+     * Upper bound of object ids the node accepts in one sui_multiGetObjects call
+     */
+    public static final int MAX_MULTI_GET_OBJECTS = 50;
+
+    public ObjectLoaderConfig {
+        // Parameter validation
+        if (window == null || window.isNegative()) {
+            throw new IllegalArgumentException("window must not be negative");
+        }
+        if (maxBatchSize < 1 || maxBatchSize > MAX_MULTI_GET_OBJECTS) {
+            throw new IllegalArgumentException("maxBatchSize must be between 1 and " + MAX_MULTI_GET_OBJECTS);
+        }
+    }
+
+    /**
+     * Default configuration: 2ms window, batches of 50 objects
+     * @return
+     */
+    public static ObjectLoaderConfig defaults() {
+        return new ObjectLoaderConfig(Duration.ofMillis(2), MAX_MULTI_GET_OBJECTS);
+    }
+
+    /**
+     * Loads are only sent by {@link ObjectLoader#dispatch()}, e.g. once per transaction being built
+     * @return
+     */
+    public static ObjectLoaderConfig manual() {
+        return new ObjectLoaderConfig(Duration.ZERO, MAX_MULTI_GET_OBJECTS);
+    }
+}
@@ -38,6 +38,7 @@ import io.dipcoin.sui.protocol.http.response.SuiTransactionBlockResponseWrapper;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author : Same
@@ -62,6 +63,18 @@ public class TransactionBuilder {
                 objectId, ((Shared)objectData.getOwner()).getInitialSharedVersion().longValue(), mutable)));
     }
 
+    /**
+     * Build SharedObject, the object is fetched together with the other loads of the loader
+     * @param objectLoader
+     * @param objectId
+     * @param mutable
+     * @return
+     */
+    public static CompletableFuture<CallArgObjectArg> buildSharedObject(ObjectLoader objectLoader, String objectId, boolean mutable) {
+        return objectLoader.load(objectId).thenApply(objectData -> new CallArgObjectArg(new ObjectArgSharedObject(new SharedObjectRef(
+                objectId, ((Shared)objectData.getOwner()).getInitialSharedVersion().longValue(), mutable))));
+    }
+
     /**
      * Build SharedObject
      * @param objectId
@@ -95,7 +108,34 @@ public class TransactionBuilder {
     public static CallArgObjectArg buildImmOrOwnedObject(SuiClient suiClient, String objectId) {
         ObjectData objectData = QueryBuilder.getObjectData(suiClient, objectId);
         return new CallArgObjectArg(new ObjectArgImmOrOwnedObject(new SuiObjectRef(
-                objectId, objectData.getVersion().longValue(), objectData.getDigest())));
+                objectId, objectData.getVersionAsLong(), objectData.getDigest())));
+    }
+
+    /**
+     * Build ImmOrOwnedObject, the object is fetched together with the other loads of the loader
+     * @param objectLoader
+     * @param objectId
+     * @return
+     */
+    public static CompletableFuture<CallArgObjectArg> buildImmOrOwnedObject(ObjectLoader objectLoader, String objectId) {
+        return objectLoader.load(objectId).thenApply(objectData -> new CallArgObjectArg(new ObjectArgImmOrOwnedObject(new SuiObjectRef(
+                objectId, objectData.getVersionAsLong(), objectData.getDigest()))));
+    }
+
+    /**
+     * Build GasData single gas, the gas object is fetched together with the other loads of the loader
+     * @param objectLoader
+     * @param gasObjectId
+     * @param sender
+     * @param gasPrice
+     * @param gasBudget
+     * @return
+     */
+    public static CompletableFuture<GasData> buildGasData(ObjectLoader objectLoader, String gasObjectId, String sender, long gasPrice, BigInteger gasBudget) {
+        return objectLoader.load(gasObjectId).thenApply(objectData -> {
+            SuiObjectRef suiObjectRef = new SuiObjectRef(gasObjectId, objectData.getVersionAsLong(), objectData.getDigest());
+            return new GasData(List.of(suiObjectRef), sender, gasPrice, gasBudget);
+        });
     }
 
     /**
@@ -108,7 +148,7 @@ public class TransactionBuilder {
      */
     public static GasData buildGasData(SuiClient suiClient, String gasObjectId, String sender, long gasPrice, BigInteger gasBudget) {
         ObjectData objectData = QueryBuilder.getObjectData(suiClient, gasObjectId);
-        SuiObjectRef suiObjectRef = new SuiObjectRef(gasObjectId, objectData.getVersion().longValue(), objectData.getDigest());
+        SuiObjectRef suiObjectRef = new SuiObjectRef(gasObjectId, objectData.getVersionAsLong(), objectData.getDigest());
         return new GasData(List.of(suiObjectRef), sender, gasPrice, gasBudget);
     }
 
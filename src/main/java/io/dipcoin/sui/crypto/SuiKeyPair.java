@@ -18,6 +18,7 @@ import io.dipcoin.sui.bcs.types.intent.IntentScope;
 import io.dipcoin.sui.crypto.exceptions.SignatureSchemeNotSupportedException;
 import io.dipcoin.sui.crypto.exceptions.SigningException;
 import io.dipcoin.sui.crypto.signature.SignatureScheme;
+import io.dipcoin.sui.jfr.SignEvent;
 import org.bitcoinj.core.Bech32;
 import org.bouncycastle.crypto.digests.Blake2bDigest;
 import org.bouncycastle.jcajce.provider.digest.Blake2b;
@@ -118,6 +119,8 @@ public abstract class SuiKeyPair<T> {
      * @throws SigningException the signing exception
      */
     public byte[] signWithIntent(byte[] msgBytes, IntentScope intentScope) throws SigningException {
+        SignEvent event = new SignEvent();
+        event.begin();
         // 1. Concatenate intent
         int msgLength = msgBytes.length;
         byte[] intentBytes = intentScope.getScope();
@@ -135,6 +138,14 @@ public abstract class SuiKeyPair<T> {
         buffer.put(this.signatureScheme().getScheme());
         buffer.put(signature);
         buffer.put(pubkey);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.scheme = this.signatureScheme().name();
+            event.intent = intentScope.getClass().getSimpleName();
+            event.messageSize = msgLength;
+            event.commit();
+        }
         return buffer.array();
     }
 
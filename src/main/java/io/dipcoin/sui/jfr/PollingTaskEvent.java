@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/27 10:20
+ * @Description : JFR event of one polling task execution
+ */
+@Name("io.dipcoin.sui.PollingTask")
+@Label("Sui Polling Task")
+@Category({"Dipcoin Sui", "Polling"})
+@Description("Scheduled polling task executed")
+@StackTrace(false)
+public class PollingTaskEvent extends jdk.jfr.Event {
+
+    @Label("Task")
+    public String task;
+
+    @Label("Success")
+    public boolean success;
+}
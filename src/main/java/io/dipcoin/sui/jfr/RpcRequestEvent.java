@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/27 10:05
+ * @Description : JFR event of one JSON-RPC exchange, from serialization to the deserialized response
+ */
+@Name("io.dipcoin.sui.RpcRequest")
+@Label("Sui RPC Request")
+@Category({"Dipcoin Sui", "RPC"})
+@Description("JSON-RPC request sent by Service")
+@StackTrace(false)
+public class RpcRequestEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long payloadSize;
+
+    @Label("Asynchronous")
+    public boolean async;
+
+    @Label("Error")
+    @Description("Error code, null on success")
+    public String error;
+}
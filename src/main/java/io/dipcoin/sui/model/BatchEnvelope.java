@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.model;
+
+import java.util.List;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/12 11:20
+ * @Description : Transport view of a JSON-RPC batch. It has no method of its own and is never serialized,
+ * it carries the requests the payload is made of so that transports can weigh and route the batch.
+ */
+public class BatchEnvelope extends Request<Object, Response<?>> {
+
+    private final List<? extends Request<?, ?>> requests;
+
+    public BatchEnvelope(List<? extends Request<?, ?>> requests) {
+        this.requests = requests;
+    }
+
+    public List<? extends Request<?, ?>> getRequests() {
+        return requests;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.model;
+
+import io.dipcoin.sui.protocol.SuiService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/20 14:12
+ * @Description : Sui jsonrpc batch request, collects requests and sends them in one round trip
+ */
+public class BatchRequest {
+
+    private final SuiService suiService;
+
+    private final List<Request<?, ?>> requests = new ArrayList<>();
+
+    private final List<CompletableFuture<? extends Response>> futures = new ArrayList<>();
+
+    public BatchRequest(SuiService suiService) {
+        this.suiService = suiService;
+    }
+
+    /**
+     * Add a request to the batch.
+     *
+     * @param request request to perform
+     * @param <T> type of a data item returned by the request
+     * @return CompletableFuture that will be completed once the batch has been sent
+     */
+    public <T extends Response> CompletableFuture<T> add(Request<?, T> request) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        requests.add(request);
+        futures.add(future);
+        return future;
+    }
+
+    public List<Request<?, ?>> getRequests() {
+        return requests;
+    }
+
+    public int size() {
+        return requests.size();
+    }
+
+    /**
+     * Send all collected requests as a single JSON-RPC batch.
+     *
+     * @return CompletableFuture that will be completed when every request of the batch is completed
+     */
+    public CompletableFuture<Void> send() {
+        List<CompletableFuture<Response>> results = suiService.sendBatch(requests);
+        for (int i = 0; i < results.size(); i++) {
+            CompletableFuture<Response> target = cast(futures.get(i));
+            results.get(i).whenComplete((response, e) -> {
+                if (e != null) {
+                    target.completeExceptionally(e);
+                } else {
+                    target.complete(response);
+                }
+            });
+        }
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Response> cast(CompletableFuture<? extends Response> future) {
+        return (CompletableFuture<Response>) future;
+    }
+
+}
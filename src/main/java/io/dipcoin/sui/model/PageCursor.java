@@ -0,0 +1,32 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.model;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/10 14:08
+ * @Description : End of a streamed page, the cursor to request the next page from
+ * @param nextCursor cursor of the next page, null when the node did not return one
+ * @param hasNextPage whether another page follows
+ */
+public record PageCursor<C>(C nextCursor, boolean hasNextPage) {
+
+    /**
+     * Cursor of an empty page.
+     * @return cursor without a next page
+     */
+    public static <C> PageCursor<C> end() {
+        return new PageCursor<>(null, false);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.dipcoin.sui.protocol.SuiService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/10 14:12
+ * @Description : Request of a cursor paginated method. Besides {@link #send()} the page can be streamed, each
+ * element is handed to a consumer as it is read off the response and the list of the page is never built.
+ */
+public class PageRequest<S, T extends Response<? extends Page<E, C>>, E, C> extends Request<S, T> {
+
+    private Class<E> elementType;
+
+    private Class<C> cursorType;
+
+    public PageRequest() {}
+
+    public PageRequest(String method, List<S> params, SuiService suiService, Class<T> type,
+                       Class<E> elementType, Class<C> cursorType) {
+        super(method, params, suiService, type);
+        this.elementType = elementType;
+        this.cursorType = cursorType;
+    }
+
+    @JsonIgnore
+    public Class<E> getElementType() {
+        return elementType;
+    }
+
+    @JsonIgnore
+    public Class<C> getCursorType() {
+        return cursorType;
+    }
+
+    /**
+     * Perform the request and hand each element of the page to the consumer in response order. Streamed
+     * requests are not retried, the consumer may already have seen part of the page when the exchange fails.
+     *
+     * @param consumer receives each element of the page
+     * @return cursor and hasNextPage of the page
+     * @throws IOException thrown if failed to perform the request
+     * @throws io.dipcoin.sui.protocol.exceptions.RpcRequestFailedException if the node returned an error
+     */
+    public PageCursor<C> stream(Consumer<? super E> consumer) throws IOException {
+        return suiService().streamPage(this, consumer);
+    }
+
+}
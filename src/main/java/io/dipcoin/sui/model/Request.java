@@ -40,6 +40,9 @@ public class Request<S, T extends Response> {
     private List<S> params;
     private long id;
 
+    // Priority class overriding the method mapping of the transport, null to use the mapping
+    private String priority;
+
     private SuiService suiService;
 
     // Unfortunately require an instance of the type too, see
@@ -93,6 +96,30 @@ public class Request<S, T extends Response> {
         return responseType;
     }
 
+    @JsonIgnore
+    public String getPriority() {
+        return priority;
+    }
+
+    @JsonIgnore
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Send the request in the given priority class, e.g. to keep a backfill job off the default lane.
+     * @param priority priority class name
+     * @return this request
+     */
+    public Request<S, T> withPriority(String priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    protected SuiService suiService() {
+        return suiService;
+    }
+
     public T send() throws IOException {
         return suiService.send(this, responseType);
     }
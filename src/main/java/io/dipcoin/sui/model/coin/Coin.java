@@ -13,8 +13,14 @@
 
 package io.dipcoin.sui.model.coin;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.dipcoin.sui.protocol.deserializer.Canonical;
+import io.dipcoin.sui.protocol.deserializer.U64;
+import io.dipcoin.sui.util.Numeric;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 
 import java.math.BigInteger;
 
@@ -27,10 +33,13 @@ import java.math.BigInteger;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Coin {
 
-    private BigInteger balance;
+    @U64
+    @Getter(AccessLevel.NONE)
+    private long balance;
 
     private String coinObjectId;
 
+    @Canonical
     private String coinType;
 
     private String digest;
@@ -39,4 +48,21 @@ public class Coin {
 
     private Long version;
 
+    public BigInteger getBalance() {
+        return Numeric.toU64BigInteger(balance);
+    }
+
+    @JsonIgnore
+    public void setBalance(BigInteger balance) {
+        this.balance = Numeric.toU64Long(balance);
+    }
+
+    /**
+     * @return balance in the base unit of the coin type, unsigned above Long.MAX_VALUE
+     */
+    @JsonIgnore
+    public long getBalanceAsLong() {
+        return balance;
+    }
+
 }
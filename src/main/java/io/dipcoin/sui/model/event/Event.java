@@ -13,8 +13,19 @@
 
 package io.dipcoin.sui.model.event;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.dipcoin.sui.protocol.deserializer.Canonical;
+import io.dipcoin.sui.protocol.deserializer.LazyFields;
+import io.dipcoin.sui.protocol.deserializer.LazyJson;
+import io.dipcoin.sui.protocol.deserializer.U64;
+import io.dipcoin.sui.util.Numeric;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.math.BigInteger;
 
@@ -26,7 +37,12 @@ import java.math.BigInteger;
  */
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class Event {
+public class Event implements LazyFields {
+
+    /**
+     * timestampMs of an event without timestamp, u64 values above Long.MAX_VALUE are not valid timestamps
+     */
+    public static final long NO_TIMESTAMP = -1;
 
     /**
      * Event ID (transaction sequence number, event sequence number)
@@ -36,6 +52,7 @@ public class Event {
     /**
      * Move package ID that emitted this event
      */
+    @Canonical
     private String packageId;
 
     /**
@@ -46,21 +63,27 @@ public class Event {
     /**
      * Sender Sui address
      */
+    @Canonical
     private String sender;
 
     /**
-     * Timestamp (milliseconds since 1970)
+     * Timestamp (milliseconds since 1970), optional in the RPC schema: events of execute and dry-run
+     * responses have none
      */
-    private BigInteger timestampMs;
+    @U64
+    @Getter(AccessLevel.NONE)
+    private long timestampMs = NO_TIMESTAMP;
 
     /**
      * Move module that emitted this event
      */
+    @Canonical
     private String transactionModule;
 
     /**
      * Move event type
      */
+    @Canonical
     private String type;
 
     /**
@@ -74,4 +97,60 @@ public class Event {
      */
     private String bcsEncoding;
 
+    /**
+     * Undecoded parsedJson, only set by the lazy object mapper. Concurrent reads are safe, setters racing
+     * with getters are not synchronized.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile LazyJson<?> lazyParsedJson;
+
+    public Object getParsedJson() {
+        LazyJson<?> lazy = lazyParsedJson;
+        if (lazy != null) {
+            Object decoded = lazy.decode();
+            // Publish the value before clearing the holder, a concurrent getter decodes it again at worst
+            parsedJson = decoded;
+            lazyParsedJson = null;
+            return decoded;
+        }
+        return parsedJson;
+    }
+
+    public void setParsedJson(Object parsedJson) {
+        this.parsedJson = parsedJson;
+        this.lazyParsedJson = null;
+    }
+
+    @Override
+    public void defer(String property, LazyJson<?> value) {
+        if ("parsedJson".equals(property)) {
+            this.parsedJson = null;
+            this.lazyParsedJson = value;
+        }
+    }
+
+    /**
+     * @return timestampMs, null when the node did not return it
+     */
+    public BigInteger getTimestampMs() {
+        return timestampMs < 0 ? null : BigInteger.valueOf(timestampMs);
+    }
+
+    @JsonIgnore
+    public void setTimestampMs(BigInteger timestampMs) {
+        this.timestampMs = timestampMs == null ? NO_TIMESTAMP : Numeric.toU64Long(timestampMs);
+    }
+
+    /**
+     * @return timestampMs without boxing, -1 when the node did not return it
+     */
+    @JsonIgnore
+    public long getTimestampMsAsLong() {
+        return timestampMs;
+    }
+
 }
@@ -14,6 +14,7 @@
 package io.dipcoin.sui.model.event;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.dipcoin.sui.model.Page;
 import lombok.Data;
 
 import java.util.List;
@@ -25,7 +26,7 @@ import java.util.List;
  */
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class PageForEventAndEventId {
+public class PageForEventAndEventId implements Page<Event, EventId> {
 
     private List<Event> data;
 
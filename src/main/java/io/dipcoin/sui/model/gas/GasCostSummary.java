@@ -13,8 +13,13 @@
 
 package io.dipcoin.sui.model.gas;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.dipcoin.sui.protocol.deserializer.U64;
+import io.dipcoin.sui.util.Numeric;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 
 import java.math.BigInteger;
 
@@ -41,21 +46,97 @@ public class GasCostSummary {
     /**
      * calculate/execution cost
      */
-    private BigInteger computationCost;
+    @U64
+    @Getter(AccessLevel.NONE)
+    private long computationCost;
 
     /**
      * Rebate fee. The portion of storage rebate retained by the system.
      */
-    private BigInteger nonRefundableStorageFee;
+    @U64
+    @Getter(AccessLevel.NONE)
+    private long nonRefundableStorageFee;
 
     /**
      * Storage cost, which is the sum of all storage costs of all created or mutated objects.
      */
-    private BigInteger storageCost;
+    @U64
+    @Getter(AccessLevel.NONE)
+    private long storageCost;
 
     /**
      * Amount of storage cost refunded to users for all objects deleted or changed in the transaction.
      */
-    private BigInteger storageRebate;
+    @U64
+    @Getter(AccessLevel.NONE)
+    private long storageRebate;
+
+    public BigInteger getComputationCost() {
+        return Numeric.toU64BigInteger(computationCost);
+    }
+
+    @JsonIgnore
+    public void setComputationCost(BigInteger computationCost) {
+        this.computationCost = Numeric.toU64Long(computationCost);
+    }
+
+    /**
+     * @return computation cost in MIST
+     */
+    @JsonIgnore
+    public long getComputationCostAsLong() {
+        return computationCost;
+    }
+
+    public BigInteger getNonRefundableStorageFee() {
+        return Numeric.toU64BigInteger(nonRefundableStorageFee);
+    }
+
+    @JsonIgnore
+    public void setNonRefundableStorageFee(BigInteger nonRefundableStorageFee) {
+        this.nonRefundableStorageFee = Numeric.toU64Long(nonRefundableStorageFee);
+    }
+
+    /**
+     * @return non-refundable storage fee in MIST
+     */
+    @JsonIgnore
+    public long getNonRefundableStorageFeeAsLong() {
+        return nonRefundableStorageFee;
+    }
+
+    public BigInteger getStorageCost() {
+        return Numeric.toU64BigInteger(storageCost);
+    }
+
+    @JsonIgnore
+    public void setStorageCost(BigInteger storageCost) {
+        this.storageCost = Numeric.toU64Long(storageCost);
+    }
+
+    /**
+     * @return storage cost in MIST
+     */
+    @JsonIgnore
+    public long getStorageCostAsLong() {
+        return storageCost;
+    }
+
+    public BigInteger getStorageRebate() {
+        return Numeric.toU64BigInteger(storageRebate);
+    }
+
+    @JsonIgnore
+    public void setStorageRebate(BigInteger storageRebate) {
+        this.storageRebate = Numeric.toU64Long(storageRebate);
+    }
+
+    /**
+     * @return storage rebate in MIST
+     */
+    @JsonIgnore
+    public long getStorageRebateAsLong() {
+        return storageRebate;
+    }
 
 }
@@ -16,6 +16,7 @@ package io.dipcoin.sui.model.move.kind.data;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.dipcoin.sui.model.move.kind.Data;
 import io.dipcoin.sui.model.move.kind.MoveStruct;
+import io.dipcoin.sui.protocol.deserializer.Canonical;
 
 /**
  * @author : Same
@@ -32,6 +33,7 @@ public class MoveObject implements Data {
 
     private Boolean hasPublicTransfer;
 
+    @Canonical
     private String type;
 
 }
@@ -13,10 +13,21 @@
 
 package io.dipcoin.sui.model.object;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.dipcoin.sui.model.move.kind.Data;
 import io.dipcoin.sui.model.move.kind.RawData;
 import io.dipcoin.sui.model.object.kind.Owner;
+import io.dipcoin.sui.protocol.deserializer.Canonical;
+import io.dipcoin.sui.protocol.deserializer.LazyFields;
+import io.dipcoin.sui.protocol.deserializer.LazyJson;
+import io.dipcoin.sui.protocol.deserializer.U64;
+import io.dipcoin.sui.util.Numeric;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.math.BigInteger;
 
@@ -27,14 +38,17 @@ import java.math.BigInteger;
  */
 @lombok.Data
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class ObjectData {
+public class ObjectData implements LazyFields {
 
     private String objectId;
 
-    private BigInteger version;
+    @U64
+    @Getter(AccessLevel.NONE)
+    private long version;
 
     private String digest;
 
+    @Canonical
     private String type;
 
     private Owner owner;
@@ -49,4 +63,115 @@ public class ObjectData {
 
     private DisplayFieldsResponse display;
 
+    /**
+     * Undecoded content, bcs and display, only set by the lazy object mapper. Concurrent reads are safe,
+     * setters racing with getters are not synchronized.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile LazyJson<?> lazyContent;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile LazyJson<?> lazyBcs;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile LazyJson<?> lazyDisplay;
+
+    public Data getContent() {
+        LazyJson<?> lazy = lazyContent;
+        if (lazy != null) {
+            Data decoded = (Data) lazy.decode();
+            // Value first, then the holder: a getter racing with this one decodes again, never sees null
+            content = decoded;
+            lazyContent = null;
+            return decoded;
+        }
+        return content;
+    }
+
+    public void setContent(Data content) {
+        this.content = content;
+        this.lazyContent = null;
+    }
+
+    public RawData getBcs() {
+        LazyJson<?> lazy = lazyBcs;
+        if (lazy != null) {
+            RawData decoded = (RawData) lazy.decode();
+            bcs = decoded;
+            lazyBcs = null;
+            return decoded;
+        }
+        return bcs;
+    }
+
+    public void setBcs(RawData bcs) {
+        this.bcs = bcs;
+        this.lazyBcs = null;
+    }
+
+    public DisplayFieldsResponse getDisplay() {
+        LazyJson<?> lazy = lazyDisplay;
+        if (lazy != null) {
+            DisplayFieldsResponse decoded = (DisplayFieldsResponse) lazy.decode();
+            display = decoded;
+            lazyDisplay = null;
+            return decoded;
+        }
+        return display;
+    }
+
+    public void setDisplay(DisplayFieldsResponse display) {
+        this.display = display;
+        this.lazyDisplay = null;
+    }
+
+    @Override
+    public void defer(String property, LazyJson<?> value) {
+        switch (property) {
+            case "content" -> {
+                this.content = null;
+                this.lazyContent = value;
+            }
+            case "bcs" -> {
+                this.bcs = null;
+                this.lazyBcs = value;
+            }
+            case "display" -> {
+                this.display = null;
+                this.lazyDisplay = value;
+            }
+            default -> {
+            }
+        }
+    }
+
+    public BigInteger getVersion() {
+        return Numeric.toU64BigInteger(version);
+    }
+
+    @JsonIgnore
+    public void setVersion(BigInteger version) {
+        this.version = Numeric.toU64Long(version);
+    }
+
+    /**
+     * @return object version (lamport timestamp)
+     */
+    @JsonIgnore
+    public long getVersionAsLong() {
+        return version;
+    }
+
 }
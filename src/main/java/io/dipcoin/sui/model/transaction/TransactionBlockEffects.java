@@ -13,13 +13,18 @@
 
 package io.dipcoin.sui.model.transaction;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.dipcoin.sui.model.gas.GasCostSummary;
 import io.dipcoin.sui.model.move.SuiMoveAbort;
 import io.dipcoin.sui.model.object.ObjectRef;
 import io.dipcoin.sui.model.object.OwnedObjectRef;
 import io.dipcoin.sui.model.transaction.kind.ExecutionStatus;
+import io.dipcoin.sui.protocol.deserializer.U64;
+import io.dipcoin.sui.util.Numeric;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 
 import java.math.BigInteger;
 import java.util.List;
@@ -61,7 +66,9 @@ public class TransactionBlockEffects {
     /**
      * Epoch when executing this transaction
      */
-    private BigInteger executedEpoch;
+    @U64
+    @Getter(AccessLevel.NONE)
+    private long executedEpoch;
 
     /**
      * Updated gas object reference
@@ -118,4 +125,21 @@ public class TransactionBlockEffects {
      */
     private List<ObjectRef> wrapped;
 
+    public BigInteger getExecutedEpoch() {
+        return Numeric.toU64BigInteger(executedEpoch);
+    }
+
+    @JsonIgnore
+    public void setExecutedEpoch(BigInteger executedEpoch) {
+        this.executedEpoch = Numeric.toU64Long(executedEpoch);
+    }
+
+    /**
+     * @return executed epoch
+     */
+    @JsonIgnore
+    public long getExecutedEpochAsLong() {
+        return executedEpoch;
+    }
+
 }
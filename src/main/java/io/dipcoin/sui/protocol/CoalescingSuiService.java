@@ -0,0 +1,168 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.model.Response;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/23 10:40
+ * @Description : Single-flight SuiService decorator, concurrent callers of an identical read-only request
+ * (same method and params) share one in-flight call. The shared response object is handed to every caller
+ * and must be treated as read-only. It is not copied per caller, so its JSON-RPC id is the id of the request
+ * that went to the node, not necessarily the id of the caller's own request.
+ */
+public class CoalescingSuiService implements SuiService {
+
+    private final SuiService delegate;
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private final ConcurrentMap<String, CompletableFuture<Response>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public CoalescingSuiService(SuiService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        String key = coalescingKey(request, responseType);
+        if (key == null) {
+            return delegate.send(request, responseType);
+        }
+
+        CompletableFuture<Response> created = new CompletableFuture<>();
+        CompletableFuture<Response> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            hitCount.increment();
+            return responseType.cast(await(existing));
+        }
+
+        missCount.increment();
+        try {
+            T response = delegate.send(request, responseType);
+            created.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        String key = coalescingKey(request, responseType);
+        if (key == null) {
+            return delegate.sendAsync(request, responseType);
+        }
+
+        CompletableFuture<Response> created = new CompletableFuture<>();
+        CompletableFuture<Response> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            hitCount.increment();
+            return existing.thenApply(responseType::cast);
+        }
+
+        missCount.increment();
+        delegate.sendAsync(request, responseType).whenComplete((response, e) -> {
+            inFlight.remove(key, created);
+            if (e != null) {
+                created.completeExceptionally(e);
+            } else {
+                created.complete(response);
+            }
+        });
+        return created.thenApply(responseType::cast);
+    }
+
+    @Override
+    public List<CompletableFuture<Response>> sendBatch(List<? extends Request<?, ?>> requests) {
+        return delegate.sendBatch(requests);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    /**
+     * Number of calls that joined an identical in-flight request.
+     * @return
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Number of coalescable calls that had to go to the node.
+     * @return
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Key of a coalescable request, null if the request must not be shared.
+     */
+    private String coalescingKey(Request<?, ?> request, Class<?> responseType) {
+        if (!RpcMethod.isReadOnly(request.getMethod())) {
+            return null;
+        }
+        try {
+            return request.getMethod() + '|' + responseType.getName() + '|'
+                    + objectMapper.writeValueAsString(request.getParams());
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static Response await(CompletableFuture<Response> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the coalesced response", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -39,6 +39,7 @@ import io.dipcoin.sui.model.transaction.kind.TransactionBlockKind;
 import io.dipcoin.sui.protocol.deserializer.*;
 import io.dipcoin.sui.protocol.serializer.BigIntegerToStringSerializer;
 import io.dipcoin.sui.protocol.serializer.ByteArrayToU8ListSerializer;
+import io.dipcoin.sui.util.StringCanonicalizer;
 
 import java.math.BigInteger;
 import java.util.concurrent.ConcurrentHashMap;
@@ -54,6 +55,12 @@ public class ObjectMapperFactory {
     // Use double-checked locking to ensure thread safety
     private static volatile ObjectMapper DEFAULT_OBJECT_MAPPER;
 
+    // Same configuration, the heavy properties of LazyFields models are decoded on first access
+    private static volatile ObjectMapper LAZY_OBJECT_MAPPER;
+
+    // Shared instances of repeated addresses and type strings, null decodes a new String every time
+    private static volatile StringCanonicalizer STRING_CANONICALIZER;
+
     // Deserializer cache (Key: transaction type kind, Value: deserializer instance)
     private static final ConcurrentMap<String, JsonDeserializer<?>> DESERIALIZER_CACHE =
             new ConcurrentHashMap<>();
@@ -81,6 +88,39 @@ public class ObjectMapperFactory {
         return DEFAULT_OBJECT_MAPPER.reader();
     }
 
+    /**
+     * Mapper that keeps Event.parsedJson and ObjectData.content/bcs/display as raw tokens until their getter is
+     * called. Serialization is identical to {@link #getObjectMapper()}.
+     * @return the shared lazy mapper
+     */
+    public static ObjectMapper getLazyObjectMapper() {
+        if (LAZY_OBJECT_MAPPER == null) {
+            synchronized (ObjectMapperFactory.class) {
+                if (LAZY_OBJECT_MAPPER == null) {
+                    ObjectMapper mapper = createBaseMapper();
+                    mapper.registerModule(new SimpleModule("SuiLazyModule")
+                            .setDeserializerModifier(new LazyFieldsModifier()));
+                    LAZY_OBJECT_MAPPER = mapper;
+                }
+            }
+        }
+        return LAZY_OBJECT_MAPPER;
+    }
+
+    /**
+     * Canonicalize the addresses, package IDs, module names and type strings of events, objects, coins and
+     * owners while decoding, so models kept in long-lived caches share one instance per distinct value.
+     * Applies to every mapper of this factory.
+     * @param canonicalizer cache to read through, null to disable (the default)
+     */
+    public static void setStringCanonicalizer(StringCanonicalizer canonicalizer) {
+        STRING_CANONICALIZER = canonicalizer;
+    }
+
+    public static StringCanonicalizer getStringCanonicalizer() {
+        return STRING_CANONICALIZER;
+    }
+
     private static ObjectMapper createBaseMapper() {
         ObjectMapper mapper = new ObjectMapper();
 
@@ -121,6 +161,9 @@ public class ObjectMapperFactory {
                 .addDeserializer(SuiTransaction.class, new SuiTransactionDeserializer())
                 .addDeserializer(MoveValue.class, new MoveValueDeserializer())
 
+                // u64 longs are set without boxing
+                .setDeserializerModifier(new U64PropertyModifier())
+
                 // Process the special single object in the format `{ objectName: "field" }`.
 //                .addDeserializer(AddressOwner.class, new AddressOwnerDeserializer())
 //                .addDeserializer(ObjectOwner.class, new ObjectOwnerDeserializer())
@@ -20,14 +20,39 @@
 
 package io.dipcoin.sui.protocol;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.dipcoin.sui.jfr.RpcRequestEvent;
+import io.dipcoin.sui.model.BatchEnvelope;
+import io.dipcoin.sui.model.PageCursor;
+import io.dipcoin.sui.model.PageRequest;
 import io.dipcoin.sui.model.Request;
 import io.dipcoin.sui.model.Response;
+import io.dipcoin.sui.protocol.exceptions.MessageDecodingException;
+import io.dipcoin.sui.protocol.exceptions.RpcRequestFailedException;
+import io.dipcoin.sui.protocol.limit.AdaptiveConcurrencyLimiter;
+import io.dipcoin.sui.protocol.metrics.Metering;
+import io.dipcoin.sui.protocol.metrics.RpcMetrics;
+import io.dipcoin.sui.protocol.retry.RetryPolicy;
 import io.dipcoin.sui.util.Async;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * @author : Same
@@ -36,31 +61,515 @@ import java.util.concurrent.CompletableFuture;
  */
 public abstract class Service implements SuiService{
 
-    protected final ObjectMapper objectMapper;
+    // Mapper reading the responses, swapped by setLazyDecoding
+    protected volatile ObjectMapper objectMapper;
+
+    // Writers with the root serializer of single and batch payloads resolved once
+    private final ObjectWriter requestWriter;
+    private final ObjectWriter batchWriter;
+
+    // Executor used to deserialize asynchronous responses, kept off the I/O callback threads
+    protected volatile Executor responseExecutor = Async.executor();
+
+    // Retry policy applied to idempotent requests, null disables retries
+    protected volatile RetryPolicy retryPolicy;
+
+    // Adaptive limit of in-flight requests, null leaves them unlimited
+    protected volatile AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    // Metrics sink, records nothing by default
+    protected volatile RpcMetrics metrics = RpcMetrics.NOOP;
 
     public Service() {
         objectMapper = ObjectMapperFactory.getObjectMapper();
+        requestWriter = objectMapper.writerFor(Request.class);
+        batchWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Request.class));
     }
 
     protected abstract InputStream performIO(String payload) throws IOException;
 
+    /**
+     * Perform the request without blocking the caller. Transports with a native asynchronous client
+     * override this to complete the future from the I/O callback, the default parks a virtual thread
+     * on {@link #performIO(String)}.
+     *
+     * @param payload serialized JSON-RPC payload
+     * @return CompletableFuture completed with the response stream
+     */
+    protected CompletableFuture<InputStream> performIOAsync(String payload) {
+        return Async.run(() -> performIO(payload));
+    }
+
+    /**
+     * Perform the request, transports that route or schedule by JSON-RPC method override this.
+     *
+     * @param request request being performed, null for a batch payload
+     * @param payload serialized JSON-RPC payload
+     * @return the response stream
+     * @throws IOException thrown if failed to perform a request
+     */
+    protected InputStream performIO(Request<?, ?> request, String payload) throws IOException {
+        return performIO(payload);
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #performIO(Request, String)}.
+     *
+     * @param request request being performed, null for a batch payload
+     * @param payload serialized JSON-RPC payload
+     * @return CompletableFuture completed with the response stream
+     */
+    protected CompletableFuture<InputStream> performIOAsync(Request<?, ?> request, String payload) {
+        return performIOAsync(payload);
+    }
+
+    /**
+     * Perform the request with its UTF-8 encoded payload, the entry point used by {@link #send} and
+     * {@link #sendBatch}. Transports able to send bytes override this to skip the String round trip, the
+     * array must not be modified and may be sent several times.
+     *
+     * @param request request being performed, null for a batch payload
+     * @param payload serialized JSON-RPC payload, UTF-8 encoded
+     * @return the response stream
+     * @throws IOException thrown if failed to perform a request
+     */
+    protected InputStream performIO(Request<?, ?> request, byte[] payload) throws IOException {
+        return performIO(request, new String(payload, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #performIO(Request, byte[])}.
+     *
+     * @param request request being performed, null for a batch payload
+     * @param payload serialized JSON-RPC payload, UTF-8 encoded
+     * @return CompletableFuture completed with the response stream
+     */
+    protected CompletableFuture<InputStream> performIOAsync(Request<?, ?> request, byte[] payload) {
+        return performIOAsync(request, new String(payload, StandardCharsets.UTF_8));
+    }
+
     @Override
     public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
-        String payload = objectMapper.writeValueAsString(request);
+        // Encoded once, retried attempts send the same array
+        byte[] payload = serialize(request);
+        RetryPolicy policy = retryPolicy;
+        if (policy != null && policy.isRetryable(request.getMethod())) {
+            int[] attempts = new int[1];
+            return policy.execute(request.getMethod(), () -> {
+                if (attempts[0]++ > 0) {
+                    metrics.recordRetry(request.getMethod());
+                }
+                return doSend(request, payload, (method, result) -> deserialize(method, result, responseType));
+            });
+        }
+        return doSend(request, payload, (method, result) -> deserialize(method, result, responseType));
+    }
+
+    /**
+     * Stream the page off the response, each element is decoded and handed over before the next one is read.
+     * Not retried, the consumer may have seen part of the page when the exchange fails. A JSON-RPC error is
+     * raised once the exchange completed, the concurrency limiter counts it as a response like {@link #send} does.
+     */
+    @Override
+    public <E, C> PageCursor<C> streamPage(PageRequest<?, ?, E, C> request, Consumer<? super E> consumer)
+            throws IOException {
+        Response.Error[] rpcError = new Response.Error[1];
+        PageCursor<C> cursor = doSend(request, serialize(request),
+                (method, result) -> readPage(method, result, request, consumer, rpcError));
+        if (rpcError[0] != null) {
+            throw new RpcRequestFailedException(rpcError[0].getMessage());
+        }
+        return cursor == null ? PageCursor.end() : cursor;
+    }
 
-        try (InputStream result = this.performIO(payload)) {
+    private <T> T doSend(Request request, byte[] payload, ResponseReader<T> reader) throws IOException {
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiter;
+        if (limiter == null) {
+            return exchange(request, payload, reader);
+        }
+        long start = limiter.acquire();
+        Throwable error = null;
+        try {
+            return exchange(request, payload, reader);
+        } catch (IOException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            limiter.release(start, error);
+        }
+    }
+
+    private <T> T exchange(Request request, byte[] payload, ResponseReader<T> reader) throws IOException {
+        RpcRequestEvent event = new RpcRequestEvent();
+        event.begin();
+        Throwable error = null;
+        try (InputStream result = this.performIO(request, payload)) {
             if (result != null) {
-                return objectMapper.readValue(result, responseType);
+                return reader.read(request.getMethod(), result);
             } else {
                 return null;
             }
+        } catch (IOException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            commit(event, request, payload, false, error);
+        }
+    }
+
+    private static void commit(RpcRequestEvent event, Request request, byte[] payload, boolean async, Throwable error) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.payloadSize = payload.length;
+            event.async = async;
+            event.error = error == null ? null : Metering.errorCode(error);
+            event.commit();
         }
     }
 
+    /**
+     * Encode the request straight to UTF-8, the bytes are the only copy of the payload and are handed to
+     * the transport as is. Called once per call, the serialization metric counts calls and not attempts.
+     */
+    private byte[] serialize(Request request) throws JsonProcessingException {
+        RpcMetrics metrics = this.metrics;
+        if (!Metering.isEnabled(metrics)) {
+            return requestWriter.writeValueAsBytes(request);
+        }
+        long start = System.nanoTime();
+        byte[] payload = requestWriter.writeValueAsBytes(request);
+        metrics.recordSerialization(request.getMethod(), System.nanoTime() - start, payload.length);
+        return payload;
+    }
+
+    /**
+     * Decode the response off the live body stream. The body is not buffered first, so the recorded
+     * deserialization time includes the transfer of the body after the headers; the exchange time of the
+     * transports ends at the headers and the two do not overlap.
+     */
+    private <T extends Response> T deserialize(String method, InputStream result, Class<T> responseType) throws IOException {
+        RpcMetrics metrics = this.metrics;
+        if (!Metering.isEnabled(metrics)) {
+            return objectMapper.readValue(result, responseType);
+        }
+        long start = System.nanoTime();
+        T response = objectMapper.readValue(result, responseType);
+        metrics.recordDeserialization(method, System.nanoTime() - start);
+        if (response != null && response.hasError()) {
+            metrics.recordError(method, Metering.rpcErrorCode(response.getError().getCode()));
+        }
+        return response;
+    }
+
+    private <E, C> PageCursor<C> readPage(String method, InputStream result, PageRequest<?, ?, E, C> request,
+                                          Consumer<? super E> consumer, Response.Error[] rpcError) throws IOException {
+        ObjectMapper mapper = this.objectMapper;
+        RpcMetrics metrics = this.metrics;
+        long start = Metering.isEnabled(metrics) ? System.nanoTime() : 0;
+        PageCursor<C> cursor = PageCursor.end();
+        try (JsonParser p = mapper.createParser(result)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new MessageDecodingException("Expected a JSON-RPC response object for " + method);
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken token = p.nextToken();
+                if ("result".equals(field) && token == JsonToken.START_OBJECT) {
+                    cursor = readPageResult(p, mapper.readerFor(request.getElementType()),
+                            request.getCursorType(), consumer);
+                } else if ("error".equals(field) && token == JsonToken.START_OBJECT) {
+                    rpcError[0] = mapper.readValue(p, Response.Error.class);
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+        if (Metering.isEnabled(metrics)) {
+            // Includes the time spent in the consumer
+            metrics.recordDeserialization(method, System.nanoTime() - start);
+            if (rpcError[0] != null) {
+                metrics.recordError(method, Metering.rpcErrorCode(rpcError[0].getCode()));
+            }
+        }
+        return cursor;
+    }
+
+    private static <E, C> PageCursor<C> readPageResult(JsonParser p, ObjectReader elementReader, Class<C> cursorType,
+                                                       Consumer<? super E> consumer) throws IOException {
+        C nextCursor = null;
+        boolean hasNextPage = false;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken token = p.nextToken();
+            switch (field) {
+                case "data" -> {
+                    if (token != JsonToken.START_ARRAY) {
+                        p.skipChildren();
+                        break;
+                    }
+                    while (p.nextToken() != JsonToken.END_ARRAY) {
+                        E element = elementReader.readValue(p);
+                        consumer.accept(element);
+                    }
+                }
+                case "nextCursor" -> nextCursor = token == JsonToken.VALUE_NULL ? null : p.readValueAs(cursorType);
+                case "hasNextPage" -> hasNextPage = token == JsonToken.VALUE_TRUE;
+                default -> p.skipChildren();
+            }
+        }
+        return new PageCursor<>(nextCursor, hasNextPage);
+    }
+
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(String method, InputStream result) throws IOException;
+    }
+
     @Override
     public <T extends Response> CompletableFuture<T> sendAsync(
             Request jsonRpc20Request, Class<T> responseType) {
-        return Async.run(() -> send(jsonRpc20Request, responseType));
+        byte[] payload;
+        try {
+            payload = serialize(jsonRpc20Request);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        RetryPolicy policy = retryPolicy;
+        if (policy != null && policy.isRetryable(jsonRpc20Request.getMethod())) {
+            AtomicInteger attempts = new AtomicInteger();
+            return policy.executeAsync(jsonRpc20Request.getMethod(), () -> {
+                if (attempts.getAndIncrement() > 0) {
+                    metrics.recordRetry(jsonRpc20Request.getMethod());
+                }
+                return doSendAsync(jsonRpc20Request, payload, responseType);
+            });
+        }
+        return doSendAsync(jsonRpc20Request, payload, responseType);
+    }
+
+    private <T extends Response> CompletableFuture<T> doSendAsync(
+            Request jsonRpc20Request, byte[] payload, Class<T> responseType) {
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiter;
+        if (limiter == null) {
+            return exchangeAsync(jsonRpc20Request, payload, responseType);
+        }
+        return limiter.acquireAsync().thenCompose(ignored -> {
+            long start = System.nanoTime();
+            CompletableFuture<T> response;
+            try {
+                response = exchangeAsync(jsonRpc20Request, payload, responseType);
+            } catch (RuntimeException e) {
+                limiter.release(start, e);
+                throw e;
+            }
+            return response.whenComplete((result, e) -> limiter.release(start, e));
+        });
+    }
+
+    private <T extends Response> CompletableFuture<T> exchangeAsync(
+            Request jsonRpc20Request, byte[] payload, Class<T> responseType) {
+        RpcRequestEvent event = new RpcRequestEvent();
+        event.begin();
+        String method = jsonRpc20Request.getMethod();
+        return performIOAsync(jsonRpc20Request, payload)
+                .thenApplyAsync(result -> readResponse(method, result, responseType), responseExecutor)
+                .whenComplete((result, e) -> commit(event, jsonRpc20Request, payload, true,
+                        e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+    }
+
+    private <T extends Response> T readResponse(String method, InputStream result, Class<T> responseType) {
+        if (result == null) {
+            return null;
+        }
+        try (result) {
+            return deserialize(method, result, responseType);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Set the executor used to deserialize asynchronous responses.
+     *
+     * @param responseExecutor executor, defaults to the shared virtual thread executor
+     */
+    public void setResponseExecutor(Executor responseExecutor) {
+        this.responseExecutor = responseExecutor;
+    }
+
+    /**
+     * Set the retry policy applied to idempotent requests. Batches are not retried, their entries
+     * may mix idempotent and non-idempotent methods.
+     *
+     * @param retryPolicy retry policy, null disables retries
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Set the metrics sink, e.g. an {@link io.dipcoin.sui.protocol.metrics.InMemoryRpcMetrics}.
+     *
+     * @param metrics metrics, null records nothing
+     */
+    public void setMetrics(RpcMetrics metrics) {
+        this.metrics = metrics == null ? RpcMetrics.NOOP : metrics;
+    }
+
+    public RpcMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Limit the requests in flight to an adaptively estimated capacity of the node. Each attempt of a
+     * retried request takes its own permit, batches are not limited.
+     *
+     * @param concurrencyLimiter limiter, null leaves requests unlimited
+     */
+    public void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Keep Event.parsedJson and ObjectData.content/bcs/display of the responses undecoded until their getter is
+     * called, see {@link ObjectMapperFactory#getLazyObjectMapper()}. Off by default.
+     *
+     * @param lazyDecoding true to decode the heavy fields on first access
+     */
+    public void setLazyDecoding(boolean lazyDecoding) {
+        this.objectMapper = lazyDecoding ? ObjectMapperFactory.getLazyObjectMapper() : ObjectMapperFactory.getObjectMapper();
+    }
+
+    public boolean isLazyDecoding() {
+        return objectMapper != ObjectMapperFactory.getObjectMapper();
+    }
+
+    @Override
+    public List<CompletableFuture<Response>> sendBatch(List<? extends Request<?, ?>> requests) {
+        List<CompletableFuture<Response>> futures = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            futures.add(new CompletableFuture<>());
+        }
+        if (requests.isEmpty()) {
+            return futures;
+        }
+
+        Map<Long, Integer> indexById = new HashMap<>(requests.size() * 2);
+        byte[] payload;
+        try {
+            for (int i = 0; i < requests.size(); i++) {
+                long id = requests.get(i).getId();
+                if (indexById.put(id, i) != null) {
+                    throw new IllegalArgumentException("Duplicate request id in batch: " + id);
+                }
+            }
+            payload = serializeBatch(requests);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            futures.forEach(future -> future.completeExceptionally(e));
+            return futures;
+        }
+
+        performIOAsync(new BatchEnvelope(requests), payload)
+                .thenAcceptAsync(result -> completeBatch(result, requests, indexById, futures), responseExecutor)
+                .whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        futures.forEach(future -> future.completeExceptionally(cause));
+                    }
+                });
+        return futures;
+    }
+
+    /**
+     * Encode the batch, metered under the null method like the exchanges of the batch.
+     */
+    private byte[] serializeBatch(List<? extends Request<?, ?>> requests) throws JsonProcessingException {
+        RpcMetrics metrics = this.metrics;
+        if (!Metering.isEnabled(metrics)) {
+            return batchWriter.writeValueAsBytes(requests);
+        }
+        long start = System.nanoTime();
+        byte[] payload = batchWriter.writeValueAsBytes(requests);
+        metrics.recordSerialization(null, System.nanoTime() - start, payload.length);
+        return payload;
+    }
+
+    /**
+     * Read the JSON array of a batch response and complete the future of each request with the
+     * response carrying the same id. The deserialization time covers reading the whole array and, like
+     * {@link #deserialize}, includes the body transfer; JSON-RPC errors are recorded per entry method.
+     */
+    private void completeBatch(InputStream result, List<? extends Request<?, ?>> requests,
+                               Map<Long, Integer> indexById, List<CompletableFuture<Response>> futures) {
+        if (result == null) {
+            throw new MessageDecodingException("Empty response received for batch request");
+        }
+        RpcMetrics metrics = this.metrics;
+        boolean metered = Metering.isEnabled(metrics);
+        long start = metered ? System.nanoTime() : 0;
+        JsonNode nodes;
+        try (result) {
+            nodes = objectMapper.readTree(result);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+        if (metered) {
+            // Recorded before the futures complete and run the callers' continuations
+            metrics.recordDeserialization(null, System.nanoTime() - start);
+        }
+
+        if (nodes.isObject()) {
+            // The node rejected the batch as a whole, the single error response belongs to every request
+            if (metered) {
+                recordBatchError(metrics, null, nodes);
+            }
+            for (int i = 0; i < requests.size(); i++) {
+                completeFromNode(futures.get(i), nodes, requests.get(i).getResponseType());
+            }
+            return;
+        }
+
+        for (JsonNode node : nodes) {
+            JsonNode idNode = node.get("id");
+            Integer index = idNode == null || !idNode.canConvertToLong() ? null : indexById.get(idNode.asLong());
+            if (index != null) {
+                if (metered) {
+                    recordBatchError(metrics, requests.get(index).getMethod(), node);
+                }
+                completeFromNode(futures.get(index), node, requests.get(index).getResponseType());
+            }
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            futures.get(i).completeExceptionally(new MessageDecodingException(
+                    "No response received for batch request id: " + requests.get(i).getId()));
+        }
+    }
+
+    private static void recordBatchError(RpcMetrics metrics, String method, JsonNode node) {
+        JsonNode error = node.get("error");
+        if (error != null && error.isObject()) {
+            JsonNode code = error.get("code");
+            metrics.recordError(method, Metering.rpcErrorCode(code == null ? 0 : code.asInt()));
+        }
+    }
+
+    private void completeFromNode(CompletableFuture<Response> future, JsonNode node,
+                                  Class<? extends Response> responseType) {
+        try {
+            future.complete(objectMapper.treeToValue(node, responseType));
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+        }
     }
 
 }
@@ -20,6 +20,7 @@
 
 package io.dipcoin.sui.protocol;
 
+import io.dipcoin.sui.model.BatchRequest;
 import io.dipcoin.sui.protocol.core.JsonRpcSui;
 import io.dipcoin.sui.protocol.core.Sui;
 import io.dipcoin.sui.protocol.rx.SuiPolling;
@@ -58,6 +59,13 @@ public interface SuiClient extends Sui, SuiPolling, AutoCloseable {
         return new JsonRpcSui(suiService, pollingInterval, scheduledExecutorService);
     }
 
+    /**
+     * Create a new batch, requests added to it are sent in a single JSON-RPC 2.0 batch.
+     *
+     * @return new BatchRequest instance
+     */
+    BatchRequest newBatch();
+
     /** Shutdowns a SuiClient instance and closes opened resources. */
     void shutdown();
 }
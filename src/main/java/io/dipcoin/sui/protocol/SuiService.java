@@ -20,18 +20,25 @@
 
 package io.dipcoin.sui.protocol;
 
+import io.dipcoin.sui.model.Page;
+import io.dipcoin.sui.model.PageCursor;
+import io.dipcoin.sui.model.PageRequest;
 import io.dipcoin.sui.model.Request;
 import io.dipcoin.sui.model.Response;
+import io.dipcoin.sui.protocol.exceptions.RpcRequestFailedException;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * @author : Same
  * @datetime : 2025/6/25 19:09
  * @Description : SUI Services API
  */
-public interface SuiService {
+public interface SuiService extends Closeable {
 
     /**
      * Perform a synchronous JSON-RPC request.
@@ -55,10 +62,49 @@ public interface SuiService {
      */
     <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType);
 
+    /**
+     * Performs a JSON-RPC 2.0 batch request, all requests are written into a single payload and the
+     * responses are mapped back to their requests by id.
+     *
+     * @param requests requests to perform, each with a distinct id
+     * @return one CompletableFuture per request, in the same order as the given requests
+     */
+    List<CompletableFuture<Response>> sendBatch(List<? extends Request<?, ?>> requests);
+
+    /**
+     * Performs a paginated request and hands each element of the page to the consumer. The default sends
+     * the request and walks the decoded page, services reading the response themselves override this to
+     * decode one element at a time.
+     *
+     * @param request paginated request to perform
+     * @param consumer receives each element of the page in response order
+     * @param <E> element type of the page
+     * @param <C> cursor type of the page
+     * @return cursor and hasNextPage of the page
+     * @throws IOException thrown if failed to perform a request
+     * @throws RpcRequestFailedException if the node returned an error
+     */
+    default <E, C> PageCursor<C> streamPage(PageRequest<?, ?, E, C> request, Consumer<? super E> consumer)
+            throws IOException {
+        Response<? extends Page<E, C>> response = send(request, request.getResponseType());
+        if (response != null && response.hasError()) {
+            throw new RpcRequestFailedException(response.getError().getMessage());
+        }
+        Page<E, C> page = response == null ? null : response.getResult();
+        if (page == null) {
+            return PageCursor.end();
+        }
+        if (page.getData() != null) {
+            page.getData().forEach(consumer);
+        }
+        return new PageCursor<>(page.getNextCursor(), Boolean.TRUE.equals(page.getHasNextPage()));
+    }
+
     /**
      * Closes resources used by the service.
      *
      * @throws IOException thrown if a service failed to close all resources
      */
+    @Override
     void close() throws IOException;
 }
\ No newline at end of file
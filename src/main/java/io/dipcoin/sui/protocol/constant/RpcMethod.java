@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.constant;
+
+import java.util.Set;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/22 11:20
+ * @Description : Sui JSON-RPC method names and their classification
+ */
+public interface RpcMethod {
+
+    // Coin Query API
+    String GET_BALANCE = "suix_getBalance";
+    String GET_COINS = "suix_getCoins";
+
+    // Extended API
+    String GET_DYNAMIC_FIELD_OBJECT = "suix_getDynamicFieldObject";
+    String GET_OWNED_OBJECTS = "suix_getOwnedObjects";
+    String QUERY_EVENTS = "suix_queryEvents";
+
+    // Governance Read API
+    String GET_LATEST_SUI_SYSTEM_STATE = "suix_getLatestSuiSystemState";
+    String GET_REFERENCE_GAS_PRICE = "suix_getReferenceGasPrice";
+
+    // Move Utils API
+    String GET_MOVE_FUNCTION_ARG_TYPES = "sui_getMoveFunctionArgTypes";
+    String GET_NORMALIZED_MOVE_FUNCTION = "sui_getNormalizedMoveFunction";
+    String GET_NORMALIZED_MOVE_MODULE = "sui_getNormalizedMoveModule";
+    String GET_NORMALIZED_MOVE_MODULES_BY_PACKAGE = "sui_getNormalizedMoveModulesByPackage";
+    String GET_NORMALIZED_MOVE_STRUCT = "sui_getNormalizedMoveStruct";
+
+    // Read API
+    String GET_CHAIN_IDENTIFIER = "sui_getChainIdentifier";
+    String GET_LATEST_CHECKPOINT_SEQUENCE_NUMBER = "sui_getLatestCheckpointSequenceNumber";
+    String GET_OBJECT = "sui_getObject";
+    String GET_TOTAL_TRANSACTION_BLOCKS = "sui_getTotalTransactionBlocks";
+    String MULTI_GET_OBJECTS = "sui_multiGetObjects";
+    String VERIFY_ZK_LOGIN_SIGNATURE = "sui_verifyZkLoginSignature";
+
+    // Transaction Builder API
+    String BATCH_TRANSACTION = "unsafe_batchTransaction";
+    String MOVE_CALL = "unsafe_moveCall";
+    String PAY = "unsafe_pay";
+    String PAY_SUI = "unsafe_paySui";
+    String TRANSFER_OBJECT = "unsafe_transferObject";
+
+    // Write API
+    String EXECUTE_TRANSACTION_BLOCK = "sui_executeTransactionBlock";
+
+    // Subscription API, WebSocket only
+    String SUBSCRIBE_EVENT = "suix_subscribeEvent";
+    String SUBSCRIBE_TRANSACTION = "suix_subscribeTransaction";
+    String UNSUBSCRIBE_EVENT = "suix_unsubscribeEvent";
+    String UNSUBSCRIBE_TRANSACTION = "suix_unsubscribeTransaction";
+
+    /**
+     * Methods that only read node state, sending them twice has no side effect.
+     */
+    Set<String> READ_ONLY = Set.of(
+            GET_BALANCE, GET_COINS,
+            GET_DYNAMIC_FIELD_OBJECT, GET_OWNED_OBJECTS, QUERY_EVENTS,
+            GET_LATEST_SUI_SYSTEM_STATE, GET_REFERENCE_GAS_PRICE,
+            GET_MOVE_FUNCTION_ARG_TYPES, GET_NORMALIZED_MOVE_FUNCTION, GET_NORMALIZED_MOVE_MODULE,
+            GET_NORMALIZED_MOVE_MODULES_BY_PACKAGE, GET_NORMALIZED_MOVE_STRUCT,
+            GET_CHAIN_IDENTIFIER, GET_LATEST_CHECKPOINT_SEQUENCE_NUMBER, GET_OBJECT,
+            GET_TOTAL_TRANSACTION_BLOCKS, MULTI_GET_OBJECTS, VERIFY_ZK_LOGIN_SIGNATURE
+    );
+
+    /**
+     * Methods that only build transaction bytes, they do not change node state.
+     */
+    Set<String> TRANSACTION_BUILDER = Set.of(
+            BATCH_TRANSACTION, MOVE_CALL, PAY, PAY_SUI, TRANSFER_OBJECT
+    );
+
+    static boolean isReadOnly(String method) {
+        return method != null && READ_ONLY.contains(method);
+    }
+
+    /**
+     * Whether sending the method again after an unknown outcome is safe. Executing a transaction is,
+     * because the same signed bytes always produce the same digest and the node applies it only once.
+     */
+    static boolean isIdempotent(String method) {
+        return isReadOnly(method)
+                || (method != null && TRANSACTION_BUILDER.contains(method))
+                || EXECUTE_TRANSACTION_BLOCK.equals(method);
+    }
+}
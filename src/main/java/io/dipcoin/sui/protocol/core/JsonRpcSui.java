@@ -20,8 +20,13 @@
 
 package io.dipcoin.sui.protocol.core;
 
+import io.dipcoin.sui.model.BatchRequest;
+import io.dipcoin.sui.model.PageRequest;
 import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.model.coin.Coin;
 import io.dipcoin.sui.model.event.Event;
+import io.dipcoin.sui.model.event.EventId;
+import io.dipcoin.sui.model.object.SuiObjectResponse;
 import io.dipcoin.sui.model.read.ChainIdentifier;
 import io.dipcoin.sui.model.transaction.Transaction;
 import io.dipcoin.sui.protocol.SuiClient;
@@ -85,12 +90,12 @@ public class JsonRpcSui implements SuiClient {
     }
 
     @Override
-    public Request<?, PageForCoinAndStringWrapper> getCoins(GetCoins request) {
-        return new Request<>(
+    public PageRequest<?, PageForCoinAndStringWrapper, Coin, String> getCoins(GetCoins request) {
+        return new PageRequest<>(
                 "suix_getCoins",
                 Arrays.asList(request.getOwner(), request.getCoinType(), request.getCursor(), request.getLimit()),
                 suiService,
-                PageForCoinAndStringWrapper.class);
+                PageForCoinAndStringWrapper.class, Coin.class, String.class);
     }
 
     // --------------------- Coin Query API end ---------------------
@@ -107,21 +112,21 @@ public class JsonRpcSui implements SuiClient {
     }
 
     @Override
-    public Request<?, PageForSuiObjectResponseAndObjectIdWrapper> getOwnedObjects(GetOwnedObjects request) {
-        return new Request<>(
+    public PageRequest<?, PageForSuiObjectResponseAndObjectIdWrapper, SuiObjectResponse, String> getOwnedObjects(GetOwnedObjects request) {
+        return new PageRequest<>(
                 "suix_getOwnedObjects",
                 Arrays.asList(request.getAddress(), request.getQuery(), request.getCursor(), request.getLimit()),
                 suiService,
-                PageForSuiObjectResponseAndObjectIdWrapper.class);
+                PageForSuiObjectResponseAndObjectIdWrapper.class, SuiObjectResponse.class, String.class);
     }
 
     @Override
-    public Request<?, PageForEventAndEventIdWrapper> queryEvents(QueryEvents request) {
-        return new Request<>(
+    public PageRequest<?, PageForEventAndEventIdWrapper, Event, EventId> queryEvents(QueryEvents request) {
+        return new PageRequest<>(
                 "suix_queryEvents",
                 Arrays.asList(request.getQuery(), request.getCursor(), request.getLimit(), request.getDescendingOrder()),
                 suiService,
-                PageForEventAndEventIdWrapper.class);
+                PageForEventAndEventIdWrapper.class, Event.class, EventId.class);
     }
 
     // --------------------- Extended API end ---------------------
@@ -318,6 +323,15 @@ public class JsonRpcSui implements SuiClient {
 
     // --------------------- Write API end ---------------------
 
+    // --------------------- Batch API start ---------------------
+
+    @Override
+    public BatchRequest newBatch() {
+        return new BatchRequest(suiService);
+    }
+
+    // --------------------- Batch API end ---------------------
+
     // --------------------- polling API start ---------------------
 
     @Override
@@ -20,7 +20,12 @@
 
 package io.dipcoin.sui.protocol.core;
 
+import io.dipcoin.sui.model.PageRequest;
 import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.model.coin.Coin;
+import io.dipcoin.sui.model.event.Event;
+import io.dipcoin.sui.model.event.EventId;
+import io.dipcoin.sui.model.object.SuiObjectResponse;
 import io.dipcoin.sui.model.read.ChainIdentifier;
 import io.dipcoin.sui.model.transaction.Transaction;
 import io.dipcoin.sui.protocol.http.request.*;
@@ -47,7 +52,7 @@ public interface Sui {
      * @param request
      * @return
      */
-    Request<?, PageForCoinAndStringWrapper> getCoins(GetCoins request);
+    PageRequest<?, PageForCoinAndStringWrapper, Coin, String> getCoins(GetCoins request);
 
     // --------------------- Coin Query API end ---------------------
 
@@ -65,14 +70,14 @@ public interface Sui {
      * @param request
      * @return
      */
-    Request<?, PageForSuiObjectResponseAndObjectIdWrapper> getOwnedObjects(GetOwnedObjects request);
+    PageRequest<?, PageForSuiObjectResponseAndObjectIdWrapper, SuiObjectResponse, String> getOwnedObjects(GetOwnedObjects request);
 
     /**
      * Return list of events for a specified query criteria
      * @param request
      * @return
      */
-    Request<?, PageForEventAndEventIdWrapper> queryEvents(QueryEvents request);
+    PageRequest<?, PageForEventAndEventIdWrapper, Event, EventId> queryEvents(QueryEvents request);
 
     // --------------------- Extended API end ---------------------
 
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import io.dipcoin.sui.protocol.ObjectMapperFactory;
+import io.dipcoin.sui.util.StringCanonicalizer;
+
+import java.io.IOException;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/11 15:45
+ * @Description : String read through the canonicalizer set on {@link ObjectMapperFactory}, plain String
+ * decoding while none is set
+ */
+public class CanonicalStringDeserializer extends StdScalarDeserializer<String> {
+
+    public CanonicalStringDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String value = p.currentToken() == JsonToken.VALUE_STRING
+                ? p.getText()
+                : StringDeserializer.instance.deserialize(p, ctxt);
+        return canonicalize(value);
+    }
+
+    static String canonicalize(String value) {
+        StringCanonicalizer canonicalizer = ObjectMapperFactory.getStringCanonicalizer();
+        return canonicalizer == null ? value : canonicalizer.canonicalize(value);
+    }
+}
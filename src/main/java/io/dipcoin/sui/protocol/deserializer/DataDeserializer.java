@@ -16,8 +16,6 @@ package io.dipcoin.sui.protocol.deserializer;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dipcoin.sui.model.move.kind.Data;
 import io.dipcoin.sui.model.move.kind.data.MoveObject;
 import io.dipcoin.sui.model.move.kind.data.Package;
@@ -34,20 +32,18 @@ public class DataDeserializer extends JsonDeserializer<Data> {
     @Override
     public Data deserialize(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
-        JsonNode node = p.getCodec().readTree(p);
-
-        if (!node.has("dataType")) {
+        Tokens.Discriminated discriminated = Tokens.discriminate(p, ctxt, "dataType");
+        if (discriminated == null) {
             throw new IllegalArgumentException("Missing dataType field in Data");
         }
 
-        String dataType = node.get("dataType").asText();
+        String dataType = discriminated.value();
 
         switch (dataType) {
             case "moveObject":
-                return mapper.treeToValue(node, MoveObject.class);
+                return ctxt.readValue(discriminated.parser(), MoveObject.class);
             case "package":
-                return mapper.treeToValue(node, Package.class);
+                return ctxt.readValue(discriminated.parser(), Package.class);
             default:
                 throw new IllegalArgumentException("Unknown Data type: " + dataType);
         }
@@ -16,8 +16,6 @@ package io.dipcoin.sui.protocol.deserializer;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dipcoin.sui.model.transaction.kind.ExecutionStatus;
 import io.dipcoin.sui.model.transaction.kind.status.Failure;
 import io.dipcoin.sui.model.transaction.kind.status.Success;
@@ -33,26 +31,22 @@ public class ExecutionStatusDeserializer extends JsonDeserializer<ExecutionStatu
 
     @Override
     public ExecutionStatus deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
-        JsonNode node = mapper.readTree(p);
-
-        if (!node.has("status")) {
+        Tokens.Discriminated discriminated = Tokens.discriminate(p, ctxt, "status");
+        if (discriminated == null) {
             throw ctxt.instantiationException(ExecutionStatus.class,
                     "Missing required field 'status' in ExecutionStatus");
         }
 
-        String status = node.get("status").asText();
+        String status = discriminated.value();
+        Class<? extends ExecutionStatus> targetClass = switch (status) {
+            case "success" -> Success.class;
+            case "failure" -> Failure.class;
+            default -> throw ctxt.instantiationException(ExecutionStatus.class,
+                    "Unknown ExecutionStatus: " + status);
+        };
 
         try {
-            switch (status) {
-                case "success":
-                    return mapper.convertValue(node, Success.class);
-                case "failure":
-                    return mapper.convertValue(node, Failure.class);
-                default:
-                    throw ctxt.instantiationException(ExecutionStatus.class,
-                            "Unknown ExecutionStatus: " + status);
-            }
+            return ctxt.readValue(discriminated.parser(), targetClass);
         } catch (Exception e) {
             throw ctxt.instantiationException(ExecutionStatus.class,
                     "Failed to deserialize ExecutionStatus");
@@ -14,17 +14,15 @@
 package io.dipcoin.sui.protocol.deserializer;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.dipcoin.sui.model.object.kind.InputObjectKind;
 import io.dipcoin.sui.model.object.kind.input.ImmOrOwnedMoveObject;
 import io.dipcoin.sui.model.object.kind.input.MovePackage;
 import io.dipcoin.sui.model.object.kind.input.SharedMoveObject;
 
 import java.io.IOException;
-import java.util.Iterator;
 
 /**
  * @author : Same
@@ -35,28 +33,30 @@ public class InputObjectKindDeserializer  extends JsonDeserializer<InputObjectKi
 
     @Override
     public InputObjectKind deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
-        ObjectNode node = mapper.readTree(p);
-
-        // get all field names
-        Iterator<String> fieldNames = node.fieldNames();
-
-        if (fieldNames.hasNext()) {
-            String typeField = fieldNames.next();
+        // the first field names the kind
+        if (p.currentToken() == JsonToken.START_OBJECT && p.nextToken() == JsonToken.FIELD_NAME) {
+            String typeField = p.currentName();
+            p.nextToken();
 
+            InputObjectKind kind;
             switch (typeField) {
                 case "MovePackage":
                     MovePackage movePackage = new MovePackage();
-                    movePackage.setMovePackage(node.get(typeField).asText());
-                    return movePackage;
+                    movePackage.setMovePackage(p.getValueAsString());
+                    kind = movePackage;
+                    break;
                 case "ImmOrOwnedMoveObject":
-                    return mapper.treeToValue(node.get(typeField), ImmOrOwnedMoveObject.class);
+                    kind = ctxt.readValue(p, ImmOrOwnedMoveObject.class);
+                    break;
                 case "SharedMoveObject":
-                    return mapper.treeToValue(node.get(typeField), SharedMoveObject.class);
+                    kind = ctxt.readValue(p, SharedMoveObject.class);
+                    break;
                 default:
                     throw ctxt.instantiationException(InputObjectKind.class,
                             "Unknown InputObjectKind type: " + typeField);
             }
+            Tokens.skipRest(p);
+            return kind;
         }
 
         throw ctxt.instantiationException(InputObjectKind.class,
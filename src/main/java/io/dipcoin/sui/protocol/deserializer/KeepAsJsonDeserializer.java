@@ -13,12 +13,13 @@
 
 package io.dipcoin.sui.protocol.deserializer;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 
 import java.io.IOException;
+import java.io.StringWriter;
 
 /**
  * @author : Same
@@ -29,7 +30,11 @@ public class KeepAsJsonDeserializer extends JsonDeserializer<String> {
 
     @Override
     public String deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
-        TreeNode tree = jp.getCodec().readTree(jp);
-        return tree.toString();
+        // Copy the tokens straight into the output, no intermediate tree
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = jp.getCodec().getFactory().createGenerator(writer)) {
+            generator.copyCurrentStructure(jp);
+        }
+        return writer.toString();
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import io.dipcoin.sui.model.event.Event;
+import io.dipcoin.sui.model.object.ObjectData;
+import io.dipcoin.sui.protocol.ObjectMapperFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/10 10:20
+ * @Description : Replaces the heavy properties of the {@link LazyFields} models by properties that copy the
+ * tokens of the value instead of decoding it. Indexers that read a few fields of many events or objects skip
+ * building the Move value trees they never look at.
+ */
+public class LazyFieldsModifier extends BeanDeserializerModifier {
+
+    private static final Map<Class<?>, Set<String>> LAZY_PROPERTIES = Map.of(
+            Event.class, Set.of("parsedJson"),
+            ObjectData.class, Set.of("content", "bcs", "display")
+    );
+
+    @Override
+    public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc,
+                                                 BeanDeserializerBuilder builder) {
+        Set<String> names = LAZY_PROPERTIES.get(beanDesc.getBeanClass());
+        if (names == null || !LazyFields.class.isAssignableFrom(beanDesc.getBeanClass())) {
+            return builder;
+        }
+        List<SettableBeanProperty> lazy = new ArrayList<>();
+        builder.getProperties().forEachRemaining(property -> {
+            if (names.contains(property.getName())) {
+                lazy.add(property);
+            }
+        });
+        lazy.forEach(property -> builder.addOrReplaceProperty(new LazyProperty(property), true));
+        return builder;
+    }
+
+    /**
+     * Copies the value into a token buffer and hands it to the bean, null is set as usual.
+     */
+    private static final class LazyProperty extends SettableBeanProperty.Delegating {
+
+        LazyProperty(SettableBeanProperty delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected SettableBeanProperty withDelegate(SettableBeanProperty d) {
+            return new LazyProperty(d);
+        }
+
+        @Override
+        public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NULL || !(instance instanceof LazyFields fields)) {
+                delegate.deserializeAndSet(p, ctxt, instance);
+                return;
+            }
+            ObjectCodec codec = p.getCodec() != null ? p.getCodec() : ObjectMapperFactory.getLazyObjectMapper();
+            fields.defer(getName(), new LazyJson<>(ctxt.bufferAsCopyOfValue(p), codec, getType()));
+        }
+
+        @Override
+        public Object deserializeSetAndReturn(JsonParser p, DeserializationContext ctxt, Object instance)
+                throws IOException {
+            deserializeAndSet(p, ctxt, instance);
+            return instance;
+        }
+    }
+}
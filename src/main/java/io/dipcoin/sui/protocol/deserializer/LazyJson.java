@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.dipcoin.sui.protocol.exceptions.MessageDecodingException;
+
+import java.io.IOException;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/10 10:05
+ * @Description : Undecoded value of a heavy property, the tokens of the response are kept and decoded with the
+ * codec of the response on first access. The tokens are read-only, decoding may run more than once.
+ */
+public final class LazyJson<T> {
+
+    private final TokenBuffer buffer;
+
+    private final ObjectCodec codec;
+
+    private final JavaType type;
+
+    LazyJson(TokenBuffer buffer, ObjectCodec codec, JavaType type) {
+        this.buffer = buffer;
+        this.codec = codec;
+        this.type = type;
+    }
+
+    /**
+     * Decode the kept tokens.
+     * @return the value the property would have had without lazy decoding
+     * @throws MessageDecodingException when the tokens do not match the property type
+     */
+    public T decode() {
+        try (JsonParser parser = buffer.asParser(codec)) {
+            return codec.readValue(parser, type);
+        } catch (IOException e) {
+            throw new MessageDecodingException("Failed to decode " + type.getRawClass().getSimpleName(), e);
+        }
+    }
+}
@@ -14,9 +14,9 @@
 package io.dipcoin.sui.protocol.deserializer;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import io.dipcoin.sui.model.move.kind.MoveFunctionArgType;
 import io.dipcoin.sui.model.move.kind.arg.ObjectValueKind;
 import io.dipcoin.sui.model.move.kind.arg.PureArgType;
@@ -34,36 +34,43 @@ public class MoveFunctionArgTypeDeserializer extends JsonDeserializer<MoveFuncti
     @Override
     public MoveFunctionArgType deserialize(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        JsonNode node = p.getCodec().readTree(p);
+        JsonToken token = p.currentToken();
 
         // Process the string form of "Pure".
-        if (node.isTextual()) {
-            if ("Pure".equals(node.asText())) {
+        if (token == JsonToken.VALUE_STRING) {
+            if ("Pure".equals(p.getText())) {
                 PureArgType pure = new PureArgType();
                 pure.setType("Pure");
                 return pure;
             }
             throw ctxt.instantiationException(MoveFunctionArgType.class,
-                    "Unknown string type: " + node.asText());
+                    "Unknown string type: " + p.getText());
         }
 
         // Process the object form of {"Object": "ByValue"}.
-        if (node.isObject()) {
-            JsonNode objectNode = node.get("Object");
-            if (objectNode != null && objectNode.isTextual()) {
+        if (token == JsonToken.START_OBJECT) {
+            String object = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                if (p.nextToken() == JsonToken.VALUE_STRING && "Object".equals(name)) {
+                    object = p.getText();
+                }
+                p.skipChildren();
+            }
+            if (object != null) {
                 try {
                     ObjectValueKind kind = new ObjectValueKind();
-                    kind.setObject(objectNode.asText());
+                    kind.setObject(object);
                     return kind;
                 } catch (IllegalArgumentException e) {
                     throw ctxt.instantiationException(MoveFunctionArgType.class,
-                            "Invalid ObjectValueKind: " + objectNode.asText());
+                            "Invalid ObjectValueKind: " + object);
                 }
             }
         }
 
         throw ctxt.instantiationException(MoveFunctionArgType.class,
-                "Invalid MoveFunctionArgType format: " + node);
+                "Invalid MoveFunctionArgType format: " + token);
     }
 
 }
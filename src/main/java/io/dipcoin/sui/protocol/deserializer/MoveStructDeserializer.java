@@ -14,11 +14,10 @@
 package io.dipcoin.sui.protocol.deserializer;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.dipcoin.sui.model.move.kind.MoveStruct;
 import io.dipcoin.sui.model.move.kind.MoveValue;
 import io.dipcoin.sui.model.move.kind.struct.MoveStructArray;
@@ -26,7 +25,7 @@ import io.dipcoin.sui.model.move.kind.struct.MoveStructMap;
 import io.dipcoin.sui.model.move.kind.struct.MoveStructObject;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -36,27 +35,78 @@ import java.util.Map;
  */
 public class MoveStructDeserializer extends JsonDeserializer<MoveStruct> {
 
+    private final MoveValueDeserializer values = new MoveValueDeserializer();
+
     @Override
     public MoveStruct deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
-        JsonNode node = mapper.readTree(p);
+        JsonToken token = p.currentToken();
 
-        if (node.isArray()) {
+        if (token == JsonToken.START_ARRAY) {
             MoveStructArray array = new MoveStructArray();
-            List<MoveValue> values = mapper.convertValue(node, new TypeReference<List<MoveValue>>() {});
-            array.setValues(values);
+            array.setValues(values.readList(p, ctxt));
             return array;
-        } else if (node.has("type") && node.has("fields")) {
-            MoveStructObject obj = new MoveStructObject();
-            obj.setType(node.get("type").asText());
-            obj.setFields(mapper.convertValue(node.get("fields"), new TypeReference<Map<String, MoveValue>>() {}));
-            return obj;
-        } else if (node.isObject()) {
-            MoveStructMap map = new MoveStructMap();
-            map.setValues(mapper.convertValue(node, new TypeReference<Map<String, MoveValue>>() {}));
-            return map;
+        } else if (token == JsonToken.START_OBJECT) {
+            return readObject(p, ctxt);
         } else {
             throw new IllegalArgumentException("Unrecognized MoveStruct format");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * An object with "type" and "fields" is a struct, any other object a map of values. The fields of a
+     * struct are decoded in place when the type came first, otherwise buffered until the shape is known.
+     */
+    private MoveStruct readObject(JsonParser p, DeserializationContext ctxt) throws IOException {
+        Map<String, MoveValue> entries = new LinkedHashMap<>();
+        String type = null;
+        Map<String, MoveValue> fields = null;
+        TokenBuffer bufferedFields = null;
+        boolean hasType = false;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken token = p.nextToken();
+            if ("fields".equals(name)) {
+                if (hasType && token == JsonToken.START_OBJECT) {
+                    fields = values.readMap(p, ctxt);
+                } else {
+                    bufferedFields = ctxt.bufferAsCopyOfValue(p);
+                }
+                continue;
+            }
+            if ("type".equals(name)) {
+                hasType = true;
+                type = p.getValueAsString();
+            }
+            entries.put(name, values.deserialize(p, ctxt));
+        }
+
+        if (hasType && (fields != null || bufferedFields != null)) {
+            MoveStructObject obj = new MoveStructObject();
+            obj.setType(type);
+            obj.setFields(fields != null ? fields : replayMap(bufferedFields, p, ctxt));
+            return obj;
+        }
+        if (bufferedFields != null) {
+            entries.put("fields", replayValue(bufferedFields, p, ctxt));
+        }
+        MoveStructMap map = new MoveStructMap();
+        map.setValues(entries);
+        return map;
+    }
+
+    private Map<String, MoveValue> replayMap(TokenBuffer buffer, JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+        try (JsonParser replay = buffer.asParser(p)) {
+            replay.nextToken();
+            return values.readMap(replay, ctxt);
+        }
+    }
+
+    private MoveValue replayValue(TokenBuffer buffer, JsonParser p, DeserializationContext ctxt) throws IOException {
+        try (JsonParser replay = buffer.asParser(p)) {
+            replay.nextToken();
+            return values.deserialize(replay, ctxt);
+        }
+    }
+}
@@ -14,60 +14,204 @@
 package io.dipcoin.sui.protocol.deserializer;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.dipcoin.sui.model.move.kind.MoveValue;
 import io.dipcoin.sui.model.move.kind.struct.MoveStructObject;
 import io.dipcoin.sui.model.move.kind.value.MoveVariant;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * @author : Same
  * @datetime : 2025/7/4 17:49
- * @Description : MoveValue special deserializer.
+ * @Description : MoveValue special deserializer. The shape of an object is only known once all of its keys were
+ * seen, the nodes write "type" before "fields" so the fields are decoded in place and only buffered when they
+ * come first.
  */
 public class MoveValueDeserializer extends JsonDeserializer<MoveValue> {
 
     @Override
     public MoveValue deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
-        JsonNode node = mapper.readTree(p);
         MoveValue mv = new MoveValue();
 
-        if (node.isInt()) {
-            mv.setValueType(MoveValue.MoveValueType.UINT32);
-            mv.setValue(node.intValue());
-        } else if (node.isBoolean()) {
-            mv.setValueType(MoveValue.MoveValueType.BOOLEAN);
-            mv.setValue(node.booleanValue());
-        } else if (node.isTextual()) {
-            mv.setValueType(MoveValue.MoveValueType.STRING);
-            mv.setValue(node.textValue());
-        } else if (node.isNull()) {
-            mv.setValueType(MoveValue.MoveValueType.NULL);
-            mv.setValue(null);
-        } else if (node.isArray()) {
-            mv.setValueType(MoveValue.MoveValueType.ARRAY);
-            mv.setValue(mapper.convertValue(node, new TypeReference<List<MoveValue>>() {}));
-        } else if (node.has("id")) {
+        switch (p.currentToken()) {
+            case VALUE_NUMBER_INT:
+                if (p.getNumberType() != JsonParser.NumberType.INT) {
+                    throw new IllegalArgumentException("Unknown MoveValue structure: " + p.getText());
+                }
+                mv.setValueType(MoveValue.MoveValueType.UINT32);
+                mv.setValue(p.getIntValue());
+                return mv;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                mv.setValueType(MoveValue.MoveValueType.BOOLEAN);
+                mv.setValue(p.getBooleanValue());
+                return mv;
+            case VALUE_STRING:
+                mv.setValueType(MoveValue.MoveValueType.STRING);
+                mv.setValue(p.getText());
+                return mv;
+            case VALUE_NULL:
+                mv.setValueType(MoveValue.MoveValueType.NULL);
+                mv.setValue(null);
+                return mv;
+            case START_ARRAY:
+                mv.setValueType(MoveValue.MoveValueType.ARRAY);
+                mv.setValue(readList(p, ctxt));
+                return mv;
+            case START_OBJECT:
+                return readObject(p, ctxt, mv);
+            default:
+                throw new IllegalArgumentException("Unknown MoveValue structure: " + p.currentToken());
+        }
+    }
+
+    /**
+     * Elements of the current array.
+     * @param p parser on START_ARRAY
+     */
+    List<MoveValue> readList(JsonParser p, DeserializationContext ctxt) throws IOException {
+        List<MoveValue> values = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(deserialize(p, ctxt));
+        }
+        return values;
+    }
+
+    /**
+     * Entries of the current object.
+     * @param p parser on START_OBJECT
+     */
+    Map<String, MoveValue> readMap(JsonParser p, DeserializationContext ctxt) throws IOException {
+        Map<String, MoveValue> values = new LinkedHashMap<>();
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Expected an object of MoveValue, got: " + p.currentToken());
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            values.put(name, deserialize(p, ctxt));
+        }
+        return values;
+    }
+
+    private MoveValue readObject(JsonParser p, DeserializationContext ctxt, MoveValue mv) throws IOException {
+        // Every key as a plain value, only needed by the id form
+        Map<String, Object> raw = new LinkedHashMap<>();
+        String type = null;
+        String variant = null;
+        Map<String, MoveValue> fields = null;
+        TokenBuffer bufferedFields = null;
+        boolean hasId = false;
+        boolean hasType = false;
+        boolean hasVariant = false;
+        boolean hasFields = false;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken token = p.nextToken();
+            switch (name) {
+                case "fields" -> {
+                    hasFields = true;
+                    if (hasType && !hasId && token == JsonToken.START_OBJECT) {
+                        fields = readMap(p, ctxt);
+                    } else {
+                        bufferedFields = ctxt.bufferAsCopyOfValue(p);
+                    }
+                    continue;
+                }
+                case "id" -> hasId = true;
+                case "type" -> {
+                    hasType = true;
+                    type = token == JsonToken.VALUE_STRING ? p.getText() : null;
+                }
+                case "variant" -> {
+                    hasVariant = true;
+                    variant = token == JsonToken.VALUE_STRING ? p.getText() : null;
+                }
+                default -> {
+                }
+            }
+            raw.put(name, token == JsonToken.VALUE_STRING ? p.getText() : ctxt.readValue(p, Object.class));
+        }
+
+        if (hasId) {
+            if (hasFields) {
+                raw.put("fields", bufferedFields != null ? read(bufferedFields, p, ctxt, Object.class) : plain(fields));
+            }
             mv.setValueType(MoveValue.MoveValueType.ID_OBJECT);
-            mv.setValue(mapper.convertValue(node, Map.class));
-        } else if (node.has("fields") && node.has("type") && node.has("variant")) {
+            mv.setValue(raw);
+        } else if (hasFields && hasType && hasVariant) {
+            MoveVariant moveVariant = new MoveVariant();
+            moveVariant.setType(type);
+            moveVariant.setVariant(variant);
+            moveVariant.setFields(fields != null ? fields : readMap(bufferedFields, p, ctxt));
             mv.setValueType(MoveValue.MoveValueType.VARIANT);
-            mv.setValue(mapper.convertValue(node, MoveVariant.class));
-        } else if (node.has("type") && node.has("fields")) {
+            mv.setValue(moveVariant);
+        } else if (hasFields && hasType) {
+            MoveStructObject struct = new MoveStructObject();
+            struct.setType(type);
+            struct.setFields(fields != null ? fields : readMap(bufferedFields, p, ctxt));
             mv.setValueType(MoveValue.MoveValueType.STRUCT_OBJECT);
-            mv.setValue(mapper.convertValue(node, MoveStructObject.class));
+            mv.setValue(struct);
         } else {
-            throw new IllegalArgumentException("Unknown MoveValue structure: " + node.toPrettyString());
+            throw new IllegalArgumentException("Unknown MoveValue structure: " + raw.keySet());
         }
-
         return mv;
     }
+
+    private Map<String, MoveValue> readMap(TokenBuffer buffer, JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+        try (JsonParser replay = buffer.asParser(p)) {
+            replay.nextToken();
+            return readMap(replay, ctxt);
+        }
+    }
+
+    private static <T> T read(TokenBuffer buffer, JsonParser p, DeserializationContext ctxt, Class<T> type)
+            throws IOException {
+        try (JsonParser replay = buffer.asParser(p)) {
+            replay.nextToken();
+            return ctxt.readValue(replay, type);
+        }
+    }
+
+    /**
+     * Plain java form of decoded fields, for the rare id object whose fields came after its type.
+     */
+    private static Map<String, Object> plain(Map<String, MoveValue> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        fields.forEach((name, value) -> values.put(name, plain(value)));
+        return values;
+    }
+
+    private static Object plain(MoveValue value) {
+        Object v = value.getValue();
+        if (v instanceof List<?> list) {
+            List<Object> values = new ArrayList<>(list.size());
+            list.forEach(item -> values.add(plain((MoveValue) item)));
+            return values;
+        }
+        if (v instanceof MoveStructObject struct) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("type", struct.getType());
+            values.put("fields", plain(struct.getFields()));
+            return values;
+        }
+        if (v instanceof MoveVariant moveVariant) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("type", moveVariant.getType());
+            values.put("variant", moveVariant.getVariant());
+            values.put("fields", plain(moveVariant.getFields()));
+            return values;
+        }
+        return v;
+    }
 }
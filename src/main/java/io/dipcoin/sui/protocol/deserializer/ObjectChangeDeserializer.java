@@ -16,8 +16,6 @@ package io.dipcoin.sui.protocol.deserializer;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.dipcoin.sui.model.object.kind.ObjectChange;
 import io.dipcoin.sui.model.object.kind.change.*;
 
@@ -32,34 +30,26 @@ public class ObjectChangeDeserializer extends JsonDeserializer<ObjectChange> {
 
     @Override
     public ObjectChange deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
-        ObjectNode node = mapper.readTree(p);
-
-        if (!node.has("type")) {
+        Tokens.Discriminated discriminated = Tokens.discriminate(p, ctxt, "type");
+        if (discriminated == null) {
             throw ctxt.instantiationException(ObjectChange.class,
                     "Missing required field 'type' in SuiObjectChange");
         }
 
-        String type = node.get("type").asText();
+        String type = discriminated.value();
+        Class<? extends ObjectChange> targetClass = switch (type) {
+            case "published" -> Published.class;
+            case "transferred" -> Transferred.class;
+            case "mutated" -> Mutated.class;
+            case "deleted" -> Deleted.class;
+            case "wrapped" -> Wrapped.class;
+            case "created" -> Created.class;
+            default -> throw ctxt.instantiationException(ObjectChange.class,
+                    "Unknown SuiObjectChange type: " + type);
+        };
 
         try {
-            switch (type) {
-                case "published":
-                    return mapper.convertValue(node, Published.class);
-                case "transferred":
-                    return mapper.convertValue(node, Transferred.class);
-                case "mutated":
-                    return mapper.convertValue(node, Mutated.class);
-                case "deleted":
-                    return mapper.convertValue(node, Deleted.class);
-                case "wrapped":
-                    return mapper.convertValue(node, Wrapped.class);
-                case "created":
-                    return mapper.convertValue(node, Created.class);
-                default:
-                    throw ctxt.instantiationException(ObjectChange.class,
-                            "Unknown SuiObjectChange type: " + type);
-            }
+            return ctxt.readValue(discriminated.parser(), targetClass);
         } catch (Exception e) {
             throw ctxt.instantiationException(ObjectChange.class,
                     "Failed to deserialize SuiObjectChange of type " + type);
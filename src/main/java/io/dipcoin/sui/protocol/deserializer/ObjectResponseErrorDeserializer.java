@@ -16,8 +16,6 @@ package io.dipcoin.sui.protocol.deserializer;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dipcoin.sui.model.object.kind.ObjectResponseError;
 import io.dipcoin.sui.model.object.kind.error.*;
 
@@ -29,30 +27,28 @@ import java.io.IOException;
  * @Description : ObjectResponseError special deserializer.
  */
 public class ObjectResponseErrorDeserializer extends JsonDeserializer<ObjectResponseError> {
-    private static final ObjectMapper mapper = new ObjectMapper();
 
     @Override
     public ObjectResponseError deserialize(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        JsonNode node = p.getCodec().readTree(p);
-
-        if (!node.has("code")) {
+        Tokens.Discriminated discriminated = Tokens.discriminate(p, ctxt, "code");
+        if (discriminated == null) {
             throw new IllegalArgumentException("Missing code field in ObjectResponseError");
         }
 
-        String code = node.get("code").asText();
+        String code = discriminated.value();
 
         switch (code) {
             case "notExists":
-                return mapper.treeToValue(node, NotExists.class);
+                return ctxt.readValue(discriminated.parser(), NotExists.class);
             case "dynamicFieldNotFound":
-                return mapper.treeToValue(node, DynamicFieldNotFound.class);
+                return ctxt.readValue(discriminated.parser(), DynamicFieldNotFound.class);
             case "deleted":
-                return mapper.treeToValue(node, Deleted.class);
+                return ctxt.readValue(discriminated.parser(), Deleted.class);
             case "unknown":
-                return mapper.treeToValue(node, Unknown.class);
+                return ctxt.readValue(discriminated.parser(), Unknown.class);
             case "displayError":
-                return mapper.treeToValue(node, Display.class);
+                return ctxt.readValue(discriminated.parser(), Display.class);
             default:
                 throw new IllegalArgumentException("Unknown error code: " + code);
         }
@@ -14,13 +14,14 @@
 package io.dipcoin.sui.protocol.deserializer;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
 import io.dipcoin.sui.model.object.kind.Owner;
 import io.dipcoin.sui.model.object.kind.owner.*;
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.util.Iterator;
 
 /**
  * @author : Same
@@ -31,124 +32,137 @@ public class OwnerDeserializer extends JsonDeserializer<Owner> {
 
     @Override
     public Owner deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        JsonNode node = p.getCodec().readTree(p);
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
+        JsonToken token = p.currentToken();
 
         // Process the string form of "Immutable".
-        if (node.isTextual()) {
-            if ("Immutable".equals(node.asText())) {
+        if (token == JsonToken.VALUE_STRING) {
+            if ("Immutable".equals(p.getText())) {
                 return new Immutable();
             }
             throw ctxt.instantiationException(Owner.class,
-                    "Unknown string Owner type: " + node.asText());
+                    "Unknown string Owner type: " + p.getText());
         }
 
         // Process the object form.
-        if (node.isObject()) {
-            Iterator<String> fieldNames = node.fieldNames();
-
-            if (!fieldNames.hasNext()) {
+        if (token == JsonToken.START_OBJECT) {
+            if (p.nextToken() != JsonToken.FIELD_NAME) {
                 throw ctxt.instantiationException(Owner.class, "Owner object is empty");
             }
 
-            String type = fieldNames.next();
-            JsonNode valueNode = node.get(type);
-
-            // Ensure only one field is present.
-            if (fieldNames.hasNext()) {
-                throw ctxt.instantiationException(Owner.class,
-                        "Owner object should have exactly one field, found multiple");
-            }
+            String type = p.currentName();
+            JsonToken valueToken = p.nextToken();
 
+            Owner owner;
             switch (type) {
                 case "AddressOwner":
-                    return parseAddressOwner(type, valueNode, ctxt);
+                    owner = parseAddressOwner(type, p, valueToken, ctxt);
+                    break;
 
                 case "ObjectOwner":
-                    return parseObjectOwner(type, valueNode, ctxt);
+                    owner = parseObjectOwner(type, p, valueToken, ctxt);
+                    break;
 
                 case "Shared":
-                    return parseShared(type, valueNode, ctxt);
+                    owner = parseShared(type, p, valueToken, ctxt);
+                    break;
 
                 case "ConsensusAddressOwner":
-                    return parseConsensusAddressOwner(type, valueNode, mapper, ctxt);
+                    owner = parseConsensusAddressOwner(type, p, ctxt);
+                    break;
 
                 default:
                     throw ctxt.instantiationException(Owner.class,
                             "Unknown Owner type: " + type);
             }
+
+            // Ensure only one field is present.
+            if (p.nextToken() != JsonToken.END_OBJECT) {
+                throw ctxt.instantiationException(Owner.class,
+                        "Owner object should have exactly one field, found multiple");
+            }
+            return owner;
         }
 
         throw ctxt.instantiationException(Owner.class,
-                "Owner must be string or object, got: " + node.getNodeType());
+                "Owner must be string or object, got: " + token);
     }
 
-    private AddressOwner parseAddressOwner(String type, JsonNode valueNode, DeserializationContext ctxt) throws JsonMappingException {
-        if (!valueNode.isTextual()) {
+    private AddressOwner parseAddressOwner(String type, JsonParser p, JsonToken valueToken,
+                                           DeserializationContext ctxt) throws IOException {
+        if (valueToken != JsonToken.VALUE_STRING) {
             throw ctxt.instantiationException(AddressOwner.class,
-                    "AddressOwner value must be string, got: " + valueNode.getNodeType());
+                    "AddressOwner value must be string, got: " + valueToken);
         }
 
         AddressOwner owner = new AddressOwner();
         owner.setType(type);
-        owner.setAddressOwner(valueNode.asText());
+        owner.setAddressOwner(CanonicalStringDeserializer.canonicalize(p.getText()));
         return owner;
     }
 
-    private ObjectOwner parseObjectOwner(String type, JsonNode valueNode, DeserializationContext ctxt) throws JsonMappingException {
-        if (!valueNode.isTextual()) {
+    private ObjectOwner parseObjectOwner(String type, JsonParser p, JsonToken valueToken,
+                                         DeserializationContext ctxt) throws IOException {
+        if (valueToken != JsonToken.VALUE_STRING) {
             throw ctxt.instantiationException(ObjectOwner.class,
-                    "ObjectOwner value must be string, got: " + valueNode.getNodeType());
+                    "ObjectOwner value must be string, got: " + valueToken);
         }
 
         ObjectOwner owner = new ObjectOwner();
         owner.setType(type);
-        owner.setObjectId(valueNode.asText());
+        owner.setObjectId(CanonicalStringDeserializer.canonicalize(p.getText()));
         return owner;
     }
 
-    private Shared parseShared(String type, JsonNode valueNode, DeserializationContext ctxt) throws JsonMappingException {
-        if (!valueNode.isObject()) {
+    private Shared parseShared(String type, JsonParser p, JsonToken valueToken,
+                               DeserializationContext ctxt) throws IOException {
+        if (valueToken != JsonToken.START_OBJECT) {
             throw ctxt.instantiationException(Shared.class,
-                    "Shared value must be object, got: " + valueNode.getNodeType());
+                    "Shared value must be object, got: " + valueToken);
         }
 
-        JsonNode versionNode = valueNode.get("initial_shared_version");
-        if (versionNode == null) {
+        String version = null;
+        JsonToken versionToken = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken token = p.nextToken();
+            if ("initial_shared_version".equals(field)) {
+                versionToken = token;
+                version = token.isScalarValue() ? p.getText() : null;
+            }
+            p.skipChildren();
+        }
+
+        if (versionToken == null) {
             throw ctxt.instantiationException(Shared.class,
                     "Shared object missing 'initial_shared_version' field");
         }
 
-        if (!versionNode.isNumber() && !versionNode.isTextual()) {
+        if (!versionToken.isNumeric() && versionToken != JsonToken.VALUE_STRING) {
             throw ctxt.instantiationException(Shared.class,
-                    "initial_shared_version must be number or string, got: " + versionNode.getNodeType());
+                    "initial_shared_version must be number or string, got: " + versionToken);
         }
 
         Shared shared = new Shared();
         shared.setType(type);
 
         try {
-            if (versionNode.isTextual()) {
-                shared.setInitialSharedVersion(new BigInteger(versionNode.asText()));
-            } else {
-                shared.setInitialSharedVersion(BigInteger.valueOf(versionNode.asLong()));
-            }
+            shared.setInitialSharedVersion(new BigInteger(version));
         } catch (NumberFormatException e) {
             throw ctxt.instantiationException(Shared.class,
-                    "Invalid initial_shared_version format: " + versionNode.asText());
+                    "Invalid initial_shared_version format: " + version);
         }
 
         return shared;
     }
 
-    private ConsensusAddressOwner parseConsensusAddressOwner(String type, JsonNode valueNode,
-                                                             ObjectMapper mapper, DeserializationContext ctxt) throws JsonMappingException {
+    private ConsensusAddressOwner parseConsensusAddressOwner(String type, JsonParser p,
+                                                             DeserializationContext ctxt) throws IOException {
         try {
             ConsensusAddressOwner owner = new ConsensusAddressOwner();
             owner.setType(type);
 
             // Parse directly as an internal class.
-            ConsensusAddressOwner.ConsensusData data = mapper.treeToValue(valueNode, ConsensusAddressOwner.ConsensusData.class);
+            ConsensusAddressOwner.ConsensusData data = ctxt.readValue(p, ConsensusAddressOwner.ConsensusData.class);
             owner.setConsensus(data);
 
             return owner;
@@ -16,8 +16,6 @@ package io.dipcoin.sui.protocol.deserializer;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dipcoin.sui.model.move.kind.RawData;
 import io.dipcoin.sui.model.move.kind.rawdata.MoveObjectRaw;
 import io.dipcoin.sui.model.move.kind.rawdata.PackageRaw;
@@ -34,20 +32,18 @@ public class RawDataDeserializer extends JsonDeserializer<RawData> {
     @Override
     public RawData deserialize(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
-        JsonNode node = p.getCodec().readTree(p);
-
-        if (!node.has("dataType")) {
+        Tokens.Discriminated discriminated = Tokens.discriminate(p, ctxt, "dataType");
+        if (discriminated == null) {
             throw new IllegalArgumentException("Missing dataType field in RawData");
         }
 
-        String dataType = node.get("dataType").asText();
+        String dataType = discriminated.value();
 
         switch (dataType) {
             case "moveObject":
-                return mapper.treeToValue(node, MoveObjectRaw.class);
+                return ctxt.readValue(discriminated.parser(), MoveObjectRaw.class);
             case "package":
-                return mapper.treeToValue(node, PackageRaw.class);
+                return ctxt.readValue(discriminated.parser(), PackageRaw.class);
             default:
                 throw new IllegalArgumentException("Unknown RawData type: " + dataType);
         }
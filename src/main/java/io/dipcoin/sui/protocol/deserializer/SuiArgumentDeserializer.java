@@ -19,14 +19,12 @@ import io.dipcoin.sui.model.sui.kind.arg.Input;
 import io.dipcoin.sui.model.sui.kind.arg.NestedResult;
 import io.dipcoin.sui.model.sui.kind.arg.Result;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -38,43 +36,48 @@ public class SuiArgumentDeserializer extends JsonDeserializer<SuiArgument> {
 
     @Override
     public SuiArgument deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        JsonNode node = p.getCodec().readTree(p);
+        JsonToken token = p.currentToken();
 
         // Process the string form of "GasCoin".
-        if (node.isTextual() && "GasCoin".equals(node.asText())) {
+        if (token == JsonToken.VALUE_STRING && "GasCoin".equals(p.getText())) {
             return new GasCoin();
         }
 
         // Process parameters in object form.
-        if (node.isObject()) {
-            Iterator<String> fieldNames = node.fieldNames();
-            if (fieldNames.hasNext()) {
-                String type = fieldNames.next();
+        if (token == JsonToken.START_OBJECT && p.nextToken() == JsonToken.FIELD_NAME) {
+            String type = p.currentName();
+            p.nextToken();
 
-                switch (type) {
-                    case "Input":
-                        Input input = new Input();
-                        input.setIndex(node.get("Input").asInt());
-                        return input;
-                    case "Result":
-                        Result result = new Result();
-                        result.setIndex(node.get("Result").asInt());
-                        return result;
-                    case "NestedResult":
-                        NestedResult nestedResult = new NestedResult();
-                        ArrayNode indices = (ArrayNode) node.get("NestedResult");
-                        List<Integer> indexList = new ArrayList<>();
-                        indices.forEach(n -> indexList.add(n.asInt()));
-                        nestedResult.setIndices(indexList);
-                        return nestedResult;
-                    default:
-                        throw ctxt.instantiationException(SuiArgument.class,
-                                "Unknown SuiArgument type: " + type);
-                }
+            SuiArgument argument;
+            switch (type) {
+                case "Input":
+                    Input input = new Input();
+                    input.setIndex(p.getValueAsInt());
+                    argument = input;
+                    break;
+                case "Result":
+                    Result result = new Result();
+                    result.setIndex(p.getValueAsInt());
+                    argument = result;
+                    break;
+                case "NestedResult":
+                    NestedResult nestedResult = new NestedResult();
+                    List<Integer> indexList = new ArrayList<>(2);
+                    while (p.nextToken() != JsonToken.END_ARRAY) {
+                        indexList.add(p.getValueAsInt());
+                    }
+                    nestedResult.setIndices(indexList);
+                    argument = nestedResult;
+                    break;
+                default:
+                    throw ctxt.instantiationException(SuiArgument.class,
+                            "Unknown SuiArgument type: " + type);
             }
+            Tokens.skipRest(p);
+            return argument;
         }
 
         throw ctxt.instantiationException(SuiArgument.class,
-                "Cannot deserialize SuiArgument from: " + node);
+                "Cannot deserialize SuiArgument from: " + token);
     }
 }
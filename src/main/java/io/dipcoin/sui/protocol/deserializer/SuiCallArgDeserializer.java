@@ -21,8 +21,8 @@ import io.dipcoin.sui.model.sui.kind.call.SharedObject;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 
 import java.io.IOException;
@@ -42,14 +42,14 @@ public class SuiCallArgDeserializer extends StdDeserializer<SuiCallArg> {
     @Override
     public SuiCallArg deserialize(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        JsonNode root = p.getCodec().readTree(p);
+        Fields root = Fields.read(p, ctxt);
 
         // 1. Check required fields.
-        if (!root.has("type")) {
+        if (root.type == null) {
             throw new JsonParseException(p, "Missing required field 'type'");
         }
 
-        String type = root.get("type").asText();
+        String type = root.type;
         if (!"object".equals(type) && !"pure".equals(type)) {
             throw new JsonParseException(p, "Invalid type. Must be 'object' or 'pure'");
         }
@@ -63,13 +63,65 @@ public class SuiCallArgDeserializer extends StdDeserializer<SuiCallArg> {
         return handlePureType(root, p);
     }
 
-    private SuiCallArg handleObjectType(JsonNode root, JsonParser p)
+    /**
+     * Fields of a call argument, read in one pass. The pure value is kept as plain java objects.
+     */
+    private static final class Fields {
+        String type;
+        String objectType;
+        String digest;
+        String objectId;
+        String version;
+        String initialSharedVersion;
+        Boolean mutable;
+        boolean hasValue;
+        Object value;
+        String valueType;
+
+        static Fields read(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Fields fields = new Fields();
+            JsonToken t = p.currentToken();
+            if (t == JsonToken.START_OBJECT) {
+                t = p.nextToken();
+            }
+            for (; t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+                String name = p.currentName();
+                JsonToken token = p.nextToken();
+                switch (name) {
+                    case "type" -> fields.type = text(p, token);
+                    case "objectType" -> fields.objectType = text(p, token);
+                    case "digest" -> fields.digest = text(p, token);
+                    case "objectId" -> fields.objectId = text(p, token);
+                    case "version" -> fields.version = text(p, token);
+                    case "initialSharedVersion" -> fields.initialSharedVersion = text(p, token);
+                    case "mutable" -> fields.mutable = p.getValueAsBoolean();
+                    case "valueType" -> fields.valueType = text(p, token);
+                    case "value" -> {
+                        fields.hasValue = true;
+                        fields.value = ctxt.readValue(p, Object.class);
+                    }
+                    default -> p.skipChildren();
+                }
+            }
+            return fields;
+        }
+
+        private static String text(JsonParser p, JsonToken token) throws IOException {
+            if (token.isScalarValue()) {
+                return p.getText();
+            }
+            p.skipChildren();
+            return "";
+        }
+    }
+
+    private SuiCallArg handleObjectType(Fields root, JsonParser p)
             throws JsonParseException {
-        if (!root.has("objectType")) {
+        if (root.objectType == null) {
             throw new JsonParseException(p, "Missing required field 'objectType' for object call arg");
         }
 
-        String objectType = root.get("objectType").asText();
+        String objectType = root.objectType;
         return switch (objectType) {
             case "immOrOwnedObject" -> parseImmOrOwnedObject(root, p);
             case "sharedObject" -> parseSharedObject(root, p);
@@ -82,42 +134,48 @@ public class SuiCallArgDeserializer extends StdDeserializer<SuiCallArg> {
         };
     }
 
-    private ImmOrOwnedObject parseImmOrOwnedObject(JsonNode root, JsonParser p)
+    private ImmOrOwnedObject parseImmOrOwnedObject(Fields root, JsonParser p)
             throws JsonParseException {
-        requireFields(root, p, "digest", "objectId", "version");
+        requireField(root.digest, p, "digest");
+        requireField(root.objectId, p, "objectId");
+        requireField(root.version, p, "version");
 
         ImmOrOwnedObject arg = new ImmOrOwnedObject();
-        arg.setDigest(root.get("digest").asText());
-        arg.setObjectId(root.get("objectId").asText());
-        arg.setVersion(new BigInteger(root.get("version").asText()));
+        arg.setDigest(root.digest);
+        arg.setObjectId(root.objectId);
+        arg.setVersion(new BigInteger(root.version));
         return arg;
     }
 
-    private SharedObject parseSharedObject(JsonNode root, JsonParser p)
+    private SharedObject parseSharedObject(Fields root, JsonParser p)
             throws JsonParseException {
-        requireFields(root, p, "initialSharedVersion", "objectId", "mutable");
+        requireField(root.initialSharedVersion, p, "initialSharedVersion");
+        requireField(root.objectId, p, "objectId");
+        requireField(root.mutable, p, "mutable");
 
         SharedObject arg = new SharedObject();
-        arg.setInitialSharedVersion(new BigInteger(root.get("initialSharedVersion").asText()));
-        arg.setObjectId(root.get("objectId").asText());
-        arg.setMutable(root.get("mutable").asBoolean());
+        arg.setInitialSharedVersion(new BigInteger(root.initialSharedVersion));
+        arg.setObjectId(root.objectId);
+        arg.setMutable(root.mutable);
         return arg;
     }
 
-    private ReceivingObject parseReceivingObject(JsonNode root, JsonParser p)
+    private ReceivingObject parseReceivingObject(Fields root, JsonParser p)
             throws JsonParseException {
-        requireFields(root, p, "digest", "objectId", "version");
+        requireField(root.digest, p, "digest");
+        requireField(root.objectId, p, "objectId");
+        requireField(root.version, p, "version");
 
         ReceivingObject arg = new ReceivingObject();
-        arg.setDigest(root.get("digest").asText());
-        arg.setObjectId(root.get("objectId").asText());
-        arg.setVersion(new BigInteger(root.get("version").asText()));
+        arg.setDigest(root.digest);
+        arg.setObjectId(root.objectId);
+        arg.setVersion(new BigInteger(root.version));
         return arg;
     }
 
-    private SuiCallArg handlePureType(JsonNode root, JsonParser p)
+    private SuiCallArg handlePureType(Fields root, JsonParser p)
             throws JsonProcessingException {
-        if (!root.has("value")) {
+        if (!root.hasValue) {
             throw new JsonParseException(
                     p,
                     "Missing required field 'value' for pure call arg"
@@ -125,19 +183,17 @@ public class SuiCallArgDeserializer extends StdDeserializer<SuiCallArg> {
         }
 
         PureCall arg = new PureCall();
-        arg.setValue(p.getCodec().treeToValue(root.get("value"), Object.class));
-        if (root.has("valueType")) {
-            arg.setValueType(root.get("valueType").asText());
+        arg.setValue(root.value);
+        if (root.valueType != null) {
+            arg.setValueType(root.valueType);
         }
         return arg;
     }
 
-    private void requireFields(JsonNode root, JsonParser p, String... fields)
+    private void requireField(Object value, JsonParser p, String field)
             throws JsonParseException {
-        for (String field : fields) {
-            if (!root.has(field)) {
-                throw new JsonParseException(p, "Missing required field: " + field);
-            }
+        if (value == null) {
+            throw new JsonParseException(p, "Missing required field: " + field);
         }
     }
 }
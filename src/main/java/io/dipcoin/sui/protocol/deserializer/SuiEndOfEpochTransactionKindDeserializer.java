@@ -20,7 +20,6 @@ import io.dipcoin.sui.model.transaction.kind.epoch.subtypes.SuiAuthenticatorStat
 import io.dipcoin.sui.model.transaction.kind.epoch.subtypes.SuiChangeEpoch;
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 
 import java.io.IOException;
@@ -50,26 +49,30 @@ public class SuiEndOfEpochTransactionKindDeserializer extends StdDeserializer<Su
             JsonParser p,
             DeserializationContext ctxt
     ) throws IOException {
-        JsonNode root = p.getCodec().readTree(p);
+        JsonToken token = p.currentToken();
 
         // Case 1: String type
-        if (root.isTextual()) {
-            return handleStringType(root.asText(), ctxt);
+        if (token == JsonToken.VALUE_STRING) {
+            return handleStringType(p.getText(), ctxt);
         }
 
-        // Case 2: Object type
-        if (root.isObject()) {
-            if (root.has("ChangeEpoch")) {
-                return handleChangeEpoch(root, p.getCodec());
-            }
-            if (root.has("AuthenticatorStateExpire")) {
-                return handleAuthenticatorStateExpire(root, p.getCodec());
-            }
-            if (root.has("BridgeStateCreate")) {
-                return handleBridgeStateCreate(root, p);
-            }
-            if (root.has("BridgeCommitteeUpdate")) {
-                return handleBridgeCommitteeUpdate(root, p);
+        // Case 2: Object type, the first known key wins
+        if (token == JsonToken.START_OBJECT) {
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                p.nextToken();
+                SuiEndOfEpochTransactionKind kind = switch (name) {
+                    case "ChangeEpoch" -> handleChangeEpoch(p, ctxt);
+                    case "AuthenticatorStateExpire" -> handleAuthenticatorStateExpire(p, ctxt);
+                    case "BridgeStateCreate" -> handleBridgeStateCreate(p);
+                    case "BridgeCommitteeUpdate" -> handleBridgeCommitteeUpdate(p);
+                    default -> null;
+                };
+                if (kind != null) {
+                    Tokens.skipRest(p);
+                    return kind;
+                }
+                p.skipChildren();
             }
         }
 
@@ -97,55 +100,45 @@ public class SuiEndOfEpochTransactionKindDeserializer extends StdDeserializer<Su
     }
 
     private SuiEndOfEpochTransactionKind handleChangeEpoch(
-            JsonNode root,
-            ObjectCodec codec
-    ) throws JsonProcessingException {
+            JsonParser p,
+            DeserializationContext ctxt
+    ) throws IOException {
         return new ChangeEpoch()
-                .setChangeEpoch(codec.treeToValue(
-                        root.get("ChangeEpoch"),
-                        SuiChangeEpoch.class
-                ));
+                .setChangeEpoch(ctxt.readValue(p, SuiChangeEpoch.class));
     }
 
     private SuiEndOfEpochTransactionKind handleAuthenticatorStateExpire(
-            JsonNode root,
-            ObjectCodec codec
-    ) throws JsonProcessingException {
+            JsonParser p,
+            DeserializationContext ctxt
+    ) throws IOException {
         return new AuthenticatorStateExpire()
-                .setAuthStateExpire(codec.treeToValue(
-                        root.get("AuthenticatorStateExpire"),
-                        SuiAuthenticatorStateExpire.class
-                ));
+                .setAuthStateExpire(ctxt.readValue(p, SuiAuthenticatorStateExpire.class));
     }
 
     private SuiEndOfEpochTransactionKind handleBridgeStateCreate(
-            JsonNode root,
             JsonParser p
-    ) throws JsonProcessingException {
-        JsonNode node = root.get("BridgeStateCreate");
-        if (!node.isTextual()) {
+    ) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
             throw new JsonParseException(
                     p,
                     "BridgeStateCreate must be a string (CheckpointDigest)"
             );
         }
         return new BridgeStateCreate()
-                .setCheckpointDigest(node.asText());
+                .setCheckpointDigest(p.getText());
     }
 
     private SuiEndOfEpochTransactionKind handleBridgeCommitteeUpdate(
-            JsonNode root,
             JsonParser p
-    ) throws JsonProcessingException {
-        JsonNode node = root.get("BridgeCommitteeUpdate");
-        if (!node.isTextual()) {
+    ) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
             throw new JsonParseException(
                     p,
                     "BridgeCommitteeUpdate must be a string (SequenceNumber2)"
             );
         }
         return new BridgeCommitteeUpdate()
-                .setSequenceNumber(new BigInteger(node.asText()));
+                .setSequenceNumber(new BigInteger(p.getText()));
     }
 
 }
@@ -14,11 +14,10 @@
 package io.dipcoin.sui.protocol.deserializer;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import io.dipcoin.sui.model.move.*;
 import io.dipcoin.sui.model.move.kind.SuiMoveNormalizedType;
 
@@ -38,305 +37,321 @@ public class SuiMoveNormalizedModuleDeserializer extends JsonDeserializer<SuiMov
     @Override
     public SuiMoveNormalizedModule deserialize(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
-        ObjectNode rootNode = mapper.readTree(p);
+        expectObject(p, ctxt, SuiMoveNormalizedModule.class, "module");
         SuiMoveNormalizedModule module = new SuiMoveNormalizedModule();
+        boolean hasFileFormatVersion = false;
+
+        // Optional fields default to empty collections
+        module.setFriends(new ArrayList<>());
+        module.setStructs(new HashMap<>());
+        module.setEnums(new HashMap<>());
+        module.setExposedFunctions(new HashMap<>());
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken token = p.nextToken();
+            boolean present = token != JsonToken.VALUE_NULL;
+            switch (field) {
+                case "fileFormatVersion" -> {
+                    hasFileFormatVersion = true;
+                    module.setFileFormatVersion(p.getValueAsLong());
+                }
+                case "address" -> module.setAddress(p.getValueAsString());
+                case "name" -> module.setName(p.getValueAsString());
+                case "friends" -> {
+                    if (present) {
+                        module.setFriends(parseFriends(p, ctxt));
+                    }
+                }
+                case "structs" -> {
+                    if (present) {
+                        module.setStructs(parseMap(p, ctxt, SuiMoveNormalizedStruct.class, "structs", this::parseStruct));
+                    }
+                }
+                case "enums" -> {
+                    if (present) {
+                        module.setEnums(parseMap(p, ctxt, SuiMoveNormalizedEnum.class, "enums", this::parseEnum));
+                    }
+                }
+                case "exposedFunctions" -> {
+                    if (present) {
+                        module.setExposedFunctions(parseMap(p, ctxt, SuiMoveNormalizedFunction.class,
+                                "exposedFunctions", this::parseFunction));
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
 
-        // 1. Parse required fields
-        module.setFileFormatVersion(getLongField(rootNode, "fileFormatVersion", ctxt));
-        module.setAddress(getTextField(rootNode, "address", ctxt));
-        module.setName(getTextField(rootNode, "name", ctxt));
-
-        // 2. Parse optional fields
-        module.setFriends(parseFriends(rootNode.get("friends"), ctxt));
-        module.setStructs(parseStructs(rootNode.get("structs"), mapper, ctxt));
-        module.setEnums(parseEnums(rootNode.get("enums"), mapper, ctxt));
-        module.setExposedFunctions(parseFunctions(rootNode.get("exposedFunctions"), mapper, ctxt));
-
+        // Required fields
+        if (!hasFileFormatVersion) {
+            throw missing(ctxt, "fileFormatVersion");
+        }
+        if (module.getAddress() == null) {
+            throw missing(ctxt, "address");
+        }
+        if (module.getName() == null) {
+            throw missing(ctxt, "name");
+        }
         return module;
     }
 
+    @FunctionalInterface
+    private interface ValueParser<T> {
+        T parse(JsonParser p, DeserializationContext ctxt) throws IOException;
+    }
+
     // ================ Basic field parsing ================
-    private long getLongField(JsonNode node, String field, DeserializationContext ctxt)
+    private static JsonMappingException missing(DeserializationContext ctxt, String field) {
+        return ctxt.instantiationException(
+                SuiMoveNormalizedModule.class,
+                "Missing required field: " + field
+        );
+    }
+
+    private static void expectObject(JsonParser p, DeserializationContext ctxt, Class<?> type, String name)
             throws IOException {
-        if (!node.has(field)) {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
             throw ctxt.instantiationException(
-                    SuiMoveNormalizedModule.class,
-                    "Missing required field: " + field
+                    type,
+                    name + " must be an object, got: " + p.currentToken()
             );
         }
-        return node.get(field).asLong();
     }
 
-    private String getTextField(JsonNode node, String field, DeserializationContext ctxt)
+    private static void expectArray(JsonParser p, DeserializationContext ctxt, Class<?> type, String name)
             throws IOException {
-        if (!node.has(field)) {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
             throw ctxt.instantiationException(
-                    SuiMoveNormalizedModule.class,
-                    "Missing required field: " + field
+                    type,
+                    name + " must be an array, got: " + p.currentToken()
             );
         }
-        return node.get(field).asText();
     }
 
     // ================ Nested type parsing ================
-    private List<SuiMoveModuleId> parseFriends(JsonNode node, DeserializationContext ctxt)
+    private List<SuiMoveModuleId> parseFriends(JsonParser p, DeserializationContext ctxt)
             throws IOException {
+        expectArray(p, ctxt, SuiMoveModuleId.class, "friends");
         List<SuiMoveModuleId> friends = new ArrayList<>();
-        if (node == null || node.isNull()) {
-            return friends;
-        }
-
-        if (!node.isArray()) {
-            throw ctxt.instantiationException(
-                    SuiMoveModuleId.class,
-                    "friends must be an array, got: " + node.getNodeType()
-            );
-        }
-
-        for (JsonNode friendNode : node) {
-            friends.add(parseModuleId(friendNode, ctxt));
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            friends.add(parseModuleId(p, ctxt));
         }
         return friends;
     }
 
-    private SuiMoveModuleId parseModuleId(JsonNode node, DeserializationContext ctxt)
+    private SuiMoveModuleId parseModuleId(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        if (!node.isObject()) {
-            throw ctxt.instantiationException(
-                    SuiMoveModuleId.class,
-                    "ModuleId must be an object, got: " + node.getNodeType()
-            );
-        }
+        expectObject(p, ctxt, SuiMoveModuleId.class, "ModuleId");
 
         SuiMoveModuleId moduleId = new SuiMoveModuleId();
-        moduleId.setAddress(getTextField(node, "address", ctxt));
-        moduleId.setName(getTextField(node, "name", ctxt));
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "address" -> moduleId.setAddress(p.getValueAsString());
+                case "name" -> moduleId.setName(p.getValueAsString());
+                default -> p.skipChildren();
+            }
+        }
+        if (moduleId.getAddress() == null) {
+            throw missing(ctxt, "address");
+        }
+        if (moduleId.getName() == null) {
+            throw missing(ctxt, "name");
+        }
         return moduleId;
     }
 
-    private Map<String, SuiMoveNormalizedStruct> parseStructs(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
-            throws IOException {
-        Map<String, SuiMoveNormalizedStruct> structs = new HashMap<>();
-        if (node == null || node.isNull()) {
-            return structs;
-        }
-
-        if (!node.isObject()) {
-            throw ctxt.instantiationException(
-                    SuiMoveNormalizedStruct.class,
-                    "structs must be an object, got: " + node.getNodeType()
-            );
+    private <T> Map<String, T> parseMap(JsonParser p, DeserializationContext ctxt, Class<?> type, String name,
+                                        ValueParser<T> parser) throws IOException {
+        expectObject(p, ctxt, type, name);
+        Map<String, T> values = new HashMap<>();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String key = p.currentName();
+            p.nextToken();
+            values.put(key, parser.parse(p, ctxt));
         }
-
-        node.fields().forEachRemaining(entry -> {
-            try {
-                structs.put(entry.getKey(), parseStruct(entry.getValue(), mapper, ctxt));
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to parse struct: " + entry.getKey(), e);
-            }
-        });
-        return structs;
+        return values;
     }
 
-    private SuiMoveNormalizedStruct parseStruct(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private SuiMoveNormalizedStruct parseStruct(JsonParser p, DeserializationContext ctxt)
             throws IOException {
+        expectObject(p, ctxt, SuiMoveNormalizedStruct.class, "struct");
         SuiMoveNormalizedStruct struct = new SuiMoveNormalizedStruct();
 
-        // Parse required fields
-        struct.setAbilities(parseAbilitySet(node.get("abilities"), mapper, ctxt));
-        struct.setFields(parseFields(node.get("fields"), mapper, ctxt));
-        struct.setTypeParameters(parseTypeParameters(node.get("typeParameters"), mapper, ctxt));
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "abilities" -> struct.setAbilities(parseAbilitySet(p, ctxt));
+                case "fields" -> struct.setFields(parseFields(p, ctxt));
+                case "typeParameters" -> struct.setTypeParameters(parseTypeParameters(p, ctxt));
+                default -> p.skipChildren();
+            }
+        }
 
+        // Required fields
+        requireAbilities(struct.getAbilities(), ctxt);
+        if (struct.getFields() == null) {
+            throw ctxt.instantiationException(SuiMoveNormalizedField.class, "fields must be an array, got: null");
+        }
+        if (struct.getTypeParameters() == null) {
+            throw ctxt.instantiationException(SuiMoveStructTypeParameter.class, "typeParameters must be an array, got: null");
+        }
         return struct;
     }
 
-    private List<SuiMoveNormalizedField> parseFields(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private List<SuiMoveNormalizedField> parseFields(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        List<SuiMoveNormalizedField> fields = new ArrayList<>();
-        if (!node.isArray()) {
-            throw ctxt.instantiationException(
-                    SuiMoveNormalizedField.class,
-                    "fields must be an array, got: " + node.getNodeType()
-            );
-        }
+        expectArray(p, ctxt, SuiMoveNormalizedField.class, "fields");
 
-        for (JsonNode fieldNode : node) {
+        List<SuiMoveNormalizedField> fields = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            expectObject(p, ctxt, SuiMoveNormalizedField.class, "field");
             SuiMoveNormalizedField field = new SuiMoveNormalizedField();
-            field.setName(getTextField(fieldNode, "name", ctxt));
-            field.setType(mapper.readValue(fieldNode.get("type").toString(), SuiMoveNormalizedType.class));
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                p.nextToken();
+                switch (name) {
+                    case "name" -> field.setName(p.getValueAsString());
+                    case "type" -> field.setType(ctxt.readValue(p, SuiMoveNormalizedType.class));
+                    default -> p.skipChildren();
+                }
+            }
+            if (field.getName() == null) {
+                throw missing(ctxt, "name");
+            }
             fields.add(field);
         }
         return fields;
     }
 
-    private List<SuiMoveStructTypeParameter> parseTypeParameters(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private List<SuiMoveStructTypeParameter> parseTypeParameters(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        List<SuiMoveStructTypeParameter> params = new ArrayList<>();
-        if (!node.isArray()) {
-            throw ctxt.instantiationException(
-                    SuiMoveStructTypeParameter.class,
-                    "typeParameters must be an array, got: " + node.getNodeType()
-            );
-        }
+        expectArray(p, ctxt, SuiMoveStructTypeParameter.class, "typeParameters");
 
-        for (JsonNode paramNode : node) {
+        List<SuiMoveStructTypeParameter> params = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            expectObject(p, ctxt, SuiMoveStructTypeParameter.class, "typeParameter");
             SuiMoveStructTypeParameter param = new SuiMoveStructTypeParameter();
-            param.setConstraints(parseAbilitySet(paramNode.get("constraints"), mapper, ctxt));
-            param.setIsPhantom(paramNode.get("isPhantom").asBoolean());
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                p.nextToken();
+                switch (name) {
+                    case "constraints" -> param.setConstraints(parseAbilitySet(p, ctxt));
+                    case "isPhantom" -> param.setIsPhantom(p.getValueAsBoolean());
+                    default -> p.skipChildren();
+                }
+            }
+            requireAbilities(param.getConstraints(), ctxt);
             params.add(param);
         }
         return params;
     }
 
-    private Map<String, SuiMoveNormalizedEnum> parseEnums(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
-            throws IOException {
-        Map<String, SuiMoveNormalizedEnum> enums = new HashMap<>();
-        if (node == null || node.isNull()) {
-            return enums;
-        }
-
-        if (!node.isObject()) {
-            throw ctxt.instantiationException(
-                    SuiMoveNormalizedEnum.class,
-                    "enums must be an object, got: " + node.getNodeType()
-            );
-        }
-
-        node.fields().forEachRemaining(entry -> {
-            try {
-                enums.put(entry.getKey(), parseEnum(entry.getValue(), mapper, ctxt));
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to parse enum: " + entry.getKey(), e);
-            }
-        });
-        return enums;
-    }
-
-    private SuiMoveNormalizedEnum parseEnum(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private SuiMoveNormalizedEnum parseEnum(JsonParser p, DeserializationContext ctxt)
             throws IOException {
+        expectObject(p, ctxt, SuiMoveNormalizedEnum.class, "enum");
         SuiMoveNormalizedEnum enumType = new SuiMoveNormalizedEnum();
 
-        // Parse required fields
-        enumType.setAbilities(parseAbilitySet(node.get("abilities"), mapper, ctxt));
-        enumType.setTypeParameters(parseTypeParameters(node.get("typeParameters"), mapper, ctxt));
-
-        // Parse optional fields
-        if (node.has("variantDeclarationOrder")) {
-            enumType.setVariantDeclarationOrder(parseStringList(node.get("variantDeclarationOrder")));
-        }
-
-        // parsevariants
-        JsonNode variantsNode = node.get("variants");
-        if (!variantsNode.isObject()) {
-            throw ctxt.instantiationException(
-                    SuiMoveNormalizedEnum.class,
-                    "variants must be an object, got: " + variantsNode.getNodeType()
-            );
-        }
-
-        Map<String, List<SuiMoveNormalizedField>> variants = new HashMap<>();
-        variantsNode.fields().forEachRemaining(entry -> {
-            try {
-                variants.put(entry.getKey(), parseFields(entry.getValue(), mapper, ctxt));
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to parse variant: " + entry.getKey(), e);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "abilities" -> enumType.setAbilities(parseAbilitySet(p, ctxt));
+                case "typeParameters" -> enumType.setTypeParameters(parseTypeParameters(p, ctxt));
+                case "variantDeclarationOrder" -> enumType.setVariantDeclarationOrder(parseStringList(p));
+                case "variants" -> enumType.setVariants(
+                        parseMap(p, ctxt, SuiMoveNormalizedEnum.class, "variants", this::parseFields));
+                default -> p.skipChildren();
             }
-        });
-        enumType.setVariants(variants);
-
-        return enumType;
-    }
-
-    private Map<String, SuiMoveNormalizedFunction> parseFunctions(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
-            throws IOException {
-        Map<String, SuiMoveNormalizedFunction> functions = new HashMap<>();
-        if (node == null || node.isNull()) {
-            return functions;
         }
 
-        if (!node.isObject()) {
-            throw ctxt.instantiationException(
-                    SuiMoveNormalizedFunction.class,
-                    "exposedFunctions must be an object, got: " + node.getNodeType()
-            );
+        // Required fields
+        requireAbilities(enumType.getAbilities(), ctxt);
+        if (enumType.getTypeParameters() == null) {
+            throw ctxt.instantiationException(SuiMoveStructTypeParameter.class, "typeParameters must be an array, got: null");
         }
-
-        node.fields().forEachRemaining(entry -> {
-            try {
-                functions.put(entry.getKey(), parseFunction(entry.getValue(), mapper, ctxt));
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to parse function: " + entry.getKey(), e);
-            }
-        });
-        return functions;
+        if (enumType.getVariants() == null) {
+            throw ctxt.instantiationException(SuiMoveNormalizedEnum.class, "variants must be an object, got: null");
+        }
+        return enumType;
     }
 
-    private SuiMoveNormalizedFunction parseFunction(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private SuiMoveNormalizedFunction parseFunction(JsonParser p, DeserializationContext ctxt)
             throws IOException {
+        expectObject(p, ctxt, SuiMoveNormalizedFunction.class, "function");
         SuiMoveNormalizedFunction function = new SuiMoveNormalizedFunction();
 
-        // Parse required fields
-        function.setIsEntry(node.get("isEntry").asBoolean());
-        function.setParameters(parseTypeList(node.get("parameters"), mapper, ctxt));
-        function.setReturnTypes(parseTypeList(node.get("return"), mapper, ctxt));
-        function.setTypeParameters(parseAbilitySetList(node.get("typeParameters"), mapper, ctxt));
-        function.setVisibility(SuiMoveVisibility.findByValue(node.get("visibility").asText()).getValue());
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "isEntry" -> function.setIsEntry(p.getValueAsBoolean());
+                case "parameters" -> function.setParameters(parseTypeList(p, ctxt));
+                case "return" -> function.setReturnTypes(parseTypeList(p, ctxt));
+                case "typeParameters" -> function.setTypeParameters(parseAbilitySetList(p, ctxt));
+                case "visibility" -> function.setVisibility(SuiMoveVisibility.findByValue(p.getValueAsString()).getValue());
+                default -> p.skipChildren();
+            }
+        }
 
         return function;
     }
 
     // ================ utility method ================
 
-    private SuiMoveAbilitySet parseAbilitySet(JsonNode node, ObjectMapper mapper , DeserializationContext ctxt)
+    private SuiMoveAbilitySet parseAbilitySet(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        if (node == null || node.isNull()) {
-            throw ctxt.instantiationException(
-                    SuiMoveAbilitySet.class,
-                    "abilities cannot be null"
-            );
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
         }
-        return mapper.readValue(node.toString(), SuiMoveAbilitySet.class);
+        return ctxt.readValue(p, SuiMoveAbilitySet.class);
     }
 
-    private List<SuiMoveAbilitySet> parseAbilitySetList(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private void requireAbilities(SuiMoveAbilitySet abilities, DeserializationContext ctxt)
             throws IOException {
-        List<SuiMoveAbilitySet> list = new ArrayList<>();
-        if (!node.isArray()) {
+        if (abilities == null) {
             throw ctxt.instantiationException(
                     SuiMoveAbilitySet.class,
-                    "typeParameters must be an array, got: " + node.getNodeType()
+                    "abilities cannot be null"
             );
         }
+    }
+
+    private List<SuiMoveAbilitySet> parseAbilitySetList(JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+        expectArray(p, ctxt, SuiMoveAbilitySet.class, "typeParameters");
 
-        for (JsonNode item : node) {
-            list.add(parseAbilitySet(item, mapper, ctxt));
+        List<SuiMoveAbilitySet> list = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            SuiMoveAbilitySet abilities = parseAbilitySet(p, ctxt);
+            requireAbilities(abilities, ctxt);
+            list.add(abilities);
         }
         return list;
     }
 
-    private List<SuiMoveNormalizedType> parseTypeList(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private List<SuiMoveNormalizedType> parseTypeList(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        List<SuiMoveNormalizedType> types = new ArrayList<>();
-        if (!node.isArray()) {
-            throw ctxt.instantiationException(
-                    SuiMoveNormalizedType.class,
-                    "parameters must be an array, got: " + node.getNodeType()
-            );
-        }
+        expectArray(p, ctxt, SuiMoveNormalizedType.class, "parameters");
 
-        for (JsonNode typeNode : node) {
-            types.add(mapper.readValue(typeNode.toString(), SuiMoveNormalizedType.class));
+        List<SuiMoveNormalizedType> types = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            types.add(ctxt.readValue(p, SuiMoveNormalizedType.class));
         }
         return types;
     }
 
-    private List<String> parseStringList(JsonNode node) {
+    private List<String> parseStringList(JsonParser p) throws IOException {
         List<String> list = new ArrayList<>();
-        if (node != null && node.isArray()) {
-            for (JsonNode item : node) {
-                list.add(item.asText());
-            }
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return list;
+        }
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            list.add(p.getValueAsString());
         }
         return list;
     }
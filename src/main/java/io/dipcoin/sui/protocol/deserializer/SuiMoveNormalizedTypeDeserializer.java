@@ -14,10 +14,9 @@
 package io.dipcoin.sui.protocol.deserializer;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dipcoin.sui.model.move.kind.SuiMoveNormalizedType;
 import io.dipcoin.sui.model.move.kind.type.*;
 import io.dipcoin.sui.model.move.kind.type.enums.PrimitiveEnum;
@@ -37,27 +36,31 @@ public class SuiMoveNormalizedTypeDeserializer extends JsonDeserializer<SuiMoveN
     @Override
     public SuiMoveNormalizedType deserialize(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        JsonNode node = p.getCodec().readTree(p);
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
+        JsonToken token = p.currentToken();
 
         // 1. Handle basic types (string form)
-        if (node.isTextual()) {
-            return handlePrimitiveType(node, ctxt);
+        if (token == JsonToken.VALUE_STRING) {
+            return handlePrimitiveType(p.getText(), ctxt);
         }
 
-        // 2. Handle object form
-        if (node.isObject()) {
-            // Check all possible type fields
-            if (node.has("Struct")) {
-                return handleStructType(node, mapper, ctxt);
-            } else if (node.has("Vector")) {
-                return handleVectorType(node, mapper, ctxt);
-            } else if (node.has("TypeParameter")) {
-                return handleTypeParameterType(node, ctxt);
-            } else if (node.has("Reference")) {
-                return handleReferenceType(node, mapper, ctxt);
-            } else if (node.has("MutableReference")) {
-                return handleMutableReferenceType(node, mapper, ctxt);
+        // 2. Handle object form, the first known key wins
+        if (token == JsonToken.START_OBJECT) {
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                p.nextToken();
+                SuiMoveNormalizedType type = switch (name) {
+                    case "Struct" -> handleStructType(p, ctxt);
+                    case "Vector" -> handleVectorType(p, ctxt);
+                    case "TypeParameter" -> handleTypeParameterType(p, ctxt);
+                    case "Reference" -> handleReferenceType(p, ctxt);
+                    case "MutableReference" -> handleMutableReferenceType(p, ctxt);
+                    default -> null;
+                };
+                if (type != null) {
+                    Tokens.skipRest(p);
+                    return type;
+                }
+                p.skipChildren();
             }
         }
 
@@ -65,13 +68,12 @@ public class SuiMoveNormalizedTypeDeserializer extends JsonDeserializer<SuiMoveN
                 SuiMoveNormalizedType.class,
                 "Invalid SuiMoveNormalizedType format. Expected one of: " +
                         "String enum, Struct, Vector, TypeParameter, Reference or MutableReference. " +
-                        "Got: " + node.getNodeType()
+                        "Got: " + token
         );
     }
 
-    private PrimitiveType handlePrimitiveType(JsonNode node, DeserializationContext ctxt)
+    private PrimitiveType handlePrimitiveType(String typeStr, DeserializationContext ctxt)
             throws IOException {
-        String typeStr = node.asText();
         if (PrimitiveEnum.find(typeStr) == null) {
             throw ctxt.instantiationException(
                     PrimitiveType.class,
@@ -82,38 +84,45 @@ public class SuiMoveNormalizedTypeDeserializer extends JsonDeserializer<SuiMoveN
         return new PrimitiveType(typeStr);
     }
 
-    private StructType handleStructType(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private StructType handleStructType(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        JsonNode structNode = node.get("Struct");
-
-        // Verify required fields
-        validateRequiredFields(structNode, ctxt, "Struct",
-                "address", "module", "name", "typeArguments");
-
-        try {
-            return new StructType(
-                    structNode.get("address").asText(),
-                    structNode.get("module").asText(),
-                    structNode.get("name").asText(),
-                    parseTypeArguments(structNode.get("typeArguments"), mapper, ctxt)
-            );
-        } catch (Exception e) {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
             throw ctxt.instantiationException(
                     StructType.class,
-                    "Failed to parse Struct: " + e.getMessage()
+                    "Struct must be an object, got: " + p.currentToken()
             );
         }
+
+        String address = null;
+        String module = null;
+        String name = null;
+        List<SuiMoveNormalizedType> typeArguments = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "address" -> address = p.getValueAsString();
+                case "module" -> module = p.getValueAsString();
+                case "name" -> name = p.getValueAsString();
+                case "typeArguments" -> typeArguments = parseTypeArguments(p, ctxt);
+                default -> p.skipChildren();
+            }
+        }
+
+        // Verify required fields
+        requireField(address, ctxt, "Struct", "address");
+        requireField(module, ctxt, "Struct", "module");
+        requireField(name, ctxt, "Struct", "name");
+        requireField(typeArguments, ctxt, "Struct", "typeArguments");
+
+        return new StructType(address, module, name, typeArguments);
     }
 
-    private VectorType handleVectorType(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private VectorType handleVectorType(JsonParser p, DeserializationContext ctxt)
             throws IOException {
         try {
-            SuiMoveNormalizedType elementType = mapper.readValue(
-                    node.get("Vector").toString(),
-                    SuiMoveNormalizedType.class
-            );
             VectorType vectorType = new VectorType();
-            vectorType.setVector(elementType);
+            vectorType.setVector(deserialize(p, ctxt));
             return vectorType;
         } catch (Exception e) {
             throw ctxt.instantiationException(
@@ -123,9 +132,9 @@ public class SuiMoveNormalizedTypeDeserializer extends JsonDeserializer<SuiMoveN
         }
     }
 
-    private TypeParameterType handleTypeParameterType(JsonNode node, DeserializationContext ctxt)
+    private TypeParameterType handleTypeParameterType(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        int index = node.get("TypeParameter").asInt();
+        int index = p.getValueAsInt();
         if (index < 0) {
             throw ctxt.instantiationException(
                     TypeParameterType.class,
@@ -137,15 +146,11 @@ public class SuiMoveNormalizedTypeDeserializer extends JsonDeserializer<SuiMoveN
         return typeParam;
     }
 
-    private ReferenceType handleReferenceType(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private ReferenceType handleReferenceType(JsonParser p, DeserializationContext ctxt)
             throws IOException {
         try {
-            SuiMoveNormalizedType referencedType = mapper.readValue(
-                    node.get("Reference").toString(),
-                    SuiMoveNormalizedType.class
-            );
             ReferenceType refType = new ReferenceType();
-            refType.setReference(referencedType);
+            refType.setReference(deserialize(p, ctxt));
             return refType;
         } catch (Exception e) {
             throw ctxt.instantiationException(
@@ -155,15 +160,11 @@ public class SuiMoveNormalizedTypeDeserializer extends JsonDeserializer<SuiMoveN
         }
     }
 
-    private MutableReferenceType handleMutableReferenceType(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private MutableReferenceType handleMutableReferenceType(JsonParser p, DeserializationContext ctxt)
             throws IOException {
         try {
-            SuiMoveNormalizedType referencedType = mapper.readValue(
-                    node.get("MutableReference").toString(),
-                    SuiMoveNormalizedType.class
-            );
             MutableReferenceType mutRefType = new MutableReferenceType();
-            mutRefType.setMutableReference(referencedType);
+            mutRefType.setMutableReference(deserialize(p, ctxt));
             return mutRefType;
         } catch (Exception e) {
             throw ctxt.instantiationException(
@@ -173,32 +174,30 @@ public class SuiMoveNormalizedTypeDeserializer extends JsonDeserializer<SuiMoveN
         }
     }
 
-    private List<SuiMoveNormalizedType> parseTypeArguments(JsonNode node, ObjectMapper mapper, DeserializationContext ctxt)
+    private List<SuiMoveNormalizedType> parseTypeArguments(JsonParser p, DeserializationContext ctxt)
             throws IOException {
-        if (!node.isArray()) {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
             throw ctxt.instantiationException(
                     StructType.class,
-                    "typeArguments must be an array, got: " + node.getNodeType()
+                    "typeArguments must be an array, got: " + p.currentToken()
             );
         }
 
         List<SuiMoveNormalizedType> typeArgs = new ArrayList<>();
-        for (JsonNode argNode : node) {
-            typeArgs.add(mapper.readValue(argNode.toString(), SuiMoveNormalizedType.class));
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            typeArgs.add(deserialize(p, ctxt));
         }
         return typeArgs;
     }
 
-    private void validateRequiredFields(JsonNode node, DeserializationContext ctxt,
-                                        String parentType, String... fields)
+    private void requireField(Object value, DeserializationContext ctxt,
+                              String parentType, String field)
             throws IOException {
-        for (String field : fields) {
-            if (!node.has(field)) {
-                throw ctxt.instantiationException(
-                        SuiMoveNormalizedType.class,
-                        "Missing required field '" + field + "' in " + parentType
-                );
-            }
+        if (value == null) {
+            throw ctxt.instantiationException(
+                    SuiMoveNormalizedType.class,
+                    "Missing required field '" + field + "' in " + parentType
+            );
         }
     }
 }
@@ -15,12 +15,9 @@ package io.dipcoin.sui.protocol.deserializer;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.dipcoin.sui.model.sui.MoveCallSuiTransaction;
 import io.dipcoin.sui.model.sui.kind.SuiArgument;
 import io.dipcoin.sui.model.sui.kind.arg.GasCoin;
@@ -44,180 +41,191 @@ public class SuiTransactionDeserializer extends StdDeserializer<SuiTransaction>
 
     @Override
     public SuiTransaction deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
-        ObjectNode root = mapper.readTree(p);
-
-        if (root.has("MoveCall")) {
-            return deserializeMoveCall(root, mapper);
-        } else if (root.has("TransferObjects")) {
-            return deserializeTransferObjects(root, mapper);
-        } else if (root.has("SplitCoins")) {
-            return deserializeSplitCoins(root, mapper);
-        } else if (root.has("MergeCoins")) {
-            return deserializeMergeCoins(root, mapper);
-        } else if (root.has("Publish")) {
-            return deserializePublish(root, mapper);
-        } else if (root.has("Upgrade")) {
-            return deserializeUpgrade(root, mapper);
-        } else if (root.has("MakeMoveVec")) {
-            return deserializeMakeMoveVec(root, mapper);
-        } else {
-            throw ctxt.instantiationException(SuiTransaction.class,
-                    "Unknown transaction type, must be one of: MoveCall, TransferObjects, SplitCoins, MergeCoins, Publish, Upgrade, MakeMoveVec");
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            // The single key names the command, unknown keys are skipped
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String command = p.currentName();
+                p.nextToken();
+                SuiTransaction transaction = switch (command) {
+                    case "MoveCall" -> deserializeMoveCall(p, ctxt);
+                    case "TransferObjects" -> deserializeTransferObjects(p, ctxt);
+                    case "SplitCoins" -> deserializeSplitCoins(p, ctxt);
+                    case "MergeCoins" -> deserializeMergeCoins(p, ctxt);
+                    case "Publish" -> deserializePublish(p);
+                    case "Upgrade" -> deserializeUpgrade(p, ctxt);
+                    case "MakeMoveVec" -> deserializeMakeMoveVec(p, ctxt);
+                    default -> null;
+                };
+                if (transaction != null) {
+                    Tokens.skipRest(p);
+                    return transaction;
+                }
+                p.skipChildren();
+            }
         }
+        throw ctxt.instantiationException(SuiTransaction.class,
+                "Unknown transaction type, must be one of: MoveCall, TransferObjects, SplitCoins, MergeCoins, Publish, Upgrade, MakeMoveVec");
     }
 
-    private MoveCall deserializeMoveCall(ObjectNode node, ObjectMapper mapper) {
-        return new MoveCall(mapper.convertValue(node.get("MoveCall"), MoveCallSuiTransaction.class));
+    private MoveCall deserializeMoveCall(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return new MoveCall(ctxt.readValue(p, MoveCallSuiTransaction.class));
     }
 
-    private TransferObjects deserializeTransferObjects(ObjectNode node, ObjectMapper mapper) {
-        ArrayNode transferObjectsArray = (ArrayNode) node.get("TransferObjects");
-
-        if (transferObjectsArray.size() != 2) {
-            throw new IllegalArgumentException("TransferObjects must have exactly 2 elements");
-        }
+    private TransferObjects deserializeTransferObjects(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String message = "TransferObjects must have exactly 2 elements";
+        expectArray(p, message);
 
         TransferObjects.TransferObjectsData data = new TransferObjects.TransferObjectsData();
         // Handle first element (objects)
-        data.setObjects(this.parseSuiArgumentList(transferObjectsArray.get(0), mapper));
+        Tokens.nextElement(p, message);
+        data.setObjects(this.parseSuiArgumentList(p, ctxt));
 
         // Handle second element (address)
-        data.setAddress(this.parseSuiArgument(transferObjectsArray.get(1), mapper));
+        Tokens.nextElement(p, message);
+        data.setAddress(this.parseSuiArgument(p, ctxt));
+        Tokens.endArray(p, message);
 
         return new TransferObjects(data);
     }
 
-    private SplitCoins deserializeSplitCoins(ObjectNode node, ObjectMapper mapper) {
-        ArrayNode splitCoinsArray = (ArrayNode) node.get("SplitCoins");
-
-        if (splitCoinsArray.size() != 2) {
-            throw new IllegalArgumentException("SplitCoins must have exactly 2 elements");
-        }
+    private SplitCoins deserializeSplitCoins(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String message = "SplitCoins must have exactly 2 elements";
+        expectArray(p, message);
 
         SplitCoins.SplitCoinsData data = new SplitCoins.SplitCoinsData();
 
         // Handle first element (coin)
-        data.setCoin(this.parseSuiArgument(splitCoinsArray.get(0), mapper));
+        Tokens.nextElement(p, message);
+        data.setCoin(this.parseSuiArgument(p, ctxt));
 
         // Handle second element (amounts)
-        data.setAmounts(this.parseSuiArgumentList(splitCoinsArray.get(1), mapper));
+        Tokens.nextElement(p, message);
+        data.setAmounts(this.parseSuiArgumentList(p, ctxt));
+        Tokens.endArray(p, message);
 
         return new SplitCoins(data);
     }
 
-    private MergeCoins deserializeMergeCoins(ObjectNode node, ObjectMapper mapper) {
-        ArrayNode mergeCoinsArray = (ArrayNode) node.get("MergeCoins");
-
-        if (mergeCoinsArray.size() != 2) {
-            throw new IllegalArgumentException("MergeCoins must have exactly 2 elements");
-        }
+    private MergeCoins deserializeMergeCoins(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String message = "MergeCoins must have exactly 2 elements";
+        expectArray(p, message);
 
         MergeCoins.MergeCoinsData data = new MergeCoins.MergeCoinsData();
 
         // handle first element (destination)
-        data.setDestination(this.parseSuiArgument(mergeCoinsArray.get(0), mapper));
+        Tokens.nextElement(p, message);
+        data.setDestination(this.parseSuiArgument(p, ctxt));
 
         // handle second element (sources)
-        data.setSources(this.parseSuiArgumentList(mergeCoinsArray.get(1), mapper));
+        Tokens.nextElement(p, message);
+        data.setSources(this.parseSuiArgumentList(p, ctxt));
+        Tokens.endArray(p, message);
 
         return new MergeCoins(data);
     }
 
-    private Publish deserializePublish(ObjectNode node, ObjectMapper mapper) {
-        ArrayNode publishNode = (ArrayNode) node.get("Publish");
-
-        List<String> packageBytes = new ArrayList<>();
-        publishNode.forEach(n -> packageBytes.add(n.asText()));
-
-        return new Publish(packageBytes);
+    private Publish deserializePublish(JsonParser p) throws IOException {
+        return new Publish(parseStringList(p, "Publish must be an array"));
     }
 
-    private Upgrade deserializeUpgrade(ObjectNode node, ObjectMapper mapper) {
-        ArrayNode upgradeNode = (ArrayNode) node.get("Upgrade");
-
-        if (upgradeNode.size() != 3) {
-            throw new IllegalArgumentException("Upgrade must have exactly 3 elements");
-        }
+    private Upgrade deserializeUpgrade(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String message = "Upgrade must have exactly 3 elements";
+        expectArray(p, message);
 
         Upgrade.UpgradeData data = new Upgrade.UpgradeData();
 
         // First element: array of strings (package bytes)
-        ArrayNode packageBytesNode = (ArrayNode) upgradeNode.get(0);
-        List<String> packageBytes = new ArrayList<>();
-        packageBytesNode.forEach(n -> packageBytes.add(n.asText()));
-        data.setPackageBytes(packageBytes);
+        Tokens.nextElement(p, message);
+        data.setPackageBytes(parseStringList(p, message));
 
         // Second element: string (package ID)
-        data.setPackageId(upgradeNode.get(1).asText());
+        Tokens.nextElement(p, message);
+        data.setPackageId(p.getValueAsString());
 
         // Third element: SuiArgument (upgrade ticket)
-        data.setUpgradeTicket(this.parseSuiArgument(upgradeNode.get(2), mapper));
+        Tokens.nextElement(p, message);
+        data.setUpgradeTicket(this.parseSuiArgument(p, ctxt));
+        Tokens.endArray(p, message);
 
         return new Upgrade(data);
     }
 
-    private MakeMoveVec deserializeMakeMoveVec(ObjectNode node, ObjectMapper mapper) {
-        ArrayNode makeMoveVecArray = (ArrayNode) node.get("MakeMoveVec");
-
-        if (makeMoveVecArray.size() != 2) {
-            throw new IllegalArgumentException("MakeMoveVec must have exactly 2 elements");
-        }
+    private MakeMoveVec deserializeMakeMoveVec(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String message = "MakeMoveVec must have exactly 2 elements";
+        expectArray(p, message);
 
         MakeMoveVec.MakeMoveVecData data = new MakeMoveVec.MakeMoveVecData();
 
         // First element: string or null (type tag)
-        if (makeMoveVecArray.get(0).isNull()) {
+        if (Tokens.nextElement(p, message) == JsonToken.VALUE_NULL) {
             data.setTypeTag(null);
         } else {
-            data.setTypeTag(makeMoveVecArray.get(0).asText());
+            data.setTypeTag(p.getValueAsString());
         }
 
         // Second element: array of SuiArgument (elements)
-        data.setElements(this.parseSuiArgumentList(makeMoveVecArray.get(1), mapper));
+        Tokens.nextElement(p, message);
+        data.setElements(this.parseSuiArgumentList(p, ctxt));
+        Tokens.endArray(p, message);
 
         return new MakeMoveVec(data);
     }
 
+    private static void expectArray(JsonParser p, String message) {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static List<String> parseStringList(JsonParser p, String message) throws IOException {
+        expectArray(p, message);
+        List<String> values = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(p.getValueAsString());
+        }
+        return values;
+    }
+
     /**
      * Helper method: parse SuiArgument list
-     * @param node
-     * @param mapper
+     * @param p parser on the array
+     * @param ctxt
      * @return
      * @throws IOException
      */
-    private List<SuiArgument> parseSuiArgumentList(JsonNode node, ObjectMapper mapper) {
+    private List<SuiArgument> parseSuiArgumentList(JsonParser p, DeserializationContext ctxt) throws IOException {
         List<SuiArgument> amounts = new ArrayList<>();
 
-        if (!node.isArray()) {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
             throw new IllegalArgumentException("Second element of SplitCoins must be an array");
         }
-        for (JsonNode item : node) {
-            amounts.add(this.parseSuiArgument(item, mapper));
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            amounts.add(this.parseSuiArgument(p, ctxt));
         }
         return amounts;
     }
 
     /**
      * Helper method: parse SuiArgument
-     * @param node
-     * @param mapper
+     * @param p parser on the argument
+     * @param ctxt
      * @return
      * @throws IOException
      */
-    private SuiArgument parseSuiArgument(JsonNode node, ObjectMapper mapper) {
-        try {
-            if (node.isTextual() && "GasCoin".equals(node.asText())) {
-                return new GasCoin();
-            } else if (node.isObject()) {
-                // Use the registered custom deserializer.
-                return mapper.treeToValue(node, SuiArgument.class);
+    private SuiArgument parseSuiArgument(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING && "GasCoin".equals(p.getText())) {
+            return new GasCoin();
+        } else if (token == JsonToken.START_OBJECT) {
+            // Use the registered custom deserializer.
+            try {
+                return ctxt.readValue(p, SuiArgument.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(
+                        "BridgeStateCreate must be a string or object or array (SuiArgument), cause: " + e.getMessage()
+                );
             }
-            throw new IllegalArgumentException("Unsupported argument type: " + node.getNodeType());
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException(
-                    "BridgeStateCreate must be a string or object or array (SuiArgument), cause: " + e.getMessage()
-            );
         }
+        throw new IllegalArgumentException("Unsupported argument type: " + token);
     }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/9 09:40
+ * @Description : Token level helpers shared by the deserializers, they read straight from the parser instead
+ * of building a JsonNode tree first.
+ */
+final class Tokens {
+
+    private Tokens() {}
+
+    /**
+     * Discriminator value and a parser replaying the object for the deserializer of the concrete type.
+     * @param value discriminator value
+     * @param parser positioned on the first field name, the caller's parser is left on the END_OBJECT once
+     *               the concrete type has been read
+     */
+    record Discriminated(String value, JsonParser parser) {
+    }
+
+    /**
+     * Read ahead to the discriminator property of the current object. The fields before it, usually none
+     * since the nodes write it first, are kept in a token buffer and replayed.
+     * @param p parser on the START_OBJECT or first FIELD_NAME of the object
+     * @param ctxt context
+     * @param property discriminator property
+     * @return null when the object has no scalar discriminator, the object has then been consumed
+     */
+    static Discriminated discriminate(JsonParser p, DeserializationContext ctxt, String property) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.START_OBJECT) {
+            t = p.nextToken();
+        }
+        TokenBuffer buffer = null;
+        for (; t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+            String name = p.currentName();
+            t = p.nextToken();
+            if (buffer == null) {
+                buffer = ctxt.bufferForInputBuffering(p);
+            }
+            buffer.writeFieldName(name);
+            if (property.equals(name) && t.isScalarValue()) {
+                String value = p.getText();
+                buffer.writeString(value);
+                JsonParser replay = JsonParserSequence.createFlattened(false, buffer.asParser(p), p);
+                replay.nextToken();
+                return new Discriminated(value, replay);
+            }
+            buffer.copyCurrentStructure(p);
+        }
+        return null;
+    }
+
+    /**
+     * Skip the remaining fields of the current object.
+     * @param p parser on a value of the object, or on the end of a value that was read
+     */
+    static void skipRest(JsonParser p) throws IOException {
+        p.skipChildren();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            p.nextToken();
+            p.skipChildren();
+        }
+    }
+
+    /**
+     * Move to the next array element.
+     * @param p parser inside an array
+     * @param message error when the array ended
+     * @return token of the element
+     */
+    static JsonToken nextElement(JsonParser p, String message) throws IOException {
+        JsonToken t = p.nextToken();
+        if (t == JsonToken.END_ARRAY || t == null) {
+            throw new IllegalArgumentException(message);
+        }
+        return t;
+    }
+
+    /**
+     * Expect the end of the current array.
+     * @param p parser on the last element
+     * @param message error when more elements follow
+     */
+    static void endArray(JsonParser p, String message) throws IOException {
+        if (p.nextToken() != JsonToken.END_ARRAY) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
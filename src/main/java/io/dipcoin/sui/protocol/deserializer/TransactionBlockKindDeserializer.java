@@ -16,7 +16,6 @@ package io.dipcoin.sui.protocol.deserializer;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import io.dipcoin.sui.model.transaction.kind.TransactionBlockKind;
 import io.dipcoin.sui.model.transaction.kind.block.*;
@@ -55,17 +54,16 @@ public class TransactionBlockKindDeserializer extends StdDeserializer<Transactio
     public TransactionBlockKind deserialize(JsonParser p, DeserializationContext ctxt)
             throws IOException {
 
-        JsonNode root = p.getCodec().readTree(p);
-        JsonNode kindNode = root.get(FIELD);
+        Tokens.Discriminated discriminated = Tokens.discriminate(p, ctxt, FIELD);
 
-        if (kindNode == null) {
+        if (discriminated == null) {
             throw ctxt.instantiationException(
                     TransactionBlockKind.class,
                     "Missing required field 'kind'"
             );
         }
 
-        String kind = kindNode.asText();
+        String kind = discriminated.value();
         Class<? extends TransactionBlockKind> targetClass = KIND_MAPPING.get(kind);
 
         if (targetClass == null) {
@@ -76,7 +74,7 @@ public class TransactionBlockKindDeserializer extends StdDeserializer<Transactio
         }
 
         try {
-            return p.getCodec().treeToValue(root, targetClass);
+            return ctxt.readValue(discriminated.parser(), targetClass);
         } catch (JsonProcessingException e) {
             throw ctxt.instantiationException(
                     TransactionBlockKind.class,
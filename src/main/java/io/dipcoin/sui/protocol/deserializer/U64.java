@@ -0,0 +1,45 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.deserializer;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/11 10:05
+ * @Description : Marks a primitive long holding a u64 of the response, read with {@link U64Deserializer}.
+ * A null or missing value leaves the field at its initial value. Fields the RPC schema requires start at 0;
+ * optional ones start at a sentinel the model documents, e.g. {@link io.dipcoin.sui.model.event.Event#NO_TIMESTAMP},
+ * and their BigInteger getters return null when the value is absent. Values above
+ * Long.MAX_VALUE are kept in the long bits, read them as unsigned. The BigInteger setters remain for
+ * source compatibility and reject values outside the u64 range, they are ignored by Jackson so the property
+ * keeps its long setter.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotationsInside
+@JsonProperty
+@JsonDeserialize(using = U64Deserializer.class)
+@JsonSetter(nulls = Nulls.SKIP)
+public @interface U64 {
+}
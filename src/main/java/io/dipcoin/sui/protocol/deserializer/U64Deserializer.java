@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import io.dipcoin.sui.util.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/11 10:12
+ * @Description : Quoted or plain u64 to an unsigned long, the quoted digits are parsed from the text buffer
+ * of the parser without creating a String or BigInteger. Through this deserializer the value is boxed like any
+ * long property, the mappers of {@link io.dipcoin.sui.protocol.ObjectMapperFactory} set it through
+ * {@link U64PropertyModifier} instead and never box it.
+ */
+public class U64Deserializer extends StdDeserializer<Long> {
+
+    public U64Deserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return parse(p, ctxt);
+    }
+
+    /**
+     * Read the current string or number token as a u64, the unsigned value is returned in the long bits.
+     * Used directly by {@link U64PropertyModifier} so the value reaches the field without a Long in between.
+     *
+     * @param p parser positioned on the value
+     * @param ctxt deserialization context
+     * @return unsigned value
+     * @throws IOException if the token is not a u64
+     */
+    public static long parse(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Numeric.parseU64(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            } catch (NumberFormatException e) {
+                throw ctxt.weirdStringException(p.getText(), Long.class, e.getMessage());
+            }
+        } else if (token == JsonToken.VALUE_NUMBER_INT) {
+            if (p.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                long value = p.getLongValue();
+                if (value >= 0) {
+                    return value;
+                }
+            } else {
+                BigInteger value = p.getBigIntegerValue();
+                if (value.signum() >= 0 && value.bitLength() <= Long.SIZE) {
+                    return value.longValue();
+                }
+            }
+            throw ctxt.weirdNumberException(p.getNumberValue(), Long.class, "Not a u64");
+        }
+        throw ctxt.wrongTokenException(p, Long.class, JsonToken.VALUE_STRING,
+                "Expected string or number for u64 value");
+    }
+}
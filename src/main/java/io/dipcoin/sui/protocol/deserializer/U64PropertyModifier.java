@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/12 14:10
+ * @Description : Sets the {@link U64} long properties through a primitive method handle. The generic property
+ * path hands the value over as an Object, every u64 outside the small Long cache would be boxed once per field.
+ */
+public class U64PropertyModifier extends BeanDeserializerModifier {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, long.class);
+
+    @Override
+    public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc,
+                                                 BeanDeserializerBuilder builder) {
+        List<SettableBeanProperty> u64 = new ArrayList<>();
+        builder.getProperties().forEachRemaining(property -> {
+            if (property.getType().getRawClass() == long.class
+                    && U64Deserializer.class.isInstance(property.getValueDeserializer())) {
+                u64.add(property);
+            }
+        });
+        u64.forEach(property -> builder.addOrReplaceProperty(new U64Property(property), true));
+        return builder;
+    }
+
+    private static MethodHandle setterOf(AnnotatedMember member) {
+        try {
+            member.fixAccess(true);
+            MethodHandle handle;
+            if (member instanceof AnnotatedMethod method) {
+                handle = MethodHandles.lookup().unreflect(method.getAnnotated());
+            } else if (member instanceof AnnotatedField field) {
+                handle = MethodHandles.lookup().unreflectSetter(field.getAnnotated());
+            } else {
+                return null;
+            }
+            return handle.asType(SETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Not reachable through a handle, keep the boxing path of the delegate
+            return null;
+        }
+    }
+
+    /**
+     * Parses the value with {@link U64Deserializer#parse} and passes the primitive to the setter, null
+     * leaves the initial value as {@link U64} specifies.
+     */
+    private static final class U64Property extends SettableBeanProperty.Delegating {
+
+        private final MethodHandle setter;
+
+        U64Property(SettableBeanProperty delegate) {
+            super(delegate);
+            this.setter = setterOf(delegate.getMember());
+        }
+
+        @Override
+        protected SettableBeanProperty withDelegate(SettableBeanProperty d) {
+            return new U64Property(d);
+        }
+
+        @Override
+        public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+            if (setter == null) {
+                delegate.deserializeAndSet(p, ctxt, instance);
+                return;
+            }
+            if (p.currentToken() == JsonToken.VALUE_NULL) {
+                return;
+            }
+            long value = U64Deserializer.parse(p, ctxt);
+            try {
+                setter.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw JsonMappingException.from(p, "Failed to set u64 property '" + getName() + "'", e);
+            }
+        }
+
+        @Override
+        public Object deserializeSetAndReturn(JsonParser p, DeserializationContext ctxt, Object instance)
+                throws IOException {
+            deserializeAndSet(p, ctxt, instance);
+            return instance;
+        }
+    }
+}
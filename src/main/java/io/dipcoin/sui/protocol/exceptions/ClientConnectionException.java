@@ -19,12 +19,27 @@ package io.dipcoin.sui.protocol.exceptions;
  * @Description : Client connection exception.
  */
 public class ClientConnectionException extends RuntimeException {
+
+    // HTTP status code of the response, -1 when no response was received
+    private final int statusCode;
+
     public ClientConnectionException(String message) {
         super(message);
+        this.statusCode = -1;
     }
 
     public ClientConnectionException(String message, Throwable cause) {
         super(message, cause);
+        this.statusCode = -1;
+    }
+
+    public ClientConnectionException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
     }
 
 }
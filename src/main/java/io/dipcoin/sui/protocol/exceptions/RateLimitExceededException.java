@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.exceptions;
+
+import java.time.Duration;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/23 15:20
+ * @Description : Request rejected by the node rate limit (HTTP 429), see {@link RateLimitRejectedException}
+ * for rejections of the local limiter
+ */
+public class RateLimitExceededException extends ClientConnectionException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long to wait before retrying, null if unknown.
+     * @return
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.exceptions;
+
+import java.time.Duration;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/12 11:10
+ * @Description : Request rejected by the local rate limiter because its wait queue is full or the wait
+ * would be too long. Not a transport failure, so it is neither retried nor counted as a drop.
+ */
+public class RateLimitRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long the request would have had to wait for its permits, null if unknown.
+     * @return
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http;
+
+import okhttp3.Headers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/4 10:10
+ * @Description : Immutable OkHttp headers built from the mutable header map of a service, rebuilt only when the
+ * map has changed since the last call. The map is compared with its last copy rather than tracked with a
+ * modification counter because callers may change it through getHeaders(). The comparison allocates one entry
+ * iterator, which the JIT usually scalar-replaces, where Headers.of validates every header and builds a new array.
+ */
+final class HeaderCache {
+
+    private final Map<String, String> source;
+
+    private volatile Snapshot snapshot;
+
+    HeaderCache(Map<String, String> source) {
+        this.source = source;
+    }
+
+    Headers get() {
+        Snapshot current = snapshot;
+        if (current == null || !current.copy.equals(source)) {
+            Map<String, String> copy = new HashMap<>(source);
+            current = new Snapshot(copy, Headers.of(copy));
+            snapshot = current;
+        }
+        return current.headers;
+    }
+
+    private record Snapshot(Map<String, String> copy, Headers headers) {
+    }
+}
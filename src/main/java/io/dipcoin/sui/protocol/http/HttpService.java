@@ -22,17 +22,28 @@ package io.dipcoin.sui.protocol.http;
 
 import io.dipcoin.sui.protocol.Service;
 import io.dipcoin.sui.protocol.exceptions.ClientConnectionException;
+import io.dipcoin.sui.protocol.exceptions.RateLimitExceededException;
+import io.dipcoin.sui.protocol.http.compression.CallTag;
+import io.dipcoin.sui.protocol.http.compression.CompressionConfig;
+import io.dipcoin.sui.protocol.http.compression.CompressionInterceptor;
+import io.dipcoin.sui.protocol.http.endpoint.RateLimitConfig;
+import io.dipcoin.sui.protocol.http.endpoint.RateLimiter;
+import io.dipcoin.sui.protocol.http.priority.PriorityLanes;
+import io.dipcoin.sui.protocol.metrics.Metering;
+import io.dipcoin.sui.protocol.metrics.RpcMetrics;
 import okhttp3.*;
 import okhttp3.logging.HttpLoggingInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * @author : Same
@@ -46,18 +57,38 @@ public class HttpService extends Service {
 
     public static final String DEFAULT_URL = "https://fullnode.mainnet.sui.io:443";
 
+    // Asynchronous calls are queued by the dispatcher, the OkHttp default of 5 per host is too low for RPC fan-out
+    public static final int DEFAULT_MAX_REQUESTS = 1024;
+
     private static final Logger log = LoggerFactory.getLogger(HttpService.class);
 
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
     private OkHttpClient httpClient;
 
     private final String url;
 
+    // Parsed once, null if the url is not an http(s) url and has to be parsed by every call
+    private final HttpUrl httpUrl;
+
     private HashMap<String, String> headers = new HashMap<>();
 
+    private final HeaderCache headerCache = new HeaderCache(headers);
+
+    // Client-side rate limit of the endpoint, disabled when null
+    private volatile RateLimiter rateLimiter;
+
+    // Per priority class clients, every request uses httpClient when null
+    private volatile PriorityLanes priorityLanes;
+
+    // Installed on httpClient, the clients derived from it share the configuration
+    private final CompressionInterceptor compression = new CompressionInterceptor(CompressionConfig.defaults());
+
     public HttpService(String url, OkHttpClient httpClient) {
         super();
         this.url = url;
-        this.httpClient = httpClient;
+        this.httpUrl = HttpUrl.parse(url);
+        this.httpClient = httpClient.newBuilder().addInterceptor(compression).build();
     }
 
     public HttpService(OkHttpClient httpClient) {
@@ -75,6 +106,7 @@ public class HttpService extends Service {
     public static OkHttpClient.Builder getOkHttpClientBuilder() {
         final OkHttpClient.Builder builder =
                 new OkHttpClient.Builder()
+                        .dispatcher(createDispatcher())
                         .connectTimeout(Duration.ofSeconds(30))
                         .readTimeout(Duration.ofSeconds(300));
         configureLogging(builder);
@@ -85,6 +117,13 @@ public class HttpService extends Service {
         return getOkHttpClientBuilder().build();
     }
 
+    private static Dispatcher createDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(DEFAULT_MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(DEFAULT_MAX_REQUESTS);
+        return dispatcher;
+    }
+
     private static void configureLogging(OkHttpClient.Builder builder) {
         if (log.isDebugEnabled()) {
             HttpLoggingInterceptor logging = new HttpLoggingInterceptor(log::debug);
@@ -95,18 +134,156 @@ public class HttpService extends Service {
 
     @Override
     protected InputStream performIO(String request) throws IOException {
+        return execute(null, request.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected CompletableFuture<InputStream> performIOAsync(String request) {
+        return performIOAsync(httpClient, null, request.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private InputStream execute(String method, byte[] request) throws IOException {
+        return handleResponse(httpClient.newCall(buildRequest(method, request)).execute());
+    }
+
+    private CompletableFuture<InputStream> performIOAsync(OkHttpClient client, io.dipcoin.sui.model.Request<?, ?> rpcRequest,
+                                                          byte[] request) {
+        CompletableFuture<InputStream> future = new CompletableFuture<>();
+        RpcMetrics metrics = this.metrics;
+        String method = rpcRequest == null ? null : rpcRequest.getMethod();
+        long start = System.nanoTime();
+        Call call = client.newCall(buildRequest(method, request));
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                Metering.onFailure(metrics, method, url, start, request.length, e);
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, okhttp3.Response response) {
+                try {
+                    InputStream result = Metering.onSuccess(metrics, method, url, start, request.length, handleResponse(response));
+                    if (!future.complete(result) && result != null) {
+                        // Cancelled while waiting for the response, release the connection
+                        result.close();
+                    }
+                } catch (Throwable e) {
+                    Metering.onFailure(metrics, method, url, start, request.length, e);
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        // Propagate cancellation to the underlying call
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    @Override
+    protected InputStream performIO(io.dipcoin.sui.model.Request<?, ?> request, String payload) throws IOException {
+        return performIO(request, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected CompletableFuture<InputStream> performIOAsync(io.dipcoin.sui.model.Request<?, ?> request, String payload) {
+        return performIOAsync(request, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected InputStream performIO(io.dipcoin.sui.model.Request<?, ?> request, byte[] payload) throws IOException {
+        RateLimiter limiter = rateLimiter;
+        if (limiter != null) {
+            limiter.acquire(weightOf(limiter, request));
+        }
+        PriorityLanes lanes = priorityLanes;
+        if (lanes != null) {
+            // Blocking calls bypass the dispatcher limits, run them on the lane dispatcher and wait
+            return await(performIOAsync(lanes.clientFor(request), request, payload));
+        }
+        RpcMetrics metrics = this.metrics;
+        String method = request == null ? null : request.getMethod();
+        long start = System.nanoTime();
+        try {
+            return Metering.onSuccess(metrics, method, url, start, payload.length, execute(method, payload));
+        } catch (IOException | RuntimeException e) {
+            Metering.onFailure(metrics, method, url, start, payload.length, e);
+            throw e;
+        }
+    }
+
+    @Override
+    protected CompletableFuture<InputStream> performIOAsync(io.dipcoin.sui.model.Request<?, ?> request, byte[] payload) {
+        PriorityLanes lanes = priorityLanes;
+        OkHttpClient client;
+        try {
+            client = lanes == null ? httpClient : lanes.clientFor(request);
+        } catch (IllegalArgumentException e) {
+            // Unknown priority class, reported through the future like any other failure
+            return CompletableFuture.failedFuture(e);
+        }
+        RateLimiter limiter = rateLimiter;
+        if (limiter == null) {
+            return performIOAsync(client, request, payload);
+        }
+        return limiter.acquireAsync(weightOf(limiter, request))
+                .thenCompose(ignored -> performIOAsync(client, request, payload));
+    }
+
+    /**
+     * Wait for an asynchronous call, rethrowing its failure as it would have been thrown by a blocking call.
+     */
+    static InputStream await(CompletableFuture<InputStream> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the response", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
 
+    private static int weightOf(RateLimiter limiter, io.dipcoin.sui.model.Request<?, ?> request) {
+        return limiter.getConfig().weightOf(request);
+    }
+
+    /**
+     * The body wraps the payload without copying it and writes it straight to the connection sink, the
+     * same payload can be sent again by a retry.
+     */
+    private okhttp3.Request buildRequest(String method, byte[] request) {
         RequestBody requestBody = RequestBody.create(request, JSON_MEDIA_TYPE);
         Headers headers = buildHeaders();
 
-        okhttp3.Request httpRequest =
-                new okhttp3.Request.Builder().url(url).headers(headers).post(requestBody).build();
+        okhttp3.Request.Builder builder = new okhttp3.Request.Builder();
+        return (httpUrl != null ? builder.url(httpUrl) : builder.url(url)).headers(headers).post(requestBody)
+                .tag(CallTag.class, new CallTag(method, url, metrics)).build();
+    }
 
-        try (okhttp3.Response response = httpClient.newCall(httpRequest).execute()) {
+    /**
+     * On success the live body stream is handed over to the caller, closing it releases the
+     * connection. Every other outcome closes the response here.
+     */
+    private InputStream handleResponse(okhttp3.Response response) throws IOException {
+        boolean streaming = false;
+        try {
             processHeaders(response.headers());
             ResponseBody responseBody = response.body();
             if (response.isSuccessful()) {
                 if (responseBody != null) {
+                    streaming = true;
                     return buildInputStream(responseBody);
                 } else {
                     return null;
@@ -115,22 +292,39 @@ public class HttpService extends Service {
                 int code = response.code();
                 String text = responseBody == null ? "N/A" : responseBody.string();
 
+                if (code == HTTP_TOO_MANY_REQUESTS) {
+                    throw rateLimited(code, text, RateLimiter.parseRetryAfter(response.header("Retry-After")));
+                }
                 throw new ClientConnectionException(
-                        "Invalid response received: " + code + "; " + text);
+                        "Invalid response received: " + code + "; " + text, code);
+            }
+        } finally {
+            if (!streaming) {
+                response.close();
             }
         }
     }
 
+    private RateLimitExceededException rateLimited(int code, String text, Duration retryAfter) {
+        RateLimiter limiter = rateLimiter;
+        if (limiter != null && retryAfter != null) {
+            // Hold back the following requests until the node accepts them again
+            limiter.pause(retryAfter);
+        }
+        log.warn("Rate limited by {}, retry after {}", url, retryAfter);
+        return new RateLimitExceededException("Rate limited by endpoint: " + code + "; " + text, retryAfter);
+    }
+
     protected void processHeaders(Headers headers) {
         // Default implementation is empty
     }
 
-    private InputStream buildInputStream(ResponseBody responseBody) throws IOException {
-        return new ByteArrayInputStream(responseBody.bytes());
+    private InputStream buildInputStream(ResponseBody responseBody) {
+        return responseBody.byteStream();
     }
 
     private Headers buildHeaders() {
-        return Headers.of(headers);
+        return headerCache.get();
     }
 
     public void addHeader(String key, String value) {
@@ -149,7 +343,64 @@ public class HttpService extends Service {
         return url;
     }
 
+    /**
+     * Limit the request rate to the endpoint quota with a token bucket, null removes the limit.
+     * @param rateLimitConfig
+     */
+    public void setRateLimit(RateLimitConfig rateLimitConfig) {
+        this.rateLimiter = rateLimitConfig == null ? null : new RateLimiter(rateLimitConfig);
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Number of requests waiting for a rate limit permit.
+     * @return
+     */
+    public int getRateLimitQueueDepth() {
+        RateLimiter limiter = rateLimiter;
+        return limiter == null ? 0 : limiter.getQueueDepth();
+    }
+
+    /**
+     * Split the traffic into priority lanes, each with its own dispatcher and connection pool.
+     * @param priorityLanes lanes, null sends every request through the shared client
+     */
+    public void setPriorityLanes(PriorityLanes priorityLanes) {
+        this.priorityLanes = priorityLanes;
+    }
+
+    /**
+     * Enable the default critical, interactive and bulk lanes derived from the client of the service.
+     */
+    public void enablePriorityLanes() {
+        setPriorityLanes(PriorityLanes.defaults(httpClient));
+    }
+
+    public PriorityLanes getPriorityLanes() {
+        return priorityLanes;
+    }
+
+    /**
+     * Content coding negotiated with the endpoint, brotli and gzip responses by default.
+     * @param compressionConfig coding, null leaves it to the transparent gzip of OkHttp
+     */
+    public void setCompression(CompressionConfig compressionConfig) {
+        compression.setConfig(compressionConfig);
+    }
+
+    public CompressionConfig getCompression() {
+        return compression.getConfig();
+    }
+
     @Override
-    public void close() throws IOException {}
+    public void close() throws IOException {
+        PriorityLanes lanes = priorityLanes;
+        if (lanes != null) {
+            lanes.shutdown();
+        }
+    }
 
 }
@@ -13,21 +13,45 @@
 
 package io.dipcoin.sui.protocol.http;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.dipcoin.sui.model.BatchEnvelope;
 import io.dipcoin.sui.protocol.Service;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
 import io.dipcoin.sui.protocol.exceptions.ClientConnectionException;
+import io.dipcoin.sui.protocol.exceptions.RateLimitExceededException;
+import io.dipcoin.sui.protocol.exceptions.RateLimitRejectedException;
+import io.dipcoin.sui.protocol.http.compression.CallTag;
+import io.dipcoin.sui.protocol.http.compression.CompressionConfig;
+import io.dipcoin.sui.protocol.http.compression.CompressionInterceptor;
+import io.dipcoin.sui.protocol.http.endpoint.CircuitBreakerConfig;
+import io.dipcoin.sui.protocol.http.endpoint.Endpoint;
+import io.dipcoin.sui.protocol.http.endpoint.EndpointHealthProber;
+import io.dipcoin.sui.protocol.http.endpoint.EndpointSelector;
+import io.dipcoin.sui.protocol.http.endpoint.EndpointStats;
+import io.dipcoin.sui.protocol.http.endpoint.HedgePolicy;
+import io.dipcoin.sui.protocol.http.endpoint.RateLimitConfig;
+import io.dipcoin.sui.protocol.http.endpoint.RateLimiter;
+import io.dipcoin.sui.protocol.http.endpoint.ReadConsistency;
+import io.dipcoin.sui.protocol.http.priority.PriorityLanes;
+import io.dipcoin.sui.protocol.metrics.Metering;
+import io.dipcoin.sui.protocol.metrics.RpcMetrics;
 import okhttp3.*;
 import okhttp3.logging.HttpLoggingInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
  * @author : Same
@@ -41,19 +65,72 @@ public class MultiHttpService extends Service {
 
     private static final Logger log = LoggerFactory.getLogger(HttpService.class);
 
+    // Cheap read used to decide whether an endpoint is healthy
+    private static final byte[] HEALTH_PROBE_PAYLOAD =
+            "{\"jsonrpc\":\"2.0\",\"id\":0,\"method\":\"sui_getLatestCheckpointSequenceNumber\",\"params\":[]}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private static final Duration HEALTH_PROBE_TIMEOUT = Duration.ofSeconds(3);
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
     private OkHttpClient httpClient;
 
     private List<String> urls = new ArrayList<>();
 
+    private final List<Endpoint> endpoints = new ArrayList<>();
+
+    private volatile EndpointSelector endpointSelector;
+
+    // Hedging of read-only requests, disabled when null
+    private volatile HedgePolicy hedgePolicy;
+
+    // Client-side rate limit applied to every endpoint, disabled when null
+    private volatile RateLimitConfig rateLimitConfig;
+
+    // Per priority class clients, every request uses httpClient when null
+    private volatile PriorityLanes priorityLanes;
+
+    // Read-your-writes routing, null leaves the selector order untouched
+    private volatile ReadConsistency readConsistency;
+
+    // Installed on httpClient, the lanes and the probe client derived from it share the configuration
+    private final CompressionInterceptor compression = new CompressionInterceptor(CompressionConfig.defaults());
+
+    private EndpointHealthProber healthProber;
+
+    private OkHttpClient probeClient;
+
     private HashMap<String, String> headers = new HashMap<>();
 
-    public MultiHttpService(List<String> urls, OkHttpClient httpClient) {
+    private final HeaderCache headerCache = new HeaderCache(headers);
+
+    // Endpoint urls parsed once, urls OkHttp cannot parse are left out and parsed by every call
+    private final Map<String, HttpUrl> httpUrls = new HashMap<>();
+
+    public MultiHttpService(List<String> urls, OkHttpClient httpClient, EndpointSelector endpointSelector) {
         super();
         if (urls == null || urls.isEmpty()) {
             throw new IllegalArgumentException("endpoints cannot be empty");
         }
         this.urls.addAll(urls);
-        this.httpClient = httpClient;
+        urls.forEach(url -> this.endpoints.add(new Endpoint(url)));
+        urls.forEach(url -> {
+            HttpUrl httpUrl = HttpUrl.parse(url);
+            if (httpUrl != null) {
+                this.httpUrls.put(url, httpUrl);
+            }
+        });
+        this.httpClient = httpClient.newBuilder().addInterceptor(compression).build();
+        this.endpointSelector = endpointSelector;
+    }
+
+    public MultiHttpService(List<String> urls, OkHttpClient httpClient) {
+        this(urls, httpClient, EndpointSelector.ordered());
+    }
+
+    public MultiHttpService(List<String> urls, EndpointSelector endpointSelector) {
+        this(urls, createOkHttpClient(), endpointSelector);
     }
 
     public MultiHttpService(List<String> urls) {
@@ -63,6 +140,7 @@ public class MultiHttpService extends Service {
     public static OkHttpClient.Builder getOkHttpClientBuilder() {
         final OkHttpClient.Builder builder =
                 new OkHttpClient.Builder()
+                        .dispatcher(createDispatcher())
                         .connectTimeout(Duration.ofSeconds(10))
                         .readTimeout(Duration.ofSeconds(60));
         configureLogging(builder);
@@ -73,6 +151,13 @@ public class MultiHttpService extends Service {
         return getOkHttpClientBuilder().build();
     }
 
+    private static Dispatcher createDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(HttpService.DEFAULT_MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(HttpService.DEFAULT_MAX_REQUESTS);
+        return dispatcher;
+    }
+
     private static void configureLogging(OkHttpClient.Builder builder) {
         if (log.isDebugEnabled()) {
             HttpLoggingInterceptor logging = new HttpLoggingInterceptor(log::debug);
@@ -83,30 +168,390 @@ public class MultiHttpService extends Service {
 
     @Override
     protected InputStream performIO(String request) throws IOException {
-        IOException lastEx = null;
-        for (String url : urls) {
+        return performFailover(request.getBytes(StandardCharsets.UTF_8), null, 1);
+    }
+
+    @Override
+    protected CompletableFuture<InputStream> performIOAsync(String request) {
+        CompletableFuture<InputStream> future = new CompletableFuture<>();
+        doRequestAsync(httpClient, endpointSelector.select(endpoints), 0, request.getBytes(StandardCharsets.UTF_8), null, 1,
+                future, null);
+        return future;
+    }
+
+    @Override
+    protected InputStream performIO(io.dipcoin.sui.model.Request<?, ?> request, String payload) throws IOException {
+        return performIO(request, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected CompletableFuture<InputStream> performIOAsync(io.dipcoin.sui.model.Request<?, ?> request, String payload) {
+        return performIOAsync(request, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected InputStream performIO(io.dipcoin.sui.model.Request<?, ?> request, byte[] payload) throws IOException {
+        if (isHedged(request) || priorityLanes != null) {
+            // Blocking calls bypass the dispatcher limits of the lanes, run them asynchronously and wait
+            return HttpService.await(performIOAsync(request, payload));
+        }
+        return performFailover(payload, request, weightOf(request));
+    }
+
+    @Override
+    protected CompletableFuture<InputStream> performIOAsync(io.dipcoin.sui.model.Request<?, ?> request, byte[] payload) {
+        int weight = weightOf(request);
+        PriorityLanes lanes = priorityLanes;
+        OkHttpClient client;
+        try {
+            client = lanes == null ? httpClient : lanes.clientFor(request);
+        } catch (IllegalArgumentException e) {
+            // Unknown priority class, reported through the future like any other failure
+            return CompletableFuture.failedFuture(e);
+        }
+        if (isHedged(request)) {
+            return performHedged(client, payload, request, weight);
+        }
+        CompletableFuture<InputStream> future = new CompletableFuture<>();
+        doRequestAsync(client, candidates(request), 0, payload, request, weight, future, null);
+        return future;
+    }
+
+    /**
+     * Try the selected endpoints in order. Endpoints whose circuit is open or whose rate limit queue is
+     * full are skipped, a 429 answer pauses the endpoint limiter and fails over to the next endpoint.
+     */
+    private InputStream performFailover(byte[] request, io.dipcoin.sui.model.Request<?, ?> rpcRequest, int weight) throws IOException {
+        String method = methodOf(rpcRequest);
+        Exception lastEx = null;
+        boolean attempted = false;
+        for (Endpoint endpoint : candidates(rpcRequest)) {
+            if (!endpoint.tryAcquire()) {
+                continue;
+            }
+            RateLimiter rateLimiter = endpoint.getRateLimiter();
+            if (rateLimiter != null) {
+                try {
+                    rateLimiter.acquire(weight);
+                } catch (RateLimitRejectedException e) {
+                    endpoint.getCircuitBreaker().releaseTrial();
+                    lastEx = e;
+                    continue;
+                }
+            }
+            attempted = true;
+            RpcMetrics metrics = this.metrics;
+            long start = endpoint.onStart();
             try {
-                return doRequest(url, request);
+                InputStream result = observe(endpoint, rpcRequest, doRequest(endpoint.getUrl(), method, request));
+                recordLatency(endpoint.onSuccess(start));
+                return Metering.onSuccess(metrics, method, endpoint.getUrl(), start, request.length, result);
+            } catch (RateLimitExceededException e) {
+                Metering.onFailure(metrics, method, endpoint.getUrl(), start, request.length, e);
+                onThrottled(endpoint, e);
+                lastEx = e;
             } catch (IOException e) {
+                Metering.onFailure(metrics, method, endpoint.getUrl(), start, request.length, e);
+                endpoint.onFailure();
                 lastEx = e;
-                log.warn("[FailoverHttpService] Request failed on {}: {}", url, e.getMessage());
+                log.warn("[FailoverHttpService] Request failed on {}: {}", endpoint.getUrl(), e.getMessage());
+            } catch (RuntimeException e) {
+                Metering.onFailure(metrics, method, endpoint.getUrl(), start, request.length, e);
+                endpoint.onFailure();
+                throw e;
+            }
+        }
+        throw allFailed(attempted, lastEx);
+    }
+
+    private RuntimeException allFailed(boolean attempted, Exception lastEx) {
+        if (lastEx instanceof RateLimitExceededException || lastEx instanceof RateLimitRejectedException) {
+            return (RuntimeException) lastEx;
+        }
+        if (!attempted && lastEx == null) {
+            return new ClientConnectionException("No available RPC endpoints, all circuits are open: " + urls);
+        }
+        return new ClientConnectionException("All RPC endpoints failed: " + urls, lastEx);
+    }
+
+    private void onThrottled(Endpoint endpoint, RateLimitExceededException e) {
+        endpoint.onThrottled();
+        RateLimiter rateLimiter = endpoint.getRateLimiter();
+        if (rateLimiter != null && e.getRetryAfter() != null) {
+            rateLimiter.pause(e.getRetryAfter());
+        }
+        log.warn("[FailoverHttpService] Rate limited on {}, retry after {}", endpoint.getUrl(), e.getRetryAfter());
+    }
+
+    private int weightOf(io.dipcoin.sui.model.Request<?, ?> request) {
+        RateLimitConfig config = rateLimitConfig;
+        return config == null ? 1 : config.weightOf(request);
+    }
+
+    private boolean isHedged(io.dipcoin.sui.model.Request<?, ?> request) {
+        // Writes are never hedged, a batch may contain writes. Reads fenced by our writes are not hedged
+        // either, the hedge could be answered by a lagging endpoint.
+        ReadConsistency consistency = readConsistency;
+        return hedgePolicy != null && endpoints.size() > 1
+                && request != null && RpcMethod.isReadOnly(request.getMethod())
+                && (consistency == null || !consistency.isActive());
+    }
+
+    /**
+     * Endpoints to try in order, reads fenced by our recent writes go to caught-up endpoints first. A batch
+     * is ordered like a read when all of its entries are reads.
+     */
+    private List<Endpoint> candidates(io.dipcoin.sui.model.Request<?, ?> rpcRequest) {
+        List<Endpoint> selected = endpointSelector.select(endpoints);
+        ReadConsistency consistency = readConsistency;
+        if (consistency == null || !isReadOnly(rpcRequest)) {
+            return selected;
+        }
+        return consistency.order(selected);
+    }
+
+    private InputStream observe(Endpoint endpoint, io.dipcoin.sui.model.Request<?, ?> rpcRequest, InputStream result)
+            throws IOException {
+        ReadConsistency consistency = readConsistency;
+        if (consistency == null) {
+            return result;
+        }
+        if (rpcRequest instanceof BatchEnvelope batch) {
+            // Batch responses are not parsed for the checkpoint, pin reads to the endpoint that executed the
+            // transactions. A transaction rejected inside the batch fences reads all the same.
+            if (result != null && executesTransaction(batch)) {
+                consistency.onWrite(endpoint, -1);
+            }
+            return result;
+        }
+        return consistency.observe(endpoint, methodOf(rpcRequest), result);
+    }
+
+    private static String methodOf(io.dipcoin.sui.model.Request<?, ?> rpcRequest) {
+        return rpcRequest == null ? null : rpcRequest.getMethod();
+    }
+
+    private static boolean isReadOnly(io.dipcoin.sui.model.Request<?, ?> rpcRequest) {
+        if (rpcRequest instanceof BatchEnvelope batch) {
+            for (io.dipcoin.sui.model.Request<?, ?> entry : batch.getRequests()) {
+                if (!RpcMethod.isReadOnly(entry.getMethod())) {
+                    return false;
+                }
+            }
+            return !batch.getRequests().isEmpty();
+        }
+        return RpcMethod.isReadOnly(methodOf(rpcRequest));
+    }
+
+    private static boolean executesTransaction(BatchEnvelope batch) {
+        for (io.dipcoin.sui.model.Request<?, ?> entry : batch.getRequests()) {
+            if (RpcMethod.EXECUTE_TRANSACTION_BLOCK.equals(entry.getMethod())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Send the request to the first endpoint, and a copy to the next one if no response arrived within
+     * the hedge delay. The first successful response wins, the other call is cancelled.
+     */
+    private CompletableFuture<InputStream> performHedged(OkHttpClient client, byte[] payload,
+                                                         io.dipcoin.sui.model.Request<?, ?> rpcRequest, int weight) {
+        HedgePolicy policy = hedgePolicy;
+        List<Endpoint> candidates = candidates(rpcRequest);
+        List<Endpoint> hedgeCandidates = new ArrayList<>(candidates.subList(1, candidates.size()));
+        hedgeCandidates.add(candidates.getFirst());
+
+        CompletableFuture<InputStream> result = new CompletableFuture<>();
+        CompletableFuture<InputStream> primary = new CompletableFuture<>();
+        CompletableFuture<InputStream> hedge = new CompletableFuture<>();
+        AtomicBoolean hedgeDecided = new AtomicBoolean();
+
+        primary.whenComplete((stream, e) -> {
+            if (e == null) {
+                completeHedged(result, stream);
+            } else if (hedgeDecided.compareAndSet(false, true) || hedge.isDone()) {
+                // No hedge in flight, or it already failed too
+                result.completeExceptionally(e);
+            }
+        });
+        hedge.whenComplete((stream, e) -> {
+            if (e == null) {
+                completeHedged(result, stream);
+            } else if (primary.isDone()) {
+                result.completeExceptionally(e);
+            }
+        });
+        // Cancel the losing call, cancelling a completed future is a no-op
+        result.whenComplete((stream, e) -> {
+            primary.cancel(false);
+            hedge.cancel(false);
+        });
+
+        doRequestAsync(client, candidates, 0, payload, rpcRequest, weight, primary, null);
+        CompletableFuture.delayedExecutor(policy.getDelayMicros(), TimeUnit.MICROSECONDS).execute(() -> {
+            if (!result.isDone() && hedgeDecided.compareAndSet(false, true)) {
+                policy.onHedged();
+                doRequestAsync(client, hedgeCandidates, 0, payload, rpcRequest, weight, hedge, null);
+            }
+        });
+        return result;
+    }
+
+    private static void completeHedged(CompletableFuture<InputStream> result, InputStream stream) {
+        if (!result.complete(stream) && stream != null) {
+            // The other call won, release this connection
+            try {
+                stream.close();
+            } catch (IOException ignored) {
+                // Nothing left to release
             }
         }
-        throw new ClientConnectionException(
-                "All RPC endpoints failed: " + urls, lastEx);
     }
 
-    private InputStream doRequest(String url, String request) throws IOException {
+    private void recordLatency(long latencyNanos) {
+        HedgePolicy policy = hedgePolicy;
+        if (policy != null) {
+            policy.record(latencyNanos);
+        }
+    }
+
+    /**
+     * Try the endpoint at index, moving on to the next one from the failure callback.
+     */
+    private void doRequestAsync(OkHttpClient client, List<Endpoint> candidates, int index, byte[] request,
+                                io.dipcoin.sui.model.Request<?, ?> rpcRequest, int weight, CompletableFuture<InputStream> future, Exception lastEx) {
+        if (future.isDone()) {
+            return;
+        }
+        // Skip endpoints whose circuit is open
+        while (index < candidates.size() && !candidates.get(index).tryAcquire()) {
+            index++;
+        }
+        if (index >= candidates.size()) {
+            future.completeExceptionally(allFailed(lastEx != null, lastEx));
+            return;
+        }
+        int attempt = index;
+        Endpoint endpoint = candidates.get(attempt);
+        RateLimiter rateLimiter = endpoint.getRateLimiter();
+        if (rateLimiter == null) {
+            enqueue(client, candidates, attempt, request, rpcRequest, weight, future);
+            return;
+        }
+        rateLimiter.acquireAsync(weight).whenComplete((ignored, e) -> {
+            if (e == null) {
+                enqueue(client, candidates, attempt, request, rpcRequest, weight, future);
+            } else {
+                // Queue of this endpoint is full, try the next one
+                endpoint.getCircuitBreaker().releaseTrial();
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                doRequestAsync(client, candidates, attempt + 1, request, rpcRequest, weight, future,
+                        cause instanceof Exception exception ? exception : new ClientConnectionException(cause.getMessage(), cause));
+            }
+        });
+    }
+
+    private void enqueue(OkHttpClient client, List<Endpoint> candidates, int attempt, byte[] request,
+                         io.dipcoin.sui.model.Request<?, ?> rpcRequest, int weight, CompletableFuture<InputStream> future) {
+        if (future.isDone()) {
+            candidates.get(attempt).getCircuitBreaker().releaseTrial();
+            return;
+        }
+        String method = methodOf(rpcRequest);
+        Endpoint endpoint = candidates.get(attempt);
+        String url = endpoint.getUrl();
+        RpcMetrics metrics = this.metrics;
+        long start = endpoint.onStart();
+        Call call = client.newCall(buildRequest(url, request, new CallTag(method, url, metrics)));
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                onEndpointFailure(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                InputStream result;
+                try {
+                    result = observe(endpoint, rpcRequest, handleResponse(response));
+                } catch (RateLimitExceededException e) {
+                    Metering.onFailure(metrics, method, url, start, request.length, e);
+                    onThrottled(endpoint, e);
+                    doRequestAsync(client, candidates, attempt + 1, request, rpcRequest, weight, future, e);
+                    return;
+                } catch (IOException e) {
+                    onEndpointFailure(e);
+                    return;
+                } catch (Throwable e) {
+                    Metering.onFailure(metrics, method, url, start, request.length, e);
+                    endpoint.onFailure();
+                    future.completeExceptionally(e);
+                    return;
+                }
+                recordLatency(endpoint.onSuccess(start));
+                result = Metering.onSuccess(metrics, method, url, start, request.length, result);
+                if (!future.complete(result) && result != null) {
+                    // Cancelled while waiting for the response, release the connection
+                    try {
+                        result.close();
+                    } catch (IOException ignored) {
+                        // Nothing left to release
+                    }
+                }
+            }
+
+            private void onEndpointFailure(IOException e) {
+                if (call.isCanceled() || future.isDone()) {
+                    // Cancelled by us, typically the losing side of a hedge, not a fault of the endpoint
+                    endpoint.onCancelled();
+                    return;
+                }
+                Metering.onFailure(metrics, method, url, start, request.length, e);
+                endpoint.onFailure();
+                log.warn("[FailoverHttpService] Request failed on {}: {}", url, e.getMessage());
+                doRequestAsync(client, candidates, attempt + 1, request, rpcRequest, weight, future, e);
+            }
+        });
+        // Propagate cancellation to the underlying call
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+    }
+
+    private InputStream doRequest(String url, String method, byte[] request) throws IOException {
+        return handleResponse(httpClient.newCall(buildRequest(url, request, new CallTag(method, url, metrics))).execute());
+    }
+
+    /**
+     * The body wraps the payload without copying it, failover and hedged attempts send the same array.
+     * The tag is left out for the probes, they are not metered.
+     */
+    private Request buildRequest(String url, byte[] request, CallTag tag) {
         RequestBody requestBody = RequestBody.create(request, JSON_MEDIA_TYPE);
         Headers headers = buildHeaders();
 
-        Request httpRequest =
-                new Request.Builder().url(url).headers(headers).post(requestBody).build();
-        try (Response response = httpClient.newCall(httpRequest).execute()) {
+        HttpUrl httpUrl = httpUrls.get(url);
+        Request.Builder builder = new Request.Builder();
+        return (httpUrl != null ? builder.url(httpUrl) : builder.url(url)).headers(headers).post(requestBody)
+                .tag(CallTag.class, tag).build();
+    }
+
+    /**
+     * On success the live body stream is handed over to the caller, closing it releases the
+     * connection. Every other outcome closes the response here.
+     */
+    private InputStream handleResponse(Response response) throws IOException {
+        boolean streaming = false;
+        try {
             processHeaders(response.headers());
             ResponseBody responseBody = response.body();
             if (response.isSuccessful()) {
                 if (responseBody != null) {
+                    streaming = true;
                     return buildInputStream(responseBody);
                 } else {
                     return null;
@@ -115,9 +560,60 @@ public class MultiHttpService extends Service {
                 int code = response.code();
                 String text = responseBody == null ? "N/A" : responseBody.string();
 
+                if (code == HTTP_TOO_MANY_REQUESTS) {
+                    throw new RateLimitExceededException("Rate limited by endpoint: " + code + "; " + text,
+                            RateLimiter.parseRetryAfter(response.header("Retry-After")));
+                }
                 throw new ClientConnectionException(
-                        "Invalid response received: " + code + "; " + text);
+                        "Invalid response received: " + code + "; " + text, code);
+            }
+        } finally {
+            if (!streaming) {
+                response.close();
+            }
+        }
+    }
+
+    /**
+     * Start probing every endpoint in the background, endpoints whose circuit opened return to
+     * rotation once they answer the probe again.
+     *
+     * @param intervalMs probe interval in milliseconds
+     */
+    public synchronized void startHealthProbe(long intervalMs) {
+        if (healthProber == null) {
+            // Shares the connection pool, only the timeout differs
+            probeClient = httpClient.newBuilder()
+                    .callTimeout(HEALTH_PROBE_TIMEOUT)
+                    .build();
+            healthProber = new EndpointHealthProber(endpoints, this::probe);
+        }
+        healthProber.start(intervalMs);
+    }
+
+    private boolean probe(Endpoint endpoint) {
+        try (Response response = probeClient.newCall(buildRequest(endpoint.getUrl(), HEALTH_PROBE_PAYLOAD, null)).execute()) {
+            ResponseBody responseBody = response.body();
+            if (!response.isSuccessful() || responseBody == null) {
+                return false;
             }
+            JsonNode node = objectMapper.readTree(responseBody.byteStream());
+            if (node.hasNonNull("error") || !node.hasNonNull("result")) {
+                return false;
+            }
+            // The probe reads the latest checkpoint, used by read-your-writes routing
+            JsonNode checkpoint = node.get("result");
+            if (checkpoint.canConvertToLong() || checkpoint.isTextual()) {
+                try {
+                    endpoint.observeCheckpoint(Long.parseLong(checkpoint.asText()));
+                } catch (NumberFormatException ignored) {
+                    // Healthy, just not a number
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            log.debug("[FailoverHttpService] Health probe failed on {}: {}", endpoint.getUrl(), e.getMessage());
+            return false;
         }
     }
 
@@ -125,12 +621,12 @@ public class MultiHttpService extends Service {
         // Default implementation is empty
     }
 
-    private InputStream buildInputStream(ResponseBody responseBody) throws IOException {
-        return new ByteArrayInputStream(responseBody.bytes());
+    private InputStream buildInputStream(ResponseBody responseBody) {
+        return responseBody.byteStream();
     }
 
     private Headers buildHeaders() {
-        return Headers.of(headers);
+        return headerCache.get();
     }
 
     public void addHeader(String key, String value) {
@@ -149,7 +645,130 @@ public class MultiHttpService extends Service {
         return urls;
     }
 
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Latency and in-flight statistics of every endpoint, in the configured order.
+     * @return
+     */
+    public List<EndpointStats> getEndpointStats() {
+        return endpoints.stream()
+                .map(Endpoint::getStats)
+                .collect(Collectors.toList());
+    }
+
+    public EndpointSelector getEndpointSelector() {
+        return endpointSelector;
+    }
+
+    public void setEndpointSelector(EndpointSelector endpointSelector) {
+        this.endpointSelector = endpointSelector;
+    }
+
+    public HedgePolicy getHedgePolicy() {
+        return hedgePolicy;
+    }
+
+    /**
+     * Enable hedging of read-only requests, null disables it.
+     * @param hedgePolicy
+     */
+    public void setHedgePolicy(HedgePolicy hedgePolicy) {
+        this.hedgePolicy = hedgePolicy;
+    }
+
+    public RateLimitConfig getRateLimitConfig() {
+        return rateLimitConfig;
+    }
+
+    /**
+     * Give every endpoint its own token bucket with the given quota, null removes the limit.
+     * @param rateLimitConfig
+     */
+    public void setRateLimit(RateLimitConfig rateLimitConfig) {
+        endpoints.forEach(endpoint -> endpoint.setRateLimiter(
+                rateLimitConfig == null ? null : new RateLimiter(rateLimitConfig)));
+        this.rateLimitConfig = rateLimitConfig;
+    }
+
+    /**
+     * Number of requests waiting for a rate limit permit, over all endpoints.
+     * @return
+     */
+    public int getRateLimitQueueDepth() {
+        int depth = 0;
+        for (Endpoint endpoint : endpoints) {
+            RateLimiter rateLimiter = endpoint.getRateLimiter();
+            depth += rateLimiter == null ? 0 : rateLimiter.getQueueDepth();
+        }
+        return depth;
+    }
+
+    public void setCircuitBreakerConfig(CircuitBreakerConfig config) {
+        endpoints.forEach(endpoint -> endpoint.getCircuitBreaker().setConfig(config));
+    }
+
+    /**
+     * Split the traffic into priority lanes, each with its own dispatcher and connection pool.
+     * @param priorityLanes lanes, null sends every request through the shared client
+     */
+    public void setPriorityLanes(PriorityLanes priorityLanes) {
+        this.priorityLanes = priorityLanes;
+    }
+
+    /**
+     * Enable the default critical, interactive and bulk lanes derived from the client of the service.
+     */
+    public void enablePriorityLanes() {
+        setPriorityLanes(PriorityLanes.defaults(httpClient));
+    }
+
+    public PriorityLanes getPriorityLanes() {
+        return priorityLanes;
+    }
+
+    /**
+     * Route reads so that they observe our own recent writes, null disables it. Endpoint checkpoints are
+     * refreshed by {@link #startHealthProbe(long)}, without it reads are only pinned to the endpoint that
+     * executed the write.
+     *
+     * @param readConsistency read-your-writes tracker
+     */
+    public void setReadConsistency(ReadConsistency readConsistency) {
+        this.readConsistency = readConsistency;
+    }
+
+    public void enableReadConsistency() {
+        setReadConsistency(ReadConsistency.defaults());
+    }
+
+    public ReadConsistency getReadConsistency() {
+        return readConsistency;
+    }
+
+    /**
+     * Content coding negotiated with the endpoints, brotli and gzip responses by default.
+     * @param compressionConfig coding, null leaves it to the transparent gzip of OkHttp
+     */
+    public void setCompression(CompressionConfig compressionConfig) {
+        compression.setConfig(compressionConfig);
+    }
+
+    public CompressionConfig getCompression() {
+        return compression.getConfig();
+    }
+
     @Override
-    public void close() throws IOException {}
+    public synchronized void close() throws IOException {
+        if (healthProber != null) {
+            healthProber.close();
+        }
+        PriorityLanes lanes = priorityLanes;
+        if (lanes != null) {
+            lanes.shutdown();
+        }
+    }
 
 }
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.compression;
+
+import io.dipcoin.sui.protocol.metrics.RpcMetrics;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/8 10:20
+ * @Description : Attached to every OkHttp request of the services, tells the interceptors which call and
+ * endpoint the exchange belongs to. The endpoint is the configured url, OkHttp normalizes the request url.
+ *
+ * @param method JSON-RPC method, null for batch requests and probes
+ * @param endpoint endpoint url as configured
+ * @param metrics metrics of the service at the time of the call
+ */
+public record CallTag(String method, String endpoint, RpcMetrics metrics) {
+}
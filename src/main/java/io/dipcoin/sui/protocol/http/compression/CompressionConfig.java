@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.compression;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/8 10:12
+ * @Description : Content coding negotiated with the endpoints. Responses are always accepted gzip encoded,
+ * brotli is offered in addition when enabled. Request bodies are only compressed when the endpoint is known
+ * to accept gzip encoded requests, the public fullnodes do not.
+ *
+ * @param brotli offer brotli, it compresses JSON responses noticeably better than gzip
+ * @param requestCompressionThreshold gzip request bodies of at least this many bytes, -1 disables it
+ */
+public record CompressionConfig(boolean brotli, long requestCompressionThreshold) {
+
+    public static final long DISABLED = -1;
+
+    public CompressionConfig {
+        // Parameter validation
+        if (requestCompressionThreshold < DISABLED) {
+            throw new IllegalArgumentException("requestCompressionThreshold must be -1 or not negative");
+        }
+    }
+
+    /**
+     * Accept brotli and gzip responses, send requests uncompressed.
+     * @return
+     */
+    public static CompressionConfig defaults() {
+        return new CompressionConfig(true, DISABLED);
+    }
+
+    /**
+     * Accept gzip responses only, send requests uncompressed.
+     * @return
+     */
+    public static CompressionConfig gzip() {
+        return new CompressionConfig(false, DISABLED);
+    }
+
+    public CompressionConfig withRequestCompression(long threshold) {
+        return new CompressionConfig(brotli, threshold);
+    }
+
+    public boolean compressRequests() {
+        return requestCompressionThreshold != DISABLED;
+    }
+
+    /**
+     * Value of the Accept-Encoding header, the preferred coding first.
+     * @return
+     */
+    public String acceptEncoding() {
+        return brotli ? "br, gzip" : "gzip";
+    }
+}
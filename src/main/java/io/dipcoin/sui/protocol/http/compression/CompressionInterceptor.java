@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.compression;
+
+import io.dipcoin.sui.protocol.metrics.Metering;
+import io.dipcoin.sui.protocol.metrics.RpcMetrics;
+import okhttp3.*;
+import okio.*;
+import org.brotli.dec.BrotliInputStream;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/8 10:35
+ * @Description : Negotiates the content coding with the endpoint and decodes the response while it is
+ * streamed to the deserializer, the body is never buffered. Setting Accept-Encoding turns off the
+ * transparent gzip of OkHttp, which hides the wire size, so both codings are decoded here and the
+ * compressed and decoded sizes are reported to the {@link RpcMetrics} of the {@link CallTag}.
+ * A null configuration leaves the exchange to OkHttp.
+ */
+public class CompressionInterceptor implements Interceptor {
+
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    private static final String GZIP = "gzip";
+
+    private static final String BROTLI = "br";
+
+    private volatile CompressionConfig config;
+
+    public CompressionInterceptor(CompressionConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        CompressionConfig config = this.config;
+        Request request = chain.request();
+        if (config == null || request.header(ACCEPT_ENCODING) != null) {
+            // Disabled, or the caller negotiates and decodes by itself
+            return chain.proceed(request);
+        }
+        CallTag tag = request.tag(CallTag.class);
+        Request.Builder builder = request.newBuilder().header(ACCEPT_ENCODING, config.acceptEncoding());
+        if (config.compressRequests()) {
+            compressBody(request, config.requestCompressionThreshold(), tag, builder);
+        }
+        return decode(chain.proceed(builder.build()), tag);
+    }
+
+    private static void compressBody(Request request, long threshold, CallTag tag, Request.Builder builder)
+            throws IOException {
+        RequestBody body = request.body();
+        if (body == null || request.header(CONTENT_ENCODING) != null) {
+            return;
+        }
+        long rawBytes = body.contentLength();
+        if (rawBytes < 0 || rawBytes < threshold) {
+            return;
+        }
+        Buffer compressed = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(compressed))) {
+            body.writeTo(sink);
+        }
+        long wireBytes = compressed.size();
+        // Fixed length body, retries and failover attempts compress the payload again
+        builder.header(CONTENT_ENCODING, GZIP)
+                .method(request.method(), RequestBody.create(compressed.readByteString(), body.contentType()));
+        if (tag != null && Metering.isEnabled(tag.metrics())) {
+            tag.metrics().recordRequestCompression(tag.method(), tag.endpoint(), rawBytes, wireBytes);
+        }
+    }
+
+    private static Response decode(Response response, CallTag tag) throws IOException {
+        String encoding = response.header(CONTENT_ENCODING);
+        ResponseBody body = response.body();
+        if (encoding == null || body == null) {
+            return response;
+        }
+        encoding = encoding.trim().toLowerCase(Locale.ROOT);
+        CountingSource wire = new CountingSource(body.source());
+        Source decoded;
+        switch (encoding) {
+            case GZIP -> decoded = new GzipSource(wire);
+            case BROTLI -> decoded = Okio.source(new BrotliInputStream(Okio.buffer(wire).inputStream()));
+            default -> {
+                // identity or a coding we did not offer, hand it over untouched
+                return response;
+            }
+        }
+        Source source = tag != null && Metering.isEnabled(tag.metrics())
+                ? new ReportingSource(decoded, wire, tag, encoding)
+                : decoded;
+        return response.newBuilder()
+                .removeHeader(CONTENT_ENCODING)
+                .removeHeader("Content-Length")
+                .body(ResponseBody.create(Okio.buffer(source), body.contentType(), -1))
+                .build();
+    }
+
+    public CompressionConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Change the negotiated coding, applies to the following calls. Null leaves the exchange to OkHttp.
+     * @param config
+     */
+    public void setConfig(CompressionConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Counts the compressed bytes read from the connection.
+     */
+    private static final class CountingSource extends ForwardingSource {
+
+        private long count;
+
+        CountingSource(Source delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long n = super.read(sink, byteCount);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Counts the decoded bytes and reports both sizes once on close.
+     */
+    private static final class ReportingSource extends ForwardingSource {
+
+        private final CountingSource wire;
+        private final CallTag tag;
+        private final String encoding;
+        private long count;
+        private boolean closed;
+
+        ReportingSource(Source delegate, CountingSource wire, CallTag tag, String encoding) {
+            super(delegate);
+            this.wire = wire;
+            this.tag = tag;
+            this.encoding = encoding;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long n = super.read(sink, byteCount);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                tag.metrics().recordResponseCompression(tag.method(), tag.endpoint(), encoding, wire.count, count);
+            }
+            super.close();
+        }
+    }
+}
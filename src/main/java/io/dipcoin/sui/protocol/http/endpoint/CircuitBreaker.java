@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/21 16:12
+ * @Description : Per endpoint circuit breaker (closed, open, half-open)
+ */
+public class CircuitBreaker {
+
+    private volatile CircuitBreakerConfig config;
+
+    // Read without locking on the hot path, written under the lock
+    private volatile CircuitState state = CircuitState.CLOSED;
+    private volatile int consecutiveFailures;
+
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(CircuitBreakerConfig config) {
+        this.config = config;
+    }
+
+    public CircuitBreaker() {
+        this(CircuitBreakerConfig.defaults());
+    }
+
+    /**
+     * Whether a request may be sent now. In half-open state only one trial request is let through.
+     * @return
+     */
+    public boolean tryAcquire() {
+        if (state == CircuitState.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (System.nanoTime() - openedAt < config.openDuration().toNanos()) {
+                        return false;
+                    }
+                    state = CircuitState.HALF_OPEN;
+                    trialInFlight = true;
+                    return true;
+                default:
+                    if (trialInFlight) {
+                        return false;
+                    }
+                    trialInFlight = true;
+                    return true;
+            }
+        }
+    }
+
+    public void onSuccess() {
+        if (state == CircuitState.CLOSED && consecutiveFailures == 0) {
+            return;
+        }
+        synchronized (this) {
+            state = CircuitState.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Give back a half-open trial slot that was acquired but not used for a request.
+     */
+    public synchronized void releaseTrial() {
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state != CircuitState.CLOSED || consecutiveFailures >= config.failureThreshold()) {
+            // Trips a closed breaker, re-arms the open period otherwise
+            state = CircuitState.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    public CircuitState getState() {
+        return state;
+    }
+
+    public void setConfig(CircuitBreakerConfig config) {
+        this.config = config;
+    }
+
+    public CircuitBreakerConfig getConfig() {
+        return config;
+    }
+}
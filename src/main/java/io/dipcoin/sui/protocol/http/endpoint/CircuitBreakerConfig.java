@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import java.time.Duration;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/21 16:08
+ * @Description : Circuit breaker configuration
+ */
+public record CircuitBreakerConfig(int failureThreshold, Duration openDuration) {
+    public CircuitBreakerConfig {
+        // Parameter validation
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1");
+        }
+        if (openDuration == null || openDuration.isNegative()) {
+            throw new IllegalArgumentException("openDuration must not be negative");
+        }
+    }
+
+    /**
+     * Default configuration: open after 3 consecutive failures, stay open for 30 seconds
+     * @return
+     */
+    public static CircuitBreakerConfig defaults() {
+        return new CircuitBreakerConfig(3, Duration.ofSeconds(30));
+    }
+}
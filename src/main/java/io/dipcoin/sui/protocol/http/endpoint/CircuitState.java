@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/21 16:05
+ * @Description : Circuit breaker state
+ */
+public enum CircuitState {
+
+    /**
+     * Healthy, requests flow.
+     */
+    CLOSED,
+
+    /**
+     * Known to be down, requests skip the endpoint.
+     */
+    OPEN,
+
+    /**
+     * Open period elapsed, a single trial request decides whether to close again.
+     */
+    HALF_OPEN
+
+}
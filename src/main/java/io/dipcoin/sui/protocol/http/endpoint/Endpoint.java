@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/21 10:15
+ * @Description : RPC endpoint with its live latency and in-flight statistics
+ */
+public class Endpoint {
+
+    // Weight of the newest sample in the latency moving average
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final String url;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+
+    // Client-side rate limit of this endpoint, null when unlimited
+    private volatile RateLimiter rateLimiter;
+
+    // Double bits of the latency moving average in milliseconds, 0 until the first sample
+    private final AtomicLong ewmaLatencyBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+
+    // Highest checkpoint this endpoint is known to have executed, -1 until observed
+    private final AtomicLong checkpoint = new AtomicLong(-1);
+
+    public Endpoint(String url, CircuitBreaker circuitBreaker) {
+        this.url = url;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public Endpoint(String url) {
+        this(url, new CircuitBreaker());
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Whether the circuit breaker lets a request through, endpoints known to be down are skipped.
+     * @return
+     */
+    public boolean tryAcquire() {
+        return circuitBreaker.tryAcquire();
+    }
+
+    /**
+     * Mark a request as started on this endpoint.
+     *
+     * @return start time in nanoseconds, to be passed back to onSuccess
+     */
+    public long onStart() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Mark a request as answered, the latency is measured up to the response headers.
+     *
+     * @param startNanos value returned by onStart
+     * @return latency of the request in nanoseconds
+     */
+    public long onSuccess(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        inFlight.decrementAndGet();
+        successCount.incrementAndGet();
+        circuitBreaker.onSuccess();
+        double sample = elapsed / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        long current;
+        long next;
+        do {
+            current = ewmaLatencyBits.get();
+            double ewma = Double.longBitsToDouble(current);
+            next = Double.doubleToRawLongBits(ewma == 0.0 ? sample : ewma + EWMA_ALPHA * (sample - ewma));
+        } while (!ewmaLatencyBits.compareAndSet(current, next));
+        return elapsed;
+    }
+
+    /**
+     * Mark a request as failed.
+     */
+    public void onFailure() {
+        inFlight.decrementAndGet();
+        failureCount.incrementAndGet();
+        circuitBreaker.onFailure();
+    }
+
+    /**
+     * Mark a request as rejected by the node rate limit (HTTP 429), the endpoint itself is healthy.
+     */
+    public void onThrottled() {
+        inFlight.decrementAndGet();
+        throttledCount.incrementAndGet();
+        circuitBreaker.releaseTrial();
+    }
+
+    /**
+     * Mark a request as abandoned by the caller, e.g. the losing call of a hedged pair.
+     * Says nothing about the endpoint health, it only gives back the in-flight slot and a half-open trial.
+     */
+    public void onCancelled() {
+        inFlight.decrementAndGet();
+        circuitBreaker.releaseTrial();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Record a checkpoint the endpoint has executed, the known checkpoint never goes back.
+     *
+     * @param sequenceNumber checkpoint sequence number
+     */
+    public void observeCheckpoint(long sequenceNumber) {
+        checkpoint.accumulateAndGet(sequenceNumber, Math::max);
+    }
+
+    /**
+     * Highest checkpoint this endpoint is known to have executed.
+     *
+     * @return checkpoint sequence number, -1 if unknown
+     */
+    public long getCheckpoint() {
+        return checkpoint.get();
+    }
+
+    public double getEwmaLatencyMillis() {
+        return Double.longBitsToDouble(ewmaLatencyBits.get());
+    }
+
+    public EndpointStats getStats() {
+        return new EndpointStats(
+                url,
+                inFlight.get(),
+                getEwmaLatencyMillis(),
+                successCount.get(),
+                failureCount.get(),
+                throttledCount.get(),
+                circuitBreaker.getState(),
+                rateLimiter == null ? 0 : rateLimiter.getQueueDepth(),
+                checkpoint.get()
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "Endpoint{" +
+                "url='" + url + '\'' +
+                '}';
+    }
+}
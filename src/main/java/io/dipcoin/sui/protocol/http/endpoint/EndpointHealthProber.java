@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/21 16:30
+ * @Description : Background health probing, feeds probe results into the endpoint circuit breakers
+ */
+@Slf4j
+public class EndpointHealthProber implements AutoCloseable {
+
+    private final List<Endpoint> endpoints;
+    private final Predicate<Endpoint> probe;
+    private final ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> future;
+
+    /**
+     * @param endpoints endpoints to probe
+     * @param probe returns true if the endpoint answered the probe correctly
+     */
+    public EndpointHealthProber(List<Endpoint> endpoints, Predicate<Endpoint> probe) {
+        this.endpoints = endpoints;
+        this.probe = probe;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+    }
+
+    /**
+     * Start probing, restarts with the new interval if already running.
+     */
+    public synchronized void start(long intervalMs) {
+        if (future != null) {
+            future.cancel(false);
+        }
+        future = scheduler.scheduleWithFixedDelay(this::probeAll, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.debug("Started endpoint health probe with interval {}ms", intervalMs);
+    }
+
+    /**
+     * Probe every endpoint once.
+     */
+    public void probeAll() {
+        for (Endpoint endpoint : endpoints) {
+            boolean healthy;
+            try {
+                healthy = probe.test(endpoint);
+            } catch (Exception e) {
+                healthy = false;
+            }
+            CircuitState before = endpoint.getCircuitBreaker().getState();
+            if (healthy) {
+                endpoint.getCircuitBreaker().onSuccess();
+            } else {
+                endpoint.getCircuitBreaker().onFailure();
+            }
+            CircuitState after = endpoint.getCircuitBreaker().getState();
+            if (before != after) {
+                log.info("Endpoint {} circuit {} -> {}", endpoint.getUrl(), before, after);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (future != null) {
+            future.cancel(false);
+        }
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import java.util.List;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/21 10:26
+ * @Description : Endpoint selection strategy
+ */
+public interface EndpointSelector {
+
+    /**
+     * Order the endpoints for one request, the first one is tried first and the rest are used for failover.
+     *
+     * @param endpoints all configured endpoints, never empty
+     * @return endpoints in attempt order
+     */
+    List<Endpoint> select(List<Endpoint> endpoints);
+
+    /**
+     * Always try endpoints in the configured order.
+     * @return
+     */
+    static EndpointSelector ordered() {
+        return endpoints -> endpoints;
+    }
+
+    /**
+     * Rotate the first endpoint on every request.
+     * @return
+     */
+    static EndpointSelector roundRobin() {
+        return new RoundRobinSelector();
+    }
+
+    /**
+     * Pick two random endpoints and prefer the one with the lower latency moving average weighted by its load.
+     * @return
+     */
+    static EndpointSelector powerOfTwoChoices() {
+        return new PowerOfTwoChoicesSelector();
+    }
+
+    /**
+     * Prefer the endpoint with the fewest requests in flight.
+     * @return
+     */
+    static EndpointSelector leastOutstanding() {
+        return new LeastOutstandingSelector();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import io.dipcoin.sui.util.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/22 14:05
+ * @Description : Hedged request policy, a second copy of a read is sent once the first one is slower
+ * than the given latency percentile of recent requests
+ */
+public class HedgePolicy {
+
+    // Recompute the delay every RECOMPUTE_SAMPLES samples, start a fresh window after WINDOW_SAMPLES samples
+    private static final long RECOMPUTE_SAMPLES = 64;
+    private static final long WINDOW_SAMPLES = 4096;
+
+    private final double percentile;
+    private final long minDelayMicros;
+
+    private final LatencyHistogram window = new LatencyHistogram();
+    private final AtomicLong samples = new AtomicLong();
+    private final LongAdder hedgedCount = new LongAdder();
+    private volatile long delayMicros;
+
+    /**
+     * @param percentile latency percentile after which the hedge is sent, e.g. 95
+     * @param minDelay lower bound of the hedge delay
+     * @param initialDelay delay used until enough latency samples have been recorded
+     */
+    public HedgePolicy(double percentile, Duration minDelay, Duration initialDelay) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        this.percentile = percentile;
+        this.minDelayMicros = TimeUnit.NANOSECONDS.toMicros(minDelay.toNanos());
+        this.delayMicros = Math.max(minDelayMicros, TimeUnit.NANOSECONDS.toMicros(initialDelay.toNanos()));
+    }
+
+    /**
+     * Default policy: hedge after the p95 latency, at least 5ms, 100ms until the first samples are in
+     * @return
+     */
+    public static HedgePolicy defaults() {
+        return new HedgePolicy(95.0, Duration.ofMillis(5), Duration.ofMillis(100));
+    }
+
+    /**
+     * Record the latency of a successful request.
+     *
+     * @param latencyNanos latency in nanoseconds
+     */
+    public void record(long latencyNanos) {
+        window.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        long count = samples.incrementAndGet();
+        if (count % RECOMPUTE_SAMPLES == 0) {
+            delayMicros = Math.max(minDelayMicros, window.getValueAtPercentile(percentile));
+        }
+        if (count % WINDOW_SAMPLES == 0) {
+            window.reset();
+        }
+    }
+
+    public long getDelayMicros() {
+        return delayMicros;
+    }
+
+    public void onHedged() {
+        hedgedCount.increment();
+    }
+
+    /**
+     * Number of requests for which a hedge was sent.
+     * @return
+     */
+    public long getHedgedCount() {
+        return hedgedCount.sum();
+    }
+}
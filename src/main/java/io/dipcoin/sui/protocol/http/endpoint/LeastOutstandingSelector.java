@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/21 10:40
+ * @Description : Least-outstanding-requests endpoint selection
+ */
+public class LeastOutstandingSelector implements EndpointSelector {
+
+    @Override
+    public List<Endpoint> select(List<Endpoint> endpoints) {
+        List<Endpoint> ordered = new ArrayList<>(endpoints);
+        // Stable sort, ties keep the configured order
+        ordered.sort(Comparator.comparingInt(Endpoint::getInFlight));
+        return ordered;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/21 10:48
+ * @Description : Power-of-two-choices endpoint selection on latency moving average
+ */
+public class PowerOfTwoChoicesSelector implements EndpointSelector {
+
+    @Override
+    public List<Endpoint> select(List<Endpoint> endpoints) {
+        int size = endpoints.size();
+        if (size == 1) {
+            return endpoints;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        int chosen = cost(endpoints.get(first)) <= cost(endpoints.get(second)) ? first : second;
+
+        List<Endpoint> ordered = new ArrayList<>(size);
+        ordered.add(endpoints.get(chosen));
+        for (int i = 0; i < size; i++) {
+            if (i != chosen) {
+                ordered.add(endpoints.get(i));
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Expected wait on the endpoint, an endpoint without samples yet costs nothing so that it gets probed.
+     */
+    private static double cost(Endpoint endpoint) {
+        return endpoint.getEwmaLatencyMillis() * (endpoint.getInFlight() + 1);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import io.dipcoin.sui.model.BatchEnvelope;
+import io.dipcoin.sui.model.Request;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/23 15:02
+ * @Description : Token bucket rate limit configuration
+ */
+public record RateLimitConfig(double permitsPerSecond, int burst, int maxQueued, Duration maxWait,
+                              Map<String, Integer> methodWeights) {
+    public RateLimitConfig {
+        // Parameter validation
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1");
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("maxQueued must not be negative");
+        }
+        maxWait = maxWait == null ? Duration.ZERO : maxWait;
+        methodWeights = methodWeights == null ? Map.of() : Map.copyOf(methodWeights);
+    }
+
+    /**
+     * Default configuration for a quota: burst of one second of permits, at most 1000 queued requests
+     * waiting at most 5 seconds, every method weighs 1
+     * @param permitsPerSecond
+     * @return
+     */
+    public static RateLimitConfig of(double permitsPerSecond) {
+        return new RateLimitConfig(permitsPerSecond, Math.max(1, (int) permitsPerSecond), 1000,
+                Duration.ofSeconds(5), Map.of());
+    }
+
+    public RateLimitConfig withMethodWeights(Map<String, Integer> methodWeights) {
+        return new RateLimitConfig(permitsPerSecond, burst, maxQueued, maxWait, methodWeights);
+    }
+
+    /**
+     * Number of permits a call of the method takes.
+     * @param method
+     * @return
+     */
+    public int weightOf(String method) {
+        return method == null ? 1 : methodWeights.getOrDefault(method, 1);
+    }
+
+    /**
+     * Number of permits the request takes, a batch takes the sum of its entries.
+     * @param request request, null for a payload of unknown content
+     * @return
+     */
+    public int weightOf(Request<?, ?> request) {
+        if (request instanceof BatchEnvelope batch) {
+            int weight = 0;
+            for (Request<?, ?> entry : batch.getRequests()) {
+                weight += weightOf(entry.getMethod());
+            }
+            return Math.max(1, weight);
+        }
+        return weightOf(request == null ? null : request.getMethod());
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import io.dipcoin.sui.protocol.exceptions.RateLimitRejectedException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/23 15:10
+ * @Description : Token bucket rate limiter with a bounded wait queue. Callers reserve permits and wait for
+ * their turn, a caller that would exceed the queue bound or the maximum wait is rejected immediately.
+ */
+public class RateLimiter {
+
+    private final RateLimitConfig config;
+    private final double intervalNanos;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    // Guarded by this
+    private double storedPermits;
+    private long nextFreeNanos;
+
+    public RateLimiter(RateLimitConfig config) {
+        this.config = config;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.permitsPerSecond();
+        this.storedPermits = config.burst();
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    public RateLimitConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Take permits, blocking until they are available.
+     *
+     * @param weight number of permits
+     * @throws RateLimitRejectedException if the wait queue is full or the wait would be too long
+     */
+    public void acquire(int weight) {
+        long wait = reserve(weight);
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RateLimitRejectedException("Interrupted while waiting for a rate limit permit", null);
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Take permits without blocking.
+     *
+     * @param weight number of permits
+     * @return CompletableFuture completed once the permits are available, or failed with
+     *     RateLimitRejectedException if the wait queue is full or the wait would be too long
+     */
+    public CompletableFuture<Void> acquireAsync(int weight) {
+        long wait;
+        try {
+            wait = reserve(weight);
+        } catch (RateLimitRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (wait == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(queued::decrementAndGet,
+                CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Stop handing out permits for the given duration, used when the node answers 429 with Retry-After.
+     *
+     * @param duration pause duration
+     */
+    public synchronized void pause(Duration duration) {
+        long until = System.nanoTime() + duration.toNanos();
+        storedPermits = 0;
+        nextFreeNanos = Math.max(nextFreeNanos, until);
+    }
+
+    /**
+     * Number of callers waiting for permits.
+     * @return
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Reserve permits and return how long the caller has to wait for them.
+     */
+    private synchronized long reserve(int weight) {
+        long now = System.nanoTime();
+        if (now > nextFreeNanos) {
+            storedPermits = Math.min(config.burst(), storedPermits + (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+        long wait = nextFreeNanos - now;
+        if (wait > 0 && (wait > config.maxWait().toNanos() || queued.get() >= config.maxQueued())) {
+            rejectedCount.increment();
+            throw new RateLimitRejectedException("Rate limit queue is full, queued: " + queued.get()
+                    + ", wait: " + TimeUnit.NANOSECONDS.toMillis(wait) + "ms", Duration.ofNanos(wait));
+        }
+        double fromStored = Math.min(weight, storedPermits);
+        storedPermits -= fromStored;
+        nextFreeNanos += (long) ((weight - fromStored) * intervalNanos);
+        if (wait > 0) {
+            queued.incrementAndGet();
+        }
+        return wait;
+    }
+
+    /**
+     * Parse a Retry-After header, either delay-seconds or an HTTP date.
+     *
+     * @param value header value, may be null
+     * @return the delay, null if absent or unparseable
+     */
+    public static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException ignored) {
+            // Not delay-seconds, try HTTP date
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(date.getZone()), date);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
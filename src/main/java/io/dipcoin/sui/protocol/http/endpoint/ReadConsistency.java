@@ -0,0 +1,291 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/3 10:20
+ * @Description : Read-your-writes routing across endpoints. Every transaction executed through the service
+ * leaves a write fence: until it expires, reads prefer the endpoint that executed the transaction, or any
+ * endpoint known to have reached the checkpoint of the transaction when that checkpoint is known. Endpoint
+ * checkpoints come from the health probe and from sui_getLatestCheckpointSequenceNumber responses.
+ * Lagging endpoints stay in the candidate list after the caught-up ones, so reads still fail over.
+ */
+public class ReadConsistency {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Checkpoint of an error response
+    private static final long ERROR = Long.MIN_VALUE;
+
+    private final long pinWindowNanos;
+
+    private final int maxFences;
+
+    private final ConcurrentLinkedDeque<WriteFence> fences = new ConcurrentLinkedDeque<>();
+
+    private final AtomicInteger fenceCount = new AtomicInteger();
+
+    // Statistical information.
+    private final LongAdder fencedWrites = new LongAdder();
+    private final LongAdder reroutedReads = new LongAdder();
+
+    /**
+     * @param pinWindow how long reads follow a write, covers the checkpoint sync lag between endpoints
+     * @param maxFences recent writes tracked at once, the oldest fence is dropped beyond it
+     */
+    public ReadConsistency(Duration pinWindow, int maxFences) {
+        if (pinWindow.isNegative() || pinWindow.isZero()) {
+            throw new IllegalArgumentException("pinWindow must be > 0");
+        }
+        if (maxFences <= 0) {
+            throw new IllegalArgumentException("maxFences must be > 0");
+        }
+        this.pinWindowNanos = pinWindow.toNanos();
+        this.maxFences = maxFences;
+    }
+
+    /**
+     * Default: reads follow a write for 5s, up to 256 recent writes
+     * @return
+     */
+    public static ReadConsistency defaults() {
+        return new ReadConsistency(Duration.ofSeconds(5), 256);
+    }
+
+    /**
+     * Order the candidates of a read, endpoints satisfying every active fence first. The order of the
+     * selector is kept among endpoints satisfying the same number of fences.
+     *
+     * @param candidates endpoints chosen by the selector
+     * @return the candidates, reordered if some of them lag behind our writes
+     */
+    public List<Endpoint> order(List<Endpoint> candidates) {
+        long now = System.nanoTime();
+        expire(now);
+        if (fences.isEmpty() || candidates.size() < 2) {
+            return candidates;
+        }
+        int[] lagging = new int[candidates.size()];
+        boolean anyLagging = false;
+        for (WriteFence fence : fences) {
+            if (fence.expiresAtNanos - now <= 0) {
+                continue;
+            }
+            for (int i = 0; i < lagging.length; i++) {
+                if (!fence.isSatisfiedBy(candidates.get(i))) {
+                    lagging[i]++;
+                    anyLagging = true;
+                }
+            }
+        }
+        if (!anyLagging) {
+            return candidates;
+        }
+        List<Integer> indexes = new ArrayList<>(lagging.length);
+        for (int i = 0; i < lagging.length; i++) {
+            indexes.add(i);
+        }
+        // Stable sort, ties keep the selector order
+        indexes.sort(Comparator.comparingInt(i -> lagging[i]));
+        List<Endpoint> ordered = new ArrayList<>(candidates.size());
+        for (int index : indexes) {
+            ordered.add(candidates.get(index));
+        }
+        if (ordered.getFirst() != candidates.getFirst()) {
+            reroutedReads.increment();
+        }
+        return ordered;
+    }
+
+    /**
+     * Record a transaction executed by the endpoint.
+     *
+     * @param endpoint endpoint that executed the transaction
+     * @param checkpoint checkpoint containing the transaction, -1 if not known yet
+     */
+    public void onWrite(Endpoint endpoint, long checkpoint) {
+        fencedWrites.increment();
+        addFence(new WriteFence(endpoint, checkpoint, System.nanoTime() + pinWindowNanos));
+    }
+
+    /**
+     * Require reads to go to endpoints that reached the checkpoint, e.g. once the checkpoint of a write
+     * executed elsewhere becomes known.
+     *
+     * @param checkpoint checkpoint sequence number
+     */
+    public void requireCheckpoint(long checkpoint) {
+        addFence(new WriteFence(null, checkpoint, System.nanoTime() + pinWindowNanos));
+    }
+
+    /**
+     * Learn from a successful response. Checkpoint numbers and executed transactions are read from the
+     * small responses that carry them, which are buffered for that, any other response is returned as is.
+     *
+     * @param endpoint endpoint that answered
+     * @param method JSON-RPC method, null for a batch
+     * @param result response stream
+     * @return a stream with the same content
+     * @throws IOException thrown if the response could not be read
+     */
+    public InputStream observe(Endpoint endpoint, String method, InputStream result) throws IOException {
+        if (result == null || method == null) {
+            return result;
+        }
+        boolean checkpointRead = RpcMethod.GET_LATEST_CHECKPOINT_SEQUENCE_NUMBER.equals(method);
+        if (!checkpointRead && !RpcMethod.EXECUTE_TRANSACTION_BLOCK.equals(method)) {
+            return result;
+        }
+        byte[] body;
+        try (result) {
+            body = result.readAllBytes();
+        }
+        long checkpoint = findCheckpoint(body, checkpointRead);
+        if (checkpoint == ERROR) {
+            return new ByteArrayInputStream(body);
+        }
+        if (checkpoint >= 0) {
+            endpoint.observeCheckpoint(checkpoint);
+        }
+        if (!checkpointRead) {
+            onWrite(endpoint, checkpoint);
+        }
+        return new ByteArrayInputStream(body);
+    }
+
+    /**
+     * Checkpoint of a response: the result itself for a checkpoint read, result.checkpoint for an executed
+     * transaction. Nested values are skipped without being parsed into objects.
+     */
+    static long findCheckpoint(byte[] body, boolean resultIsCheckpoint) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return ERROR;
+            }
+            long checkpoint = -1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("error".equals(field) && value != JsonToken.VALUE_NULL) {
+                    return ERROR;
+                }
+                if (!"result".equals(field)) {
+                    parser.skipChildren();
+                } else if (resultIsCheckpoint) {
+                    checkpoint = parseLong(parser);
+                } else if (value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String resultField = parser.currentName();
+                        parser.nextToken();
+                        if ("checkpoint".equals(resultField)) {
+                            checkpoint = parseLong(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+            return checkpoint;
+        }
+    }
+
+    private static long parseLong(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING -> {
+                try {
+                    yield Long.parseLong(parser.getText());
+                } catch (NumberFormatException e) {
+                    yield -1;
+                }
+            }
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            default -> -1;
+        };
+    }
+
+    private void addFence(WriteFence fence) {
+        fences.addLast(fence);
+        if (fenceCount.incrementAndGet() > maxFences && fences.pollFirst() != null) {
+            fenceCount.decrementAndGet();
+        }
+    }
+
+    private void expire(long now) {
+        // Fences are appended in expiry order
+        Iterator<WriteFence> iterator = fences.iterator();
+        while (iterator.hasNext()) {
+            WriteFence fence = iterator.next();
+            if (fence.expiresAtNanos - now > 0) {
+                break;
+            }
+            if (fences.remove(fence)) {
+                fenceCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Whether reads are currently fenced by recent writes.
+     * @return
+     */
+    public boolean isActive() {
+        expire(System.nanoTime());
+        return !fences.isEmpty();
+    }
+
+    public int getActiveFences() {
+        return fenceCount.get();
+    }
+
+    /**
+     * Number of executed transactions that fenced reads.
+     * @return
+     */
+    public long getFencedWrites() {
+        return fencedWrites.sum();
+    }
+
+    /**
+     * Number of reads moved away from the endpoint chosen by the selector.
+     * @return
+     */
+    public long getReroutedReads() {
+        return reroutedReads.sum();
+    }
+
+    private record WriteFence(Endpoint endpoint, long checkpoint, long expiresAtNanos) {
+
+        boolean isSatisfiedBy(Endpoint candidate) {
+            return candidate == endpoint || (checkpoint >= 0 && candidate.getCheckpoint() >= checkpoint);
+        }
+    }
+}
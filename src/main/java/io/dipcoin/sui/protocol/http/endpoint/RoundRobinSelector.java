@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/21 10:32
+ * @Description : Round-robin endpoint selection
+ */
+public class RoundRobinSelector implements EndpointSelector {
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Override
+    public List<Endpoint> select(List<Endpoint> endpoints) {
+        int size = endpoints.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        List<Endpoint> ordered = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ordered.add(endpoints.get((start + i) % size));
+        }
+        return ordered;
+    }
+}
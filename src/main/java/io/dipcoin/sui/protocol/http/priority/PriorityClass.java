@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.priority;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/24 15:10
+ * @Description : Named priority class, every class gets its own dispatcher and connection pool
+ *
+ * @param name class name, referenced by {@link io.dipcoin.sui.model.Request#setPriority(String)}
+ * @param maxRequests maximum number of concurrent requests of the class
+ * @param maxIdleConnections idle connections kept in the pool of the class
+ */
+public record PriorityClass(String name, int maxRequests, int maxIdleConnections) {
+
+    public static final String CRITICAL_NAME = "critical";
+    public static final String INTERACTIVE_NAME = "interactive";
+    public static final String BULK_NAME = "bulk";
+
+    /**
+     * Transaction submission, must never wait behind other traffic
+     */
+    public static final PriorityClass CRITICAL = new PriorityClass(CRITICAL_NAME, 64, 8);
+
+    /**
+     * Ordinary reads
+     */
+    public static final PriorityClass INTERACTIVE = new PriorityClass(INTERACTIVE_NAME, 256, 16);
+
+    /**
+     * Pagination and backfill jobs
+     */
+    public static final PriorityClass BULK = new PriorityClass(BULK_NAME, 16, 4);
+
+    public PriorityClass {
+        // Parameter validation
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("name must not be empty");
+        }
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("maxRequests must be at least 1");
+        }
+        if (maxIdleConnections < 0) {
+            throw new IllegalArgumentException("maxIdleConnections must not be negative");
+        }
+    }
+}
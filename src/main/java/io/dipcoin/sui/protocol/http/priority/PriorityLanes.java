@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.priority;
+
+import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/24 15:25
+ * @Description : Priority lanes, one OkHttpClient per priority class derived from a base client. The
+ * clients share timeouts and interceptors of the base client but not its dispatcher or connection pool,
+ * so a saturated bulk lane cannot delay critical requests.
+ */
+public class PriorityLanes {
+
+    private static final long KEEP_ALIVE_MINUTES = 5;
+
+    private final Map<String, OkHttpClient> clients = new LinkedHashMap<>();
+
+    private final Map<String, String> methodClasses;
+
+    private final String defaultClass;
+
+    /**
+     * @param baseClient client whose configuration every lane inherits
+     * @param classes priority classes
+     * @param methodClasses priority class name of JSON-RPC methods
+     * @param defaultClass class of methods that are not mapped and of batch requests
+     */
+    public PriorityLanes(OkHttpClient baseClient, List<PriorityClass> classes,
+                         Map<String, String> methodClasses, String defaultClass) {
+        for (PriorityClass priorityClass : classes) {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(priorityClass.maxRequests());
+            dispatcher.setMaxRequestsPerHost(priorityClass.maxRequests());
+            OkHttpClient client = baseClient.newBuilder()
+                    .dispatcher(dispatcher)
+                    .connectionPool(new ConnectionPool(priorityClass.maxIdleConnections(), KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                    .build();
+            if (clients.put(priorityClass.name(), client) != null) {
+                throw new IllegalArgumentException("Duplicate priority class: " + priorityClass.name());
+            }
+        }
+        if (!clients.containsKey(defaultClass)) {
+            throw new IllegalArgumentException("Unknown default priority class: " + defaultClass);
+        }
+        for (String name : methodClasses.values()) {
+            if (!clients.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown priority class: " + name);
+            }
+        }
+        this.methodClasses = Map.copyOf(methodClasses);
+        this.defaultClass = defaultClass;
+    }
+
+    /**
+     * Critical, interactive and bulk lanes: transaction execution is critical, event queries and owned
+     * object pagination are bulk, everything else is interactive.
+     * @param baseClient
+     * @return
+     */
+    public static PriorityLanes defaults(OkHttpClient baseClient) {
+        return new PriorityLanes(baseClient,
+                List.of(PriorityClass.CRITICAL, PriorityClass.INTERACTIVE, PriorityClass.BULK),
+                defaultMethodClasses(), PriorityClass.INTERACTIVE_NAME);
+    }
+
+    public static Map<String, String> defaultMethodClasses() {
+        Map<String, String> methodClasses = new HashMap<>();
+        methodClasses.put(RpcMethod.EXECUTE_TRANSACTION_BLOCK, PriorityClass.CRITICAL_NAME);
+        methodClasses.put(RpcMethod.QUERY_EVENTS, PriorityClass.BULK_NAME);
+        methodClasses.put(RpcMethod.GET_OWNED_OBJECTS, PriorityClass.BULK_NAME);
+        return methodClasses;
+    }
+
+    /**
+     * Priority class of the request, the per request override wins over the method mapping.
+     * @param request request, null for a batch payload
+     * @return
+     * @throws IllegalArgumentException if the request asks for a priority class that is not configured
+     */
+    public String classOf(Request<?, ?> request) {
+        if (request == null || request.getMethod() == null) {
+            return defaultClass;
+        }
+        String priority = request.getPriority();
+        if (priority != null) {
+            if (!clients.containsKey(priority)) {
+                throw new IllegalArgumentException("Unknown priority class: " + priority);
+            }
+            return priority;
+        }
+        return methodClasses.getOrDefault(request.getMethod(), defaultClass);
+    }
+
+    public OkHttpClient clientFor(Request<?, ?> request) {
+        return clients.get(classOf(request));
+    }
+
+    public OkHttpClient getClient(String priorityClass) {
+        return clients.get(priorityClass);
+    }
+
+    /**
+     * Running and queued calls of every lane.
+     * @return
+     */
+    public Map<String, LaneStats> getStats() {
+        Map<String, LaneStats> stats = new LinkedHashMap<>();
+        clients.forEach((name, client) -> stats.put(name, new LaneStats(name,
+                client.dispatcher().runningCallsCount(), client.dispatcher().queuedCallsCount())));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Cancel the calls of every lane, stop its dispatcher threads and release its connections.
+     */
+    public void shutdown() {
+        for (OkHttpClient client : clients.values()) {
+            client.dispatcher().cancelAll();
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        }
+    }
+
+    public record LaneStats(String name, int running, int queued) {
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.dipcoin.sui.model.Response;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/31 09:40
+ * @Description : Untyped response wrapper, keeps the result as the JSON tree sent by the node
+ */
+public class JsonNodeWrapper extends Response<JsonNode> {
+
+    @Override
+    public void setResult(JsonNode result) {
+        super.setResult(result);
+    }
+}
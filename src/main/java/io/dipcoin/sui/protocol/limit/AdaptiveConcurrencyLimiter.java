@@ -0,0 +1,255 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.limit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.dipcoin.sui.protocol.exceptions.ClientConnectionException;
+import io.dipcoin.sui.protocol.exceptions.ConcurrencyLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/25 10:30
+ * @Description : Adaptive concurrency limiter using the gradient of the minimum RTT over the measured RTT.
+ * While latency stays close to the minimum the limit grows by about sqrt(limit) per sample, when latency
+ * rises above the tolerance the limit shrinks proportionally, and transport failures cut it by the backoff
+ * ratio. Requests over the limit wait in a bounded queue or are rejected immediately.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimitConfig config;
+
+    // Guarded by this
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private double estimatedLimit;
+    private int inFlight;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long samples;
+
+    // Statistical information.
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitConfig config) {
+        this.config = config;
+        this.estimatedLimit = config.initialLimit();
+    }
+
+    public static AdaptiveConcurrencyLimiter defaults() {
+        return new AdaptiveConcurrencyLimiter(ConcurrencyLimitConfig.defaults());
+    }
+
+    /**
+     * Block until a permit is available.
+     * @return start time to pass to {@link #release(long, Throwable)}
+     * @throws IOException if interrupted while waiting
+     */
+    public long acquire() throws IOException {
+        CompletableFuture<Void> permit = acquireAsync();
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            if (!permit.cancel(false) && !permit.isCompletedExceptionally()) {
+                releaseUnused();
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a concurrency permit");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e.getCause());
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Acquire a permit without blocking, the future fails with {@link ConcurrencyLimitExceededException}
+     * when the queue is full or the wait exceeds the configured maximum.
+     * @return future completed once the permit is held
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        CompletableFuture<Void> waiter;
+        synchronized (this) {
+            if (waiters.isEmpty() && inFlight < getLimit()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (waiters.size() >= config.maxQueued()) {
+                rejectedCount.increment();
+                return CompletableFuture.failedFuture(new ConcurrencyLimitExceededException(
+                        "Concurrency limit " + getLimit() + " reached and " + waiters.size() + " requests queued"));
+            }
+            waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+        }
+        CompletableFuture<Void> timed = waiter.orTimeout(config.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+        CompletableFuture<Void> result = timed.exceptionallyCompose(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+                synchronized (this) {
+                    waiters.remove(waiter);
+                }
+                rejectedCount.increment();
+                return CompletableFuture.failedFuture(new ConcurrencyLimitExceededException(
+                        "Timed out after " + config.maxWait().toMillis() + "ms waiting for a concurrency permit"));
+            }
+            return CompletableFuture.failedFuture(cause);
+        });
+        result.whenComplete((ignored, e) -> {
+            // Caller gave up, withdraw from the queue or hand back a permit granted meanwhile
+            if (result.isCancelled() && !waiter.cancel(false) && !waiter.isCompletedExceptionally()) {
+                releaseUnused();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Release a permit and feed the outcome of the request into the limit.
+     * @param startNanos start time of the request
+     * @param error failure of the request, null on success
+     */
+    public void release(long startNanos, Throwable error) {
+        long rtt = System.nanoTime() - startNanos;
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            if (isDrop(error)) {
+                droppedCount.increment();
+                update(estimatedLimit * config.backoffRatio());
+            } else if (error == null) {
+                onSample(rtt);
+            }
+            inFlight--;
+            granted = grant();
+        }
+        completeGranted(granted);
+    }
+
+    private void releaseUnused() {
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            inFlight--;
+            granted = grant();
+        }
+        completeGranted(granted);
+    }
+
+    private void onSample(long rtt) {
+        if (++samples % config.minRttProbeInterval() == 0) {
+            // Forget the old minimum so that the limiter follows a node whose baseline latency changed
+            minRttNanos = rtt;
+        }
+        minRttNanos = Math.min(minRttNanos, rtt);
+        double gradient = Math.max(0.5, Math.min(1.0, config.rttTolerance() * minRttNanos / Math.max(rtt, 1)));
+        if (gradient >= 1.0 && inFlight * 2 < estimatedLimit) {
+            // Not using the limit, a low latency says nothing about a higher one
+            return;
+        }
+        update(estimatedLimit * gradient + Math.sqrt(estimatedLimit));
+    }
+
+    private void update(double newLimit) {
+        int before = getLimit();
+        double smoothed = estimatedLimit * (1 - config.smoothing()) + newLimit * config.smoothing();
+        estimatedLimit = Math.max(config.minLimit(), Math.min(config.maxLimit(), smoothed));
+        if (getLimit() != before) {
+            log.debug("Concurrency limit {} -> {}, min rtt {}us", before, getLimit(),
+                    TimeUnit.NANOSECONDS.toMicros(minRttNanos));
+        }
+    }
+
+    /**
+     * Hand free permits to the waiters, completed outside the lock because completion runs the request.
+     */
+    private List<CompletableFuture<Void>> grant() {
+        List<CompletableFuture<Void>> granted = null;
+        while (inFlight < getLimit() && !waiters.isEmpty()) {
+            if (granted == null) {
+                granted = new ArrayList<>();
+            }
+            granted.add(waiters.poll());
+            inFlight++;
+        }
+        return granted;
+    }
+
+    private void completeGranted(List<CompletableFuture<Void>> granted) {
+        if (granted == null) {
+            return;
+        }
+        for (CompletableFuture<Void> waiter : granted) {
+            if (!waiter.complete(null)) {
+                // Timed out or cancelled meanwhile, give the permit back
+                releaseUnused();
+            }
+        }
+    }
+
+    /**
+     * Transport failures and timeouts signal overload, JSON-RPC errors and decoding failures do not.
+     */
+    private static boolean isDrop(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause == null || cause instanceof JsonProcessingException) {
+            return false;
+        }
+        return cause instanceof IOException || cause instanceof ClientConnectionException;
+    }
+
+    public synchronized int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueDepth() {
+        return waiters.size();
+    }
+
+    /**
+     * Minimum RTT of the current probe window in microseconds, -1 before the first sample.
+     * @return
+     */
+    public synchronized long getMinRttMicros() {
+        return minRttNanos == Long.MAX_VALUE ? -1 : TimeUnit.NANOSECONDS.toMicros(minRttNanos);
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public ConcurrencyLimitConfig getConfig() {
+        return config;
+    }
+}
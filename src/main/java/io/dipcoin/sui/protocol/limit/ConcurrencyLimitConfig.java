@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.limit;
+
+import java.time.Duration;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/25 10:10
+ * @Description : Adaptive concurrency limit configuration
+ *
+ * @param initialLimit limit before any latency was measured
+ * @param minLimit lower bound of the limit
+ * @param maxLimit upper bound of the limit
+ * @param smoothing weight of a new estimate, between 0 and 1
+ * @param rttTolerance latency increase over the minimum RTT tolerated before the limit shrinks
+ * @param backoffRatio factor applied to the limit when a request fails with a transport error
+ * @param minRttProbeInterval samples after which the minimum RTT is measured again, so it follows the node
+ * @param maxQueued requests allowed to wait for a permit, further requests are rejected immediately
+ * @param maxWait time a request may wait for a permit
+ */
+public record ConcurrencyLimitConfig(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                                     double rttTolerance, double backoffRatio, int minRttProbeInterval,
+                                     int maxQueued, Duration maxWait) {
+    public ConcurrencyLimitConfig {
+        // Parameter validation
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("smoothing must be between 0 and 1");
+        }
+        if (rttTolerance < 1.0) {
+            throw new IllegalArgumentException("rttTolerance must be at least 1");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        if (minRttProbeInterval < 1 || maxQueued < 0) {
+            throw new IllegalArgumentException("minRttProbeInterval must be positive and maxQueued not negative");
+        }
+    }
+
+    /**
+     * Default configuration: limit 20 within [4, 512], 20% smoothing, 1.5x RTT tolerance, 0.9 backoff,
+     * minimum RTT reset every 1000 samples, 1000 queued requests waiting up to 1 second
+     * @return
+     */
+    public static ConcurrencyLimitConfig defaults() {
+        return new ConcurrencyLimitConfig(20, 4, 512, 0.2, 1.5, 0.9, 1000, 1000, Duration.ofSeconds(1));
+    }
+}
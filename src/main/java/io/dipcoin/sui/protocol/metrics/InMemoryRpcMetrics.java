@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.metrics;
+
+import io.dipcoin.sui.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/26 10:55
+ * @Description : In-memory metrics, lock-free and allocation free once a method and endpoint were seen.
+ * {@link #snapshot()} copies the current values, {@link #reset()} starts over.
+ */
+public class InMemoryRpcMetrics implements RpcMetrics {
+
+    private static final String BATCH = "batch";
+
+    private final ConcurrentHashMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordSerialization(String method, long nanos, long bytes) {
+        MethodMetrics metrics = method(method);
+        metrics.requests.increment();
+        metrics.bytesSent.add(bytes);
+        metrics.serialization.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    @Override
+    public void recordExchange(String method, String endpoint, long nanos, long bytesSent, String errorCode) {
+        EndpointMetrics metrics = method(method).endpoint(endpoint);
+        metrics.exchanges.increment();
+        metrics.bytesSent.add(bytesSent);
+        metrics.network.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        if (errorCode != null) {
+            increment(metrics.errors, errorCode);
+        }
+    }
+
+    @Override
+    public void recordBytesReceived(String method, String endpoint, long bytes) {
+        method(method).endpoint(endpoint).bytesReceived.add(bytes);
+    }
+
+    @Override
+    public void recordResponseCompression(String method, String endpoint, String encoding, long wireBytes,
+                                          long decodedBytes) {
+        EndpointMetrics metrics = method(method).endpoint(endpoint);
+        metrics.compressedResponses.increment();
+        metrics.responseBytesSaved.add(decodedBytes - wireBytes);
+    }
+
+    @Override
+    public void recordRequestCompression(String method, String endpoint, long rawBytes, long wireBytes) {
+        method(method).endpoint(endpoint).requestBytesSaved.add(rawBytes - wireBytes);
+    }
+
+    @Override
+    public void recordDeserialization(String method, long nanos) {
+        method(method).deserialization.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    @Override
+    public void recordError(String method, String errorCode) {
+        increment(method(method).errors, errorCode);
+    }
+
+    @Override
+    public void recordRetry(String method) {
+        method(method).retries.increment();
+    }
+
+    public MetricsSnapshot snapshot() {
+        List<MetricsSnapshot.MethodSnapshot> snapshots = new ArrayList<>(methods.size());
+        new TreeMap<>(methods).forEach((name, metrics) -> {
+            List<MetricsSnapshot.EndpointSnapshot> endpoints = new ArrayList<>();
+            new TreeMap<>(metrics.endpoints).forEach((url, endpoint) -> endpoints.add(new MetricsSnapshot.EndpointSnapshot(
+                    url, endpoint.exchanges.sum(), endpoint.bytesSent.sum(), endpoint.bytesReceived.sum(),
+                    endpoint.compressedResponses.sum(), endpoint.responseBytesSaved.sum(),
+                    endpoint.requestBytesSaved.sum(), MetricsSnapshot.HistogramSnapshot.of(endpoint.network), sum(endpoint.errors))));
+            snapshots.add(new MetricsSnapshot.MethodSnapshot(name, metrics.requests.sum(), metrics.retries.sum(),
+                    metrics.bytesSent.sum(), MetricsSnapshot.HistogramSnapshot.of(metrics.serialization),
+                    MetricsSnapshot.HistogramSnapshot.of(metrics.deserialization), sum(metrics.errors),
+                    List.copyOf(endpoints)));
+        });
+        return new MetricsSnapshot(List.copyOf(snapshots));
+    }
+
+    public void reset() {
+        methods.clear();
+    }
+
+    private MethodMetrics method(String method) {
+        String key = method == null ? BATCH : method;
+        // get first, computeIfAbsent may lock the bin even when the key is present
+        MethodMetrics metrics = methods.get(key);
+        return metrics != null ? metrics : methods.computeIfAbsent(key, k -> new MethodMetrics());
+    }
+
+    private static void increment(ConcurrentHashMap<String, LongAdder> counters, String key) {
+        LongAdder counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    private static Map<String, Long> sum(ConcurrentHashMap<String, LongAdder> counters) {
+        Map<String, Long> sums = new TreeMap<>();
+        counters.forEach((key, counter) -> sums.put(key, counter.sum()));
+        return sums;
+    }
+
+    private static final class MethodMetrics {
+        final LongAdder requests = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder bytesSent = new LongAdder();
+        final LatencyHistogram serialization = new LatencyHistogram();
+        final LatencyHistogram deserialization = new LatencyHistogram();
+        final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+        EndpointMetrics endpoint(String url) {
+            EndpointMetrics metrics = endpoints.get(url);
+            return metrics != null ? metrics : endpoints.computeIfAbsent(url, k -> new EndpointMetrics());
+        }
+    }
+
+    private static final class EndpointMetrics {
+        final LongAdder exchanges = new LongAdder();
+        final LongAdder bytesSent = new LongAdder();
+        final LongAdder bytesReceived = new LongAdder();
+        final LongAdder compressedResponses = new LongAdder();
+        final LongAdder responseBytesSaved = new LongAdder();
+        final LongAdder requestBytesSaved = new LongAdder();
+        final LatencyHistogram network = new LatencyHistogram();
+        final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.metrics;
+
+import io.dipcoin.sui.protocol.exceptions.ClientConnectionException;
+import io.dipcoin.sui.protocol.exceptions.ConcurrencyLimitExceededException;
+import io.dipcoin.sui.protocol.exceptions.RateLimitExceededException;
+import io.dipcoin.sui.protocol.exceptions.RateLimitRejectedException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/26 10:20
+ * @Description : Helpers shared by the services to feed {@link RpcMetrics}, all of them return immediately
+ * for {@link RpcMetrics#NOOP}
+ */
+public final class Metering {
+
+    private Metering() {}
+
+    public static boolean isEnabled(RpcMetrics metrics) {
+        return metrics != RpcMetrics.NOOP;
+    }
+
+    /**
+     * Record a successful exchange and count the bytes of the response body as they are read.
+     * @return the stream to hand to the deserializer
+     */
+    public static InputStream onSuccess(RpcMetrics metrics, String method, String endpoint, long startNanos,
+                                        long bytesSent, InputStream result) {
+        if (!isEnabled(metrics)) {
+            return result;
+        }
+        metrics.recordExchange(method, endpoint, System.nanoTime() - startNanos, bytesSent, null);
+        return result == null ? null : new CountingInputStream(result, metrics, method, endpoint);
+    }
+
+    public static void onFailure(RpcMetrics metrics, String method, String endpoint, long startNanos,
+                                 long bytesSent, Throwable error) {
+        if (isEnabled(metrics)) {
+            metrics.recordExchange(method, endpoint, System.nanoTime() - startNanos, bytesSent, errorCode(error));
+        }
+    }
+
+    /**
+     * Error code of a failed exchange: http_<status>, rate_limited, rate_limit_rejected, concurrency_limited or the exception class.
+     * @param error failure
+     * @return
+     */
+    public static String errorCode(Throwable error) {
+        if (error instanceof RateLimitExceededException) {
+            return "rate_limited";
+        }
+        if (error instanceof RateLimitRejectedException) {
+            return "rate_limit_rejected";
+        }
+        if (error instanceof ConcurrencyLimitExceededException) {
+            return "concurrency_limited";
+        }
+        if (error instanceof ClientConnectionException e && e.getStatusCode() > 0) {
+            return "http_" + e.getStatusCode();
+        }
+        return error == null ? "unknown" : error.getClass().getSimpleName();
+    }
+
+    public static String rpcErrorCode(int code) {
+        return "rpc_" + code;
+    }
+
+    /**
+     * Counts the bytes read and reports them once on close.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final RpcMetrics metrics;
+        private final String method;
+        private final String endpoint;
+        private long count;
+        private boolean closed;
+
+        CountingInputStream(InputStream in, RpcMetrics metrics, String method, String endpoint) {
+            super(in);
+            this.metrics = metrics;
+            this.method = method;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                metrics.recordBytesReceived(method, endpoint, count);
+            }
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.metrics;
+
+import io.dipcoin.sui.util.LatencyHistogram;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/26 10:40
+ * @Description : Point in time copy of {@link InMemoryRpcMetrics}
+ *
+ * @param methods metrics of every method seen
+ */
+public record MetricsSnapshot(List<MethodSnapshot> methods) {
+
+    /**
+     * @param method JSON-RPC method, "batch" for batch requests
+     * @param requests serialized requests
+     * @param retries retries of the retry policy
+     * @param bytesSent serialized payload bytes
+     * @param serialization serialization time
+     * @param deserialization deserialization time
+     * @param errors JSON-RPC error responses by code
+     * @param endpoints exchanges by endpoint
+     */
+    public record MethodSnapshot(String method, long requests, long retries, long bytesSent,
+                                 HistogramSnapshot serialization, HistogramSnapshot deserialization,
+                                 Map<String, Long> errors, List<EndpointSnapshot> endpoints) {
+    }
+
+    /**
+     * @param endpoint endpoint url
+     * @param exchanges exchanges, successful or not
+     * @param bytesSent payload bytes sent to the endpoint
+     * @param bytesReceived response bytes read from the endpoint, after decoding
+     * @param compressedResponses responses received compressed
+     * @param responseBytesSaved decoded minus compressed bytes of the compressed responses
+     * @param requestBytesSaved payload minus compressed bytes of the compressed requests
+     * @param network network time up to the response headers
+     * @param errors failed exchanges by error code
+     */
+    public record EndpointSnapshot(String endpoint, long exchanges, long bytesSent, long bytesReceived,
+                                   long compressedResponses, long responseBytesSaved, long requestBytesSaved,
+                                   HistogramSnapshot network, Map<String, Long> errors) {
+    }
+
+    /**
+     * Latencies in microseconds.
+     */
+    public record HistogramSnapshot(long count, double mean, long p50, long p90, long p99, long max) {
+
+        public static HistogramSnapshot of(LatencyHistogram histogram) {
+            return new HistogramSnapshot(histogram.getTotalCount(), histogram.getMeanMicros(),
+                    histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                    histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(100));
+        }
+    }
+}
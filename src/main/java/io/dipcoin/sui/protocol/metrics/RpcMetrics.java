@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.metrics;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/26 10:05
+ * @Description : Metrics SPI of the JSON-RPC services. Service records serialization, deserialization,
+ * JSON-RPC errors and retries per method, the HTTP transports record every exchange with an endpoint.
+ * Implementations are called on the request path and must not block. A null method is a batch request.
+ */
+public interface RpcMetrics {
+
+    /**
+     * Records nothing, the default of every service
+     */
+    RpcMetrics NOOP = new RpcMetrics() {};
+
+    /**
+     * Request serialized.
+     * @param method JSON-RPC method
+     * @param nanos serialization time
+     * @param bytes payload size in bytes
+     */
+    default void recordSerialization(String method, long nanos, long bytes) {}
+
+    /**
+     * Exchange with an endpoint finished. The time covers the request up to the response headers, the
+     * body is streamed into the deserializer.
+     * @param method JSON-RPC method
+     * @param endpoint endpoint url
+     * @param nanos network time
+     * @param bytesSent payload size in bytes
+     * @param errorCode null on success, otherwise see {@link Metering#errorCode(Throwable)}
+     */
+    default void recordExchange(String method, String endpoint, long nanos, long bytesSent, String errorCode) {}
+
+    /**
+     * Response body consumed.
+     * @param method JSON-RPC method
+     * @param endpoint endpoint url
+     * @param bytes bytes read from the response body
+     */
+    default void recordBytesReceived(String method, String endpoint, long bytes) {}
+
+    /**
+     * Compressed response body consumed, {@link #recordBytesReceived} counts the decoded bytes.
+     * @param method JSON-RPC method
+     * @param endpoint endpoint url
+     * @param encoding content coding, e.g. gzip or br
+     * @param wireBytes compressed bytes read from the connection
+     * @param decodedBytes bytes after decoding
+     */
+    default void recordResponseCompression(String method, String endpoint, String encoding, long wireBytes,
+                                           long decodedBytes) {}
+
+    /**
+     * Request body sent gzip encoded, {@link #recordExchange} counts the payload before compression.
+     * @param method JSON-RPC method
+     * @param endpoint endpoint url
+     * @param rawBytes payload size in bytes
+     * @param wireBytes compressed bytes sent
+     */
+    default void recordRequestCompression(String method, String endpoint, long rawBytes, long wireBytes) {}
+
+    /**
+     * Response deserialized, including the transfer of the streamed body.
+     * @param method JSON-RPC method
+     * @param nanos deserialization time
+     */
+    default void recordDeserialization(String method, long nanos) {}
+
+    /**
+     * JSON-RPC error response received.
+     * @param method JSON-RPC method
+     * @param errorCode error code, e.g. rpc_-32602
+     */
+    default void recordError(String method, String errorCode) {}
+
+    /**
+     * Request retried by the retry policy.
+     * @param method JSON-RPC method
+     */
+    default void recordRetry(String method) {}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/31 09:50
+ * @Description : One recorded JSON-RPC call, stored as a single JSON line with short keys
+ * @param offsetMicros start of the call relative to the start of the recording
+ * @param durationMicros time until the response was received
+ * @param method JSON-RPC method
+ * @param params JSON-RPC params array
+ * @param responseType response class requested by the caller, replayed requests deserialize into it
+ * @param result result as sent by the node, null if the node answered with an error
+ * @param error error as sent by the node, null on success
+ */
+public record RecordedCall(long offsetMicros, long durationMicros, String method, JsonNode params,
+                           String responseType, JsonNode result, JsonNode error) {
+
+    /**
+     * Replay matching key, the request id is not part of it.
+     */
+    public String key() {
+        return key(method, params);
+    }
+
+    public static String key(String method, JsonNode params) {
+        return method + '|' + (params == null || params.isNull() ? "[]" : params.toString());
+    }
+
+    /**
+     * JSON-RPC response answering the request with the given id.
+     */
+    public ObjectNode toResponse(JsonNode id) {
+        ObjectNode response = JsonNodeFactory.instance.objectNode().put("jsonrpc", "2.0");
+        response.set("id", id);
+        if (error != null) {
+            response.set("error", error);
+        } else {
+            response.set("result", result);
+        }
+        return response;
+    }
+
+    ObjectNode toJson() {
+        ObjectNode node = JsonNodeFactory.instance.objectNode()
+                .put("t", offsetMicros)
+                .put("d", durationMicros)
+                .put("m", method);
+        node.set("p", params);
+        if (responseType != null) {
+            node.put("c", responseType);
+        }
+        if (error != null) {
+            node.set("e", error);
+        } else {
+            node.set("r", result);
+        }
+        return node;
+    }
+
+    static RecordedCall fromJson(JsonNode node) {
+        return new RecordedCall(
+                node.path("t").asLong(),
+                node.path("d").asLong(),
+                node.path("m").asText(),
+                node.get("p"),
+                node.hasNonNull("c") ? node.get("c").asText() : null,
+                node.get("r"),
+                node.get("e"));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.replay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.model.Response;
+import io.dipcoin.sui.protocol.ObjectMapperFactory;
+import io.dipcoin.sui.protocol.SuiService;
+import io.dipcoin.sui.protocol.http.response.JsonNodeWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/31 10:30
+ * @Description : SuiService decorator recording every answered call with its timing, see {@link Recordings}
+ * for the file format and {@link ReplaySuiService} to serve the recording back. Results are fetched from the
+ * delegate as JSON trees so that they are recorded exactly as the node sent them, then converted into the
+ * requested response type. Calls failing below JSON-RPC (I/O errors, HTTP errors) are not recorded.
+ */
+@Slf4j
+public class RecordingSuiService implements SuiService {
+
+    private final SuiService delegate;
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    // Guarded by itself
+    private final Writer writer;
+
+    private final long startNanos = System.nanoTime();
+
+    // Statistical information.
+    private final LongAdder recordedCount = new LongAdder();
+    private final LongAdder writeErrorCount = new LongAdder();
+
+    public RecordingSuiService(SuiService delegate, Path file) throws IOException {
+        this.delegate = delegate;
+        this.writer = Recordings.newWriter(file);
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        long start = System.nanoTime();
+        JsonNodeWrapper raw = delegate.send(request, JsonNodeWrapper.class);
+        record(request, responseType, raw, start);
+        return convert(raw, responseType);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        long start = System.nanoTime();
+        return delegate.sendAsync(request, JsonNodeWrapper.class).thenApply(raw -> {
+            record(request, responseType, raw, start);
+            try {
+                return convert(raw, responseType);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public List<CompletableFuture<Response>> sendBatch(List<? extends Request<?, ?>> requests) {
+        List<Request<?, ?>> rawRequests = new ArrayList<>(requests.size());
+        for (Request<?, ?> request : requests) {
+            Request rawRequest = new Request(request.getMethod(), request.getParams(), delegate, JsonNodeWrapper.class);
+            rawRequest.setId(request.getId());
+            rawRequest.setPriority(request.getPriority());
+            rawRequests.add(rawRequest);
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Response>> rawFutures = delegate.sendBatch(rawRequests);
+        List<CompletableFuture<Response>> futures = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Request<?, ?> request = requests.get(i);
+            futures.add(rawFutures.get(i).thenApply(response -> {
+                JsonNodeWrapper raw = (JsonNodeWrapper) response;
+                record(request, request.getResponseType(), raw, start);
+                try {
+                    return convert(raw, request.getResponseType());
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }));
+        }
+        return futures;
+    }
+
+    private void record(Request<?, ?> request, Class<?> responseType, JsonNodeWrapper raw, long start) {
+        long end = System.nanoTime();
+        RecordedCall call = new RecordedCall(
+                TimeUnit.NANOSECONDS.toMicros(start - startNanos),
+                TimeUnit.NANOSECONDS.toMicros(end - start),
+                request.getMethod(),
+                objectMapper.valueToTree(request.getParams()),
+                responseType == null ? null : responseType.getName(),
+                raw.getResult(),
+                raw.hasError() ? errorNode(raw.getError()) : null);
+        try {
+            synchronized (writer) {
+                Recordings.write(writer, call);
+            }
+            recordedCount.increment();
+        } catch (IOException e) {
+            writeErrorCount.increment();
+            log.warn("Failed to record {}: {}", request.getMethod(), e.getMessage());
+        }
+    }
+
+    private JsonNode errorNode(Response.Error error) {
+        ObjectNode node = objectMapper.createObjectNode()
+                .put("code", error.getCode())
+                .put("message", error.getMessage());
+        if (error.getData() != null) {
+            try {
+                // Kept as raw JSON by the deserializer
+                node.set("data", objectMapper.readTree(error.getData()));
+            } catch (JsonProcessingException e) {
+                node.put("data", error.getData());
+            }
+        }
+        return node;
+    }
+
+    private <T extends Response> T convert(JsonNodeWrapper raw, Class<T> responseType) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode()
+                .put("jsonrpc", raw.getJsonrpc())
+                .put("id", raw.getId());
+        if (raw.hasError()) {
+            node.set("error", errorNode(raw.getError()));
+        } else {
+            node.set("result", raw.getResult());
+        }
+        return objectMapper.treeToValue(node, responseType);
+    }
+
+    public long getRecordedCount() {
+        return recordedCount.sum();
+    }
+
+    public long getWriteErrorCount() {
+        return writeErrorCount.sum();
+    }
+
+    /**
+     * Flush the recording to disk.
+     * @throws IOException
+     */
+    public void flush() throws IOException {
+        synchronized (writer) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            synchronized (writer) {
+                writer.close();
+            }
+        } finally {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dipcoin.sui.protocol.ObjectMapperFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/31 10:05
+ * @Description : Recording file format, one RecordedCall per JSON line, gzip compressed when the file name ends
+ * with .gz
+ */
+public final class Recordings {
+
+    private static final ObjectMapper MAPPER = ObjectMapperFactory.getObjectMapper();
+
+    private Recordings() {
+    }
+
+    /**
+     * Read a recording, ordered by start offset.
+     * @param file recording file
+     * @return recorded calls
+     * @throws IOException
+     */
+    public static List<RecordedCall> read(Path file) throws IOException {
+        List<RecordedCall> calls = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    calls.add(RecordedCall.fromJson(MAPPER.readTree(line)));
+                }
+            }
+        }
+        calls.sort(Comparator.comparingLong(RecordedCall::offsetMicros));
+        return calls;
+    }
+
+    static Writer newWriter(Path file) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (isCompressed(file)) {
+            out = new GZIPOutputStream(out, 64 * 1024);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    static void write(Writer writer, RecordedCall call) throws IOException {
+        writer.write(MAPPER.writeValueAsString(call.toJson()));
+        writer.write('\n');
+    }
+
+    private static InputStream open(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        return isCompressed(file) ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    private static boolean isCompressed(Path file) {
+        return file.getFileName().toString().endsWith(".gz");
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.dipcoin.sui.model.Response;
+import io.dipcoin.sui.protocol.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/31 11:10
+ * @Description : Transport serving a recording instead of a node. Requests are matched by method and params,
+ * ignoring the id, and calls recorded several times with the same key are served in recorded order, then
+ * round-robin. Each response is delayed by its recorded duration times the time scale. Being a Service, the
+ * client still serializes every request and deserializes every response, so two client versions can be
+ * compared on identical traffic.
+ */
+public class ReplaySuiService extends Service {
+
+    private final Map<String, Recorded> recordings = new HashMap<>();
+
+    // Recorded latency multiplier, 1.0 replays the original timing and 0 disables the delay
+    private volatile double timeScale = 1.0;
+
+    // Statistical information.
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public ReplaySuiService(List<RecordedCall> calls) {
+        for (RecordedCall call : calls) {
+            recordings.computeIfAbsent(call.key(), k -> new Recorded()).calls.add(call);
+        }
+    }
+
+    public static ReplaySuiService fromFile(Path file) throws IOException {
+        return new ReplaySuiService(Recordings.read(file));
+    }
+
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        Reply reply = reply(payload);
+        if (reply.delayNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(reply.delayNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted during replay delay");
+            }
+        }
+        return new ByteArrayInputStream(reply.body);
+    }
+
+    @Override
+    protected CompletableFuture<InputStream> performIOAsync(String payload) {
+        Reply reply;
+        try {
+            reply = reply(payload);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (reply.delayNanos <= 0) {
+            return CompletableFuture.completedFuture(new ByteArrayInputStream(reply.body));
+        }
+        return CompletableFuture.supplyAsync(() -> new ByteArrayInputStream(reply.body),
+                CompletableFuture.delayedExecutor(reply.delayNanos, TimeUnit.NANOSECONDS, responseExecutor));
+    }
+
+    private Reply reply(String payload) throws IOException {
+        JsonNode request = objectMapper.readTree(payload);
+        double scale = timeScale;
+        if (!request.isArray()) {
+            RecordedCall call = match(request);
+            return new Reply(objectMapper.writeValueAsBytes(toResponse(request, call)), delayNanos(call, scale));
+        }
+        // A batch takes as long as its slowest call
+        ArrayNode responses = objectMapper.createArrayNode();
+        long delayNanos = 0;
+        for (JsonNode item : request) {
+            RecordedCall call = match(item);
+            responses.add(toResponse(item, call));
+            delayNanos = Math.max(delayNanos, delayNanos(call, scale));
+        }
+        return new Reply(objectMapper.writeValueAsBytes(responses), delayNanos);
+    }
+
+    private RecordedCall match(JsonNode request) {
+        Recorded recorded = recordings.get(RecordedCall.key(request.path("method").asText(), request.get("params")));
+        if (recorded == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return recorded.next();
+    }
+
+    private ObjectNode toResponse(JsonNode request, RecordedCall call) {
+        if (call != null) {
+            return call.toResponse(request.get("id"));
+        }
+        ObjectNode response = objectMapper.createObjectNode().put("jsonrpc", "2.0");
+        response.set("id", request.get("id"));
+        response.putObject("error")
+                .put("code", Response.Error.METHOD_NOT_FOUND.getCode())
+                .put("message", "No recorded response for " + request.path("method").asText());
+        return response;
+    }
+
+    private static long delayNanos(RecordedCall call, double scale) {
+        return call == null || scale <= 0 ? 0 : (long) (TimeUnit.MICROSECONDS.toNanos(call.durationMicros()) * scale);
+    }
+
+    /**
+     * Scale the recorded latency, e.g. 0.5 answers twice as fast as recorded and 0 answers immediately.
+     * @param timeScale
+     */
+    public void setTimeScale(double timeScale) {
+        if (timeScale < 0) {
+            throw new IllegalArgumentException("timeScale must be >= 0");
+        }
+        this.timeScale = timeScale;
+    }
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Number of requests answered from the recording.
+     * @return
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Number of requests without a recorded response, answered with a method not found error.
+     * @return
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static final class Recorded {
+
+        final List<RecordedCall> calls = new ArrayList<>();
+
+        final AtomicInteger next = new AtomicInteger();
+
+        RecordedCall next() {
+            return calls.get(Math.floorMod(next.getAndIncrement(), calls.size()));
+        }
+    }
+
+    private record Reply(byte[] body, long delayNanos) {
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.model.Response;
+import io.dipcoin.sui.protocol.SuiService;
+import io.dipcoin.sui.protocol.http.response.JsonNodeWrapper;
+import io.dipcoin.sui.util.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/31 14:00
+ * @Description : Re-issues recorded calls against a SuiService at their recorded start offsets, so that a
+ * recorded load can be applied to another client version or node. Each call deserializes into the response
+ * type recorded with it. Batched calls are re-issued one by one.
+ */
+public final class TrafficReplayer {
+
+    private TrafficReplayer() {
+    }
+
+    /**
+     * Replay the calls and wait for every response.
+     * @param calls recorded calls, ordered by offset
+     * @param target service receiving the calls, e.g. a {@link ReplaySuiService} or an HttpService
+     * @param speed offset divisor, 1.0 keeps the recorded rate and 2.0 sends twice as fast
+     * @return outcome of the replay
+     * @throws InterruptedException
+     */
+    public static Report replay(List<RecordedCall> calls, SuiService target, double speed) throws InterruptedException {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("speed must be > 0");
+        }
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder rpcErrors = new LongAdder();
+        LongAdder failures = new LongAdder();
+        List<CompletableFuture<?>> futures = new ArrayList<>(calls.size());
+
+        long start = System.nanoTime();
+        long firstOffset = calls.isEmpty() ? 0 : calls.getFirst().offsetMicros();
+        for (RecordedCall call : calls) {
+            long dueNanos = start + (long) (TimeUnit.MICROSECONDS.toNanos(call.offsetMicros() - firstOffset) / speed);
+            long waitNanos = dueNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            long sent = System.nanoTime();
+            futures.add(toRequest(call, target).sendAsync().whenComplete((response, e) -> {
+                latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent));
+                if (e != null) {
+                    failures.increment();
+                } else if (response.hasError()) {
+                    rpcErrors.increment();
+                }
+            }));
+        }
+        for (CompletableFuture<?> future : futures) {
+            try {
+                future.join();
+            } catch (RuntimeException e) {
+                // Counted as a failure
+            }
+        }
+        return new Report(calls.size(), rpcErrors.sum(), failures.sum(), latency, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Request<JsonNode, ? extends Response> toRequest(RecordedCall call, SuiService target) {
+        List<JsonNode> params = new ArrayList<>();
+        if (call.params() != null) {
+            call.params().forEach(params::add);
+        }
+        Class<? extends Response> responseType = JsonNodeWrapper.class;
+        if (call.responseType() != null) {
+            try {
+                Class<?> recorded = Class.forName(call.responseType());
+                if (Response.class.isAssignableFrom(recorded)) {
+                    responseType = (Class<? extends Response>) recorded;
+                }
+            } catch (ClassNotFoundException e) {
+                // Type removed in this client version, keep the result untyped
+            }
+        }
+        return new Request<>(call.method(), params, target, responseType);
+    }
+
+    /**
+     * Outcome of a replay.
+     * @param calls number of calls sent
+     * @param rpcErrors calls answered with a JSON-RPC error
+     * @param failures calls failing with an exception
+     * @param latency latency of every call in microseconds
+     * @param elapsed time from the first call to the last response
+     */
+    public record Report(long calls, long rpcErrors, long failures, LatencyHistogram latency, Duration elapsed) {
+    }
+}
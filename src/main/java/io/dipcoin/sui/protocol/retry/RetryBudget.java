@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.retry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/24 10:20
+ * @Description : Retry budget, every request deposits a fraction of a retry and every retry withdraws
+ * one, so that retries cannot multiply the load on a node that is already failing
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double maxBalance;
+
+    // Guarded by this
+    private double balance;
+    private long lastRefillNanos;
+
+    public RetryBudget(double ratio, double minPerSecond) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        // Allow bursts of up to ten seconds worth of retries
+        this.maxBalance = Math.max(1.0, minPerSecond * 10);
+        this.balance = maxBalance;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public synchronized void onRequest() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * Take one retry from the budget.
+     * @return false if the budget is exhausted
+     */
+    public synchronized boolean tryWithdraw() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        balance = Math.min(maxBalance, balance + elapsedSeconds * minPerSecond);
+        lastRefillNanos = now;
+        if (balance >= 1.0) {
+            balance -= 1.0;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized double getBalance() {
+        return balance;
+    }
+}
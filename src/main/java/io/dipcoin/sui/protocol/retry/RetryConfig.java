@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.retry;
+
+import java.time.Duration;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/24 10:12
+ * @Description : Retry configuration
+ *
+ * @param maxAttempts maximum number of attempts, including the first one
+ * @param initialBackoff upper bound of the first backoff
+ * @param maxBackoff upper bound of any backoff
+ * @param multiplier growth of the backoff bound per attempt
+ * @param deadline overall time allowed for a call including its retries
+ * @param budgetRatio retries allowed per request on average, e.g. 0.2 allows one retry per five requests
+ * @param minRetriesPerSecond retries always allowed regardless of the ratio, so that low traffic can retry
+ */
+public record RetryConfig(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double multiplier,
+                          Duration deadline, double budgetRatio, double minRetriesPerSecond) {
+    public RetryConfig {
+        // Parameter validation
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("multiplier must be at least 1");
+        }
+        if (budgetRatio < 0 || minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("retry budget must not be negative");
+        }
+    }
+
+    /**
+     * Default configuration: 3 attempts, full jitter backoff from 100ms up to 2s, 10s deadline,
+     * 20% retry budget with at least 10 retries per second
+     * @return
+     */
+    public static RetryConfig defaults() {
+        return new RetryConfig(3, Duration.ofMillis(100), Duration.ofSeconds(2), 2.0,
+                Duration.ofSeconds(10), 0.2, 10);
+    }
+}
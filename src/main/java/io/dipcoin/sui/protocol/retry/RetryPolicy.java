@@ -0,0 +1,244 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.retry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import io.dipcoin.sui.protocol.exceptions.ClientConnectionException;
+import io.dipcoin.sui.protocol.exceptions.RateLimitExceededException;
+import io.dipcoin.sui.util.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/24 10:35
+ * @Description : Retry policy with exponential backoff, full jitter, a retry budget and a deadline.
+ * Only idempotent methods are retried, and only on transport failures: JSON-RPC error responses and
+ * undecodable responses are returned as they are.
+ */
+@Slf4j
+public class RetryPolicy {
+
+    private static final int HTTP_CLIENT_TIMEOUT = 408;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private final RetryConfig config;
+    private final RetryBudget budget;
+
+    // Statistical information.
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder retriedSuccessCount = new LongAdder();
+    private final LongAdder exhaustedCount = new LongAdder();
+    private final LongAdder budgetRejectedCount = new LongAdder();
+    private final LongAdder deadlineRejectedCount = new LongAdder();
+    private final LatencyHistogram retriedLatency = new LatencyHistogram();
+
+    public RetryPolicy(RetryConfig config) {
+        this.config = config;
+        this.budget = new RetryBudget(config.budgetRatio(), config.minRetriesPerSecond());
+    }
+
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(RetryConfig.defaults());
+    }
+
+    public RetryConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Whether calls of the method are retried.
+     * @param method JSON-RPC method
+     * @return
+     */
+    public boolean isRetryable(String method) {
+        return RpcMethod.isIdempotent(method);
+    }
+
+    /**
+     * Run a blocking call with retries.
+     */
+    public <T> T execute(String method, RetryCallable<T> call) throws IOException {
+        budget.onRequest();
+        long start = System.nanoTime();
+        long deadline = start + config.deadline().toNanos();
+        int attempt = 1;
+        while (true) {
+            try {
+                T result = call.call();
+                onSuccess(attempt, start);
+                return result;
+            } catch (IOException | RuntimeException e) {
+                long backoff = nextBackoff(method, attempt, e, deadline);
+                if (backoff < 0) {
+                    throw e;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    InterruptedIOException interrupted = new InterruptedIOException("Interrupted while waiting to retry " + method);
+                    interrupted.addSuppressed(e);
+                    throw interrupted;
+                }
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * Run an asynchronous call with retries, the backoff never blocks a thread.
+     */
+    public <T> CompletableFuture<T> executeAsync(String method, Supplier<CompletableFuture<T>> call) {
+        budget.onRequest();
+        long start = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(method, call, 1, start, start + config.deadline().toNanos(), result);
+        return result;
+    }
+
+    private <T> void attemptAsync(String method, Supplier<CompletableFuture<T>> call, int attempt,
+                                  long start, long deadline, CompletableFuture<T> result) {
+        call.get().whenComplete((value, e) -> {
+            if (e == null) {
+                onSuccess(attempt, start);
+                result.complete(value);
+                return;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            long backoff = nextBackoff(method, attempt, cause, deadline);
+            if (backoff < 0) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            CompletableFuture.delayedExecutor(backoff, TimeUnit.NANOSECONDS)
+                    .execute(() -> attemptAsync(method, call, attempt + 1, start, deadline, result));
+        });
+    }
+
+    private void onSuccess(int attempt, long start) {
+        if (attempt > 1) {
+            retriedSuccessCount.increment();
+            retriedLatency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Backoff before the next attempt in nanoseconds, -1 to give up.
+     */
+    private long nextBackoff(String method, int attempt, Throwable e, long deadline) {
+        if (!isRetryableError(e)) {
+            return -1;
+        }
+        if (attempt >= config.maxAttempts()) {
+            exhaustedCount.increment();
+            return -1;
+        }
+        long bound = (long) Math.min(config.maxBackoff().toNanos(),
+                config.initialBackoff().toNanos() * Math.pow(config.multiplier(), attempt - 1));
+        long backoff = bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+        if (e instanceof RateLimitExceededException rateLimited && rateLimited.getRetryAfter() != null) {
+            backoff = Math.max(backoff, rateLimited.getRetryAfter().toNanos());
+        }
+        if (System.nanoTime() + backoff > deadline) {
+            deadlineRejectedCount.increment();
+            return -1;
+        }
+        if (!budget.tryWithdraw()) {
+            budgetRejectedCount.increment();
+            return -1;
+        }
+        retryCount.increment();
+        log.debug("Retrying {} (attempt {}) in {}ms: {}", method, attempt + 1,
+                TimeUnit.NANOSECONDS.toMillis(backoff), e.getMessage());
+        return backoff;
+    }
+
+    /**
+     * Transport failures, timeouts (408), throttling (429) and server errors (5xx) are retried. Other
+     * HTTP statuses such as 400, 404 or 413 would be answered the same way again.
+     */
+    private static boolean isRetryableError(Throwable e) {
+        if (e instanceof JsonProcessingException) {
+            // The same bytes would fail to decode again
+            return false;
+        }
+        if (e instanceof RateLimitExceededException) {
+            return true;
+        }
+        if (e instanceof ClientConnectionException connectionException) {
+            int statusCode = connectionException.getStatusCode();
+            if (statusCode < 0) {
+                // No response received, retry when it was caused by a transport failure
+                Throwable cause = connectionException.getCause();
+                return cause != null && cause != e && isRetryableError(cause);
+            }
+            return isRetryableStatus(statusCode);
+        }
+        return e instanceof IOException;
+    }
+
+    static boolean isRetryableStatus(int statusCode) {
+        return statusCode == HTTP_CLIENT_TIMEOUT || statusCode == HTTP_TOO_MANY_REQUESTS || statusCode >= 500;
+    }
+
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    public long getRetriedSuccessCount() {
+        return retriedSuccessCount.sum();
+    }
+
+    public long getExhaustedCount() {
+        return exhaustedCount.sum();
+    }
+
+    public long getBudgetRejectedCount() {
+        return budgetRejectedCount.sum();
+    }
+
+    public long getDeadlineRejectedCount() {
+        return deadlineRejectedCount.sum();
+    }
+
+    /**
+     * Overall latency of the calls that succeeded after at least one retry, in microseconds.
+     * @return
+     */
+    public LatencyHistogram getRetriedLatency() {
+        return retriedLatency;
+    }
+
+    public double getBudgetBalance() {
+        return budget.getBalance();
+    }
+
+    /**
+     * Blocking call that may fail with an IOException.
+     */
+    @FunctionalInterface
+    public interface RetryCallable<T> {
+        T call() throws IOException;
+    }
+}
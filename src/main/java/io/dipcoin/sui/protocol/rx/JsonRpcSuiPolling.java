@@ -13,6 +13,7 @@
 
 package io.dipcoin.sui.protocol.rx;
 
+import io.dipcoin.sui.jfr.PollingTaskEvent;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
@@ -88,11 +89,22 @@ public class JsonRpcSuiPolling implements AutoCloseable{
      * Execute task safely (with exception handling).
      */
     private void executeTaskSafely(PollingTask<?> task) {
+        PollingTaskEvent event = new PollingTaskEvent();
+        event.begin();
+        boolean success = false;
         try {
             task.execute();
+            success = true;
         } catch (Exception e) {
             // Retry or alert logic can be added.
             task.onError(e);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.task = task.getClass().getName();
+                event.success = success;
+                event.commit();
+            }
         }
     }
 
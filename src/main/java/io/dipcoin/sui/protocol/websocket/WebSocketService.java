@@ -0,0 +1,538 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.dipcoin.sui.model.event.Event;
+import io.dipcoin.sui.model.event.EventId;
+import io.dipcoin.sui.model.event.PageForEventAndEventId;
+import io.dipcoin.sui.model.filter.EventFilter;
+import io.dipcoin.sui.model.transaction.TransactionBlockEffects;
+import io.dipcoin.sui.protocol.ObjectMapperFactory;
+import io.dipcoin.sui.protocol.SuiClient;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import io.dipcoin.sui.protocol.exceptions.RpcRequestFailedException;
+import io.dipcoin.sui.protocol.http.request.QueryEvents;
+import io.dipcoin.sui.protocol.http.response.PageForEventAndEventIdWrapper;
+import io.dipcoin.sui.protocol.rx.Callback;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/29 10:30
+ * @Description : WebSocket transport for suix_subscribeEvent and suix_subscribeTransaction. Lost connections
+ * are reopened with exponential backoff and every subscription is renewed. Event subscriptions are then
+ * backfilled with suix_queryEvents from the last delivered event, and live notifications received during
+ * the backfill are held back and deduplicated. The callbacks of a subscription run one at a time, in order, on
+ * a virtual thread of that subscription.
+ */
+@Slf4j
+public class WebSocketService implements AutoCloseable {
+
+    private static final long BACKFILL_PAGE_SIZE = 50;
+
+    private final String url;
+
+    private final OkHttpClient httpClient;
+
+    // Client used to backfill events after a reconnect, null disables the backfill
+    private final SuiClient suiClient;
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+
+    private final AtomicLong nextRequestId = new AtomicLong(1);
+
+    // Subscriptions by local id, by server subscription id and by pending subscribe request id
+    private final Map<String, Subscription<?>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, Subscription<?>> serverSubscriptions = new ConcurrentHashMap<>();
+    private final Map<Long, Subscription<?>> pendingSubscribes = new ConcurrentHashMap<>();
+
+    private volatile WebSocket webSocket;
+
+    // Connection that completed its handshake, subscribes are only sent on it
+    private volatile WebSocket openSocket;
+
+    private volatile boolean closed;
+
+    private volatile Duration initialReconnectDelay = Duration.ofMillis(500);
+
+    private volatile Duration maxReconnectDelay = Duration.ofSeconds(30);
+
+    // Guarded by this
+    private int reconnectAttempts;
+
+    public WebSocketService(String url, OkHttpClient httpClient, SuiClient suiClient) {
+        this.url = url;
+        this.httpClient = httpClient;
+        this.suiClient = suiClient;
+    }
+
+    public WebSocketService(String url, SuiClient suiClient) {
+        this(url, new OkHttpClient.Builder().pingInterval(Duration.ofSeconds(30)).build(), suiClient);
+    }
+
+    /**
+     * Open the connection, subscribing opens it too.
+     */
+    public synchronized void connect() {
+        if (closed) {
+            throw new IllegalStateException("WebSocketService is closed");
+        }
+        if (webSocket == null) {
+            webSocket = httpClient.newWebSocket(new Request.Builder().url(url).build(), new Listener());
+        }
+    }
+
+    /**
+     * Subscribe to events matching the filter.
+     * @param filter event filter
+     * @param callback receives every event, one list per notification or backfill page
+     * @return local subscription id
+     */
+    public String suiEventSubscribe(EventFilter filter, Callback<List<Event>> callback) {
+        return subscribe(new Subscription<>(RpcMethod.SUBSCRIBE_EVENT, RpcMethod.UNSUBSCRIBE_EVENT,
+                filter, Event.class, callback));
+    }
+
+    /**
+     * Subscribe to the effects of transactions matching the filter. The filter is serialized as the
+     * TransactionFilter of the node, e.g. {@code Map.of("FromAddress", address)}. Transactions missed while
+     * disconnected are not backfilled.
+     * @param filter transaction filter
+     * @param callback receives the effects of every transaction
+     * @return local subscription id
+     */
+    public String suiTransactionSubscribe(Object filter, Callback<List<TransactionBlockEffects>> callback) {
+        return subscribe(new Subscription<>(RpcMethod.SUBSCRIBE_TRANSACTION, RpcMethod.UNSUBSCRIBE_TRANSACTION,
+                filter, TransactionBlockEffects.class, callback));
+    }
+
+    /**
+     * Cancel a subscription.
+     * @param subscriptionId local subscription id
+     * @return false if the subscription does not exist
+     */
+    public boolean unSubscribe(String subscriptionId) {
+        Subscription<?> subscription = subscriptions.remove(subscriptionId);
+        if (subscription == null) {
+            return false;
+        }
+        subscription.delivery.shutdown();
+        JsonNode serverId = subscription.serverId;
+        if (serverId != null) {
+            serverSubscriptions.remove(serverId.asText());
+            WebSocket socket = webSocket;
+            if (socket != null) {
+                ArrayNode params = objectMapper.createArrayNode().add(serverId);
+                socket.send(request(nextRequestId.getAndIncrement(), subscription.unsubscribeMethod, params));
+            }
+        }
+        return true;
+    }
+
+    private String subscribe(Subscription<?> subscription) {
+        subscriptions.put(subscription.id, subscription);
+        connect();
+        // Still connecting, onOpen sends the subscribe
+        WebSocket socket = openSocket;
+        if (socket != null) {
+            sendSubscribe(socket, subscription);
+        }
+        return subscription.id;
+    }
+
+    /**
+     * Send the subscribe once per connection, subscribe() and onOpen may both reach a new subscription.
+     */
+    private void sendSubscribe(WebSocket socket, Subscription<?> subscription) {
+        synchronized (this) {
+            if (socket != openSocket || subscription.subscribedOn == socket) {
+                return;
+            }
+            subscription.subscribedOn = socket;
+        }
+        long requestId = nextRequestId.getAndIncrement();
+        pendingSubscribes.put(requestId, subscription);
+        ArrayNode params = objectMapper.createArrayNode().add(objectMapper.valueToTree(subscription.filter));
+        if (!socket.send(request(requestId, subscription.method, params))) {
+            // Not open yet or closing, the subscription is sent again when the connection opens
+            pendingSubscribes.remove(requestId);
+        }
+    }
+
+    private String request(long id, String method, ArrayNode params) {
+        ObjectNode node = objectMapper.createObjectNode()
+                .put("jsonrpc", "2.0")
+                .put("id", id)
+                .put("method", method);
+        node.set("params", params);
+        return node.toString();
+    }
+
+    private void onOpen(WebSocket socket) {
+        synchronized (this) {
+            if (webSocket != socket) {
+                return;
+            }
+            reconnectAttempts = 0;
+            // Answers of the previous connection never arrive
+            pendingSubscribes.clear();
+            serverSubscriptions.clear();
+            openSocket = socket;
+        }
+        for (Subscription<?> subscription : subscriptions.values()) {
+            subscription.serverId = null;
+            // Also when the previous connection dropped before answering the renewed subscribe
+            boolean backfill = subscription.acked && subscription.lastEventId.get() != null && suiClient != null;
+            if (backfill) {
+                subscription.startBackfill();
+            }
+            sendSubscribe(socket, subscription);
+            if (backfill) {
+                scheduler.execute(() -> backfill(subscription));
+            }
+        }
+    }
+
+    private void onMessage(String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (IOException e) {
+            log.warn("Invalid WebSocket message from {}: {}", url, e.getMessage());
+            return;
+        }
+        JsonNode params = node.get("params");
+        if (params != null && params.has("subscription")) {
+            Subscription<?> subscription = serverSubscriptions.get(params.get("subscription").asText());
+            if (subscription != null) {
+                subscription.onNotification(params.get("result"));
+            }
+            return;
+        }
+        JsonNode id = node.get("id");
+        Subscription<?> subscription = id == null ? null : pendingSubscribes.remove(id.asLong());
+        if (subscription == null) {
+            // Answer to an unsubscribe
+            return;
+        }
+        JsonNode error = node.get("error");
+        if (error != null) {
+            subscriptions.remove(subscription.id);
+            subscription.post(() -> subscription.callback.onError(new RpcRequestFailedException(
+                    subscription.method + " failed: " + error.path("message").asText())));
+            subscription.delivery.shutdown();
+            return;
+        }
+        if (!subscriptions.containsKey(subscription.id)) {
+            // Unsubscribed before the node answered
+            ArrayNode unsubscribe = objectMapper.createArrayNode().add(node.get("result"));
+            WebSocket socket = webSocket;
+            if (socket != null) {
+                socket.send(request(nextRequestId.getAndIncrement(), subscription.unsubscribeMethod, unsubscribe));
+            }
+            return;
+        }
+        subscription.serverId = node.get("result");
+        serverSubscriptions.put(subscription.serverId.asText(), subscription);
+        if (!subscription.acked) {
+            subscription.acked = true;
+            if (suiClient != null && subscription.itemType == Event.class) {
+                scheduler.execute(() -> seedCursor(subscription));
+            }
+        }
+    }
+
+    private void onDisconnected(WebSocket socket, Throwable t) {
+        synchronized (this) {
+            if (webSocket != socket) {
+                return;
+            }
+            webSocket = null;
+            openSocket = null;
+        }
+        if (closed) {
+            return;
+        }
+        long delayMillis = nextReconnectDelayMillis();
+        log.warn("WebSocket {} disconnected, reconnecting in {}ms: {}", url, delayMillis,
+                t == null ? "closed by peer" : t.getMessage());
+        try {
+            scheduler.schedule(this::reconnect, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // Closed concurrently
+        }
+    }
+
+    private void reconnect() {
+        if (closed) {
+            return;
+        }
+        try {
+            connect();
+        } catch (IllegalStateException e) {
+            // Closed concurrently
+        }
+    }
+
+    private synchronized long nextReconnectDelayMillis() {
+        long initial = initialReconnectDelay.toMillis();
+        long bound = Math.min(maxReconnectDelay.toMillis(), initial << Math.min(reconnectAttempts++, 16));
+        // Equal jitter, at least half of the bound
+        return bound / 2 + ThreadLocalRandom.current().nextLong(bound / 2 + 1);
+    }
+
+    /**
+     * Take the latest matching event as backfill cursor, so a connection lost before the first notification
+     * is backfilled too. A delivered event takes precedence.
+     */
+    private void seedCursor(Subscription<?> subscription) {
+        try {
+            QueryEvents query = new QueryEvents();
+            query.setQuery((EventFilter) subscription.filter);
+            query.setLimit(1L);
+            query.setDescendingOrder(true);
+            PageForEventAndEventIdWrapper response = suiClient.queryEvents(query).send();
+            List<Event> data = response.hasError() ? null : response.getResult().getData();
+            if (data != null && !data.isEmpty()) {
+                subscription.lastEventId.compareAndSet(null, data.getFirst().getId());
+            }
+        } catch (Exception e) {
+            log.debug("No backfill cursor for subscription {}: {}", subscription.id, e.getMessage());
+        }
+    }
+
+    /**
+     * Replay the events emitted while disconnected, in ascending order from the last delivered event.
+     */
+    private void backfill(Subscription<?> subscription) {
+        @SuppressWarnings("unchecked")
+        Subscription<Event> events = (Subscription<Event>) subscription;
+        Set<String> delivered = new HashSet<>();
+        try {
+            QueryEvents query = new QueryEvents();
+            query.setQuery((EventFilter) events.filter);
+            query.setCursor(events.lastEventId.get());
+            query.setLimit(BACKFILL_PAGE_SIZE);
+            query.setDescendingOrder(false);
+            while (!closed && subscriptions.containsKey(events.id)) {
+                PageForEventAndEventIdWrapper response = suiClient.queryEvents(query).send();
+                if (response.hasError()) {
+                    throw new RpcRequestFailedException("Backfill failed: " + response.getError().getMessage());
+                }
+                PageForEventAndEventId page = response.getResult();
+                List<Event> data = page.getData();
+                if (data != null && !data.isEmpty()) {
+                    data.forEach(event -> delivered.add(key(event.getId())));
+                    events.lastEventId.set(data.getLast().getId());
+                    events.post(() -> events.callback.onEvent(data));
+                }
+                if (!Boolean.TRUE.equals(page.getHasNextPage()) || page.getNextCursor() == null) {
+                    break;
+                }
+                query.setCursor(page.getNextCursor());
+            }
+            log.debug("Backfilled {} events for subscription {}", delivered.size(), events.id);
+        } catch (Exception e) {
+            log.warn("Event backfill failed for subscription {}: {}", events.id, e.getMessage());
+            events.post(() -> events.callback.onError(e));
+        } finally {
+            events.finishBackfill(delivered);
+        }
+    }
+
+    private static String key(EventId eventId) {
+        return eventId == null ? null : eventId.getTxDigest() + ":" + eventId.getEventSeq();
+    }
+
+    /**
+     * Delays between reconnect attempts, doubling from the initial delay up to the maximum.
+     * @param initial
+     * @param max
+     */
+    public void setReconnectDelay(Duration initial, Duration max) {
+        this.initialReconnectDelay = initial;
+        this.maxReconnectDelay = max;
+    }
+
+    public boolean isConnected() {
+        return webSocket != null;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        WebSocket socket;
+        synchronized (this) {
+            socket = webSocket;
+            webSocket = null;
+            openSocket = null;
+        }
+        if (socket != null) {
+            socket.close(1000, "Client closed");
+        }
+        scheduler.shutdownNow();
+        subscriptions.values().forEach(subscription -> subscription.delivery.shutdown());
+    }
+
+    private final class Listener extends WebSocketListener {
+
+        @Override
+        public void onOpen(WebSocket webSocket, Response response) {
+            log.info("WebSocket connected: {}", url);
+            WebSocketService.this.onOpen(webSocket);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            WebSocketService.this.onMessage(text);
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            webSocket.close(1000, null);
+        }
+
+        @Override
+        public void onClosed(WebSocket webSocket, int code, String reason) {
+            onDisconnected(webSocket, null);
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+            onDisconnected(webSocket, t);
+        }
+    }
+
+    private final class Subscription<T> {
+
+        final String id = UUID.randomUUID().toString();
+        final String method;
+        final String unsubscribeMethod;
+        final Object filter;
+        final Class<T> itemType;
+        final Callback<List<T>> callback;
+
+        volatile JsonNode serverId;
+
+        // Guarded by WebSocketService.this, connection the subscribe was last sent on
+        WebSocket subscribedOn;
+
+        // Last received event, the backfill cursor of event subscriptions
+        final AtomicReference<EventId> lastEventId = new AtomicReference<>();
+
+        // Whether the node ever acknowledged the subscription
+        volatile boolean acked;
+
+        // Runs the callbacks one at a time, live notifications and backfill pages alike
+        final ExecutorService delivery = Executors.newSingleThreadExecutor(Thread.ofVirtual().factory());
+
+        // Guarded by this, notifications held back during a backfill
+        private List<T> held;
+
+        Subscription(String method, String unsubscribeMethod, Object filter, Class<T> itemType, Callback<List<T>> callback) {
+            this.method = method;
+            this.unsubscribeMethod = unsubscribeMethod;
+            this.filter = filter;
+            this.itemType = itemType;
+            this.callback = callback;
+        }
+
+        void onNotification(JsonNode result) {
+            T item;
+            try {
+                item = objectMapper.treeToValue(result, itemType);
+            } catch (IOException e) {
+                post(() -> callback.onError(e));
+                return;
+            }
+            synchronized (this) {
+                if (held != null) {
+                    held.add(item);
+                } else {
+                    deliver(item);
+                }
+            }
+        }
+
+        private void deliver(T item) {
+            if (item instanceof Event event) {
+                lastEventId.set(event.getId());
+            }
+            post(() -> callback.onEvent(List.of(item)));
+        }
+
+        void post(Runnable task) {
+            try {
+                delivery.execute(task);
+            } catch (RejectedExecutionException e) {
+                // Unsubscribed or closed
+            }
+        }
+
+        synchronized void startBackfill() {
+            if (held == null) {
+                held = new ArrayList<>();
+            }
+        }
+
+        void finishBackfill(Set<String> delivered) {
+            // Queued before releasing the lock, so later notifications cannot overtake them
+            synchronized (this) {
+                if (held == null) {
+                    return;
+                }
+                for (T item : held) {
+                    if (item instanceof Event event && delivered.contains(key(event.getId()))) {
+                        continue;
+                    }
+                    deliver(item);
+                }
+                held = null;
+            }
+        }
+    }
+}
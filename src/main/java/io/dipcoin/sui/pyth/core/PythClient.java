@@ -23,6 +23,8 @@ import io.dipcoin.sui.bcs.types.transaction.Command;
 import io.dipcoin.sui.bcs.types.transaction.ProgrammableMoveCall;
 import io.dipcoin.sui.bcs.types.transaction.ProgrammableTransaction;
 import io.dipcoin.sui.client.CommandBuilder;
+import io.dipcoin.sui.client.ObjectLoader;
+import io.dipcoin.sui.client.ObjectLoaderConfig;
 import io.dipcoin.sui.client.TransactionBuilder;
 import io.dipcoin.sui.model.Request;
 import io.dipcoin.sui.model.extended.DynamicFieldName;
@@ -30,8 +32,10 @@ import io.dipcoin.sui.model.move.kind.MoveValue;
 import io.dipcoin.sui.model.move.kind.data.MoveObject;
 import io.dipcoin.sui.model.move.kind.struct.MoveStructMap;
 import io.dipcoin.sui.model.move.kind.struct.MoveStructObject;
+import io.dipcoin.sui.model.object.ObjectData;
 import io.dipcoin.sui.model.object.ObjectDataOptions;
 import io.dipcoin.sui.model.object.SuiObjectResponse;
+import io.dipcoin.sui.model.object.kind.owner.Shared;
 import io.dipcoin.sui.protocol.SuiClient;
 import io.dipcoin.sui.protocol.constant.SuiSystem;
 import io.dipcoin.sui.protocol.http.request.GetDynamicFieldObject;
@@ -57,6 +61,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -96,6 +101,7 @@ public class PythClient {
         PythNetworkConfig pythNetworkConfig = pythNetwork.getConfig();
         PythResponse lastPrice = this.getLastPrice(feedId, pythNetworkConfig);
         byte[] data = Base64.decode(lastPrice.getBinary().getData().get(0));
+        long baseUpdateFee = this.prefetchStates(pythNetworkConfig);
 
         ProgrammableTransaction programmableTx = new ProgrammableTransaction();
         // 0. parse_and_verify
@@ -106,7 +112,7 @@ public class PythClient {
 
         // 2. SplitCoin
         .addCommand(CommandBuilder.splitCoins(List.of(Argument.ofInput(programmableTx.addInput(new CallArgPure(
-                        this.getBaseUpdateFee(pythNetworkConfig), PureBcs.BasePureType.U64))))))
+                        baseUpdateFee, PureBcs.BasePureType.U64))))))
 
         // 3. update_single_price_feed
         .addCommand(this.updateSinglePriceFeed(feedId, pythNetworkConfig, programmableTx))
@@ -174,12 +180,67 @@ public class PythClient {
             throw new PythException("Get objectId by Pyth stateId failed!", e);
         }
         SuiObjectResponse result = response.getResult();
-        MoveObject content = (MoveObject) result.getData().getContent();
+        return parseBaseUpdateFee(result.getData());
+    }
+
+    /**
+     * Fetch the Pyth state, the Wormhole state and the clock in one sui_multiGetObjects call, caching their
+     * package ids and shared object inputs for the commands of updatePrice.
+     * @param pythNetworkConfig
+     * @return base update fee of the Pyth state
+     */
+    private long prefetchStates(PythNetworkConfig pythNetworkConfig) {
+        String pythStateId = pythNetworkConfig.pythStateId();
+        String wormholeStateId = pythNetworkConfig.wormholeStateId();
+        // The Pyth state is always fetched, its base update fee may change
+        List<String> objectIds = new ArrayList<>(List.of(pythStateId));
+        if (!PACKAGE_IDS.containsKey(wormholeStateId) || !PYTH_SHARED.containsKey(wormholeStateId)) {
+            objectIds.add(wormholeStateId);
+        }
+        if (!PYTH_SHARED.containsKey(SuiSystem.SUI_CLOCK_OBJECT_ID)) {
+            objectIds.add(SuiSystem.SUI_CLOCK_OBJECT_ID);
+        }
+
+        List<ObjectData> objects;
+        try {
+            objects = new ObjectLoader(suiClient, ObjectLoaderConfig.manual())
+                    .loadAll(objectIds, ObjectDataOptions.ownerAndTypeAndContentTrue())
+                    .join();
+        } catch (CompletionException e) {
+            throw new PythException("Get Pyth state objects failed!", e.getCause());
+        }
+
+        long baseUpdateFee = 0;
+        for (int i = 0; i < objectIds.size(); i++) {
+            String objectId = objectIds.get(i);
+            ObjectData objectData = objects.get(i);
+            PYTH_SHARED.putIfAbsent(objectId, TransactionBuilder.buildSharedObject(objectId,
+                    ((Shared) objectData.getOwner()).getInitialSharedVersion().longValue(), false));
+            if (objectId.equals(pythStateId)) {
+                PACKAGE_IDS.putIfAbsent(objectId, parsePackageId(objectData));
+                baseUpdateFee = parseBaseUpdateFee(objectData);
+            } else if (objectId.equals(wormholeStateId)) {
+                PACKAGE_IDS.putIfAbsent(objectId, parsePackageId(objectData));
+            }
+        }
+        return baseUpdateFee;
+    }
+
+    private static long parseBaseUpdateFee(ObjectData stateData) {
+        MoveObject content = (MoveObject) stateData.getContent();
         MoveStructMap fields = (MoveStructMap) content.getFields();
         MoveValue value = fields.getValues().get("base_update_fee");
         return Long.parseLong(value.getValue().toString());
     }
 
+    private static String parsePackageId(ObjectData stateData) {
+        MoveObject content = (MoveObject) stateData.getContent();
+        MoveStructMap fields = (MoveStructMap) content.getFields();
+        MoveValue value = fields.getValues().get("upgrade_cap");
+        MoveStructObject fieldsStruct = (MoveStructObject) value.getValue();
+        return fieldsStruct.getFields().get("package").getValue().toString();
+    }
+
     /**
      * Get the packageId for the pyth package if not already cached
      * @param stateId
@@ -202,11 +263,7 @@ public class PythClient {
             throw new PythException("Get the packageId for the pyth package failed!", e);
         }
         SuiObjectResponse result = response.getResult();
-        MoveObject content = (MoveObject) result.getData().getContent();
-        MoveStructMap fields = (MoveStructMap) content.getFields();
-        MoveValue value = fields.getValues().get("upgrade_cap");
-        MoveStructObject fieldsStruct = (MoveStructObject) value.getValue();
-        String resultId = fieldsStruct.getFields().get("package").getValue().toString();
+        String resultId = parsePackageId(result.getData());
         PACKAGE_IDS.put(stateId, resultId);
         return resultId;
     }
@@ -46,6 +46,15 @@ public class Async {
         return result;
     }
 
+    /**
+     * The shared virtual thread executor used by {@link #run(Callable)}.
+     *
+     * @return shared executor
+     */
+    public static ExecutorService executor() {
+        return executor;
+    }
+
     private static int getCpuCount() {
         return Runtime.getRuntime().availableProcessors();
     }
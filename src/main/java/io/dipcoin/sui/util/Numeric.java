@@ -38,6 +38,10 @@ public class Numeric {
     private static final String HEX_PREFIX = "0x";
     private static final char[] HEX_CHAR_MAP = "0123456789abcdef".toCharArray();
 
+    // Largest value that can still take another decimal digit without leaving u64
+    private static final long U64_MAX_DIV_10 = Long.divideUnsigned(-1L, 10);
+    private static final int U64_MAX_LAST_DIGIT = (int) Long.remainderUnsigned(-1L, 10);
+
     private Numeric() {}
 
     public static String encodeQuantity(BigInteger value) {
@@ -259,6 +263,50 @@ public class Numeric {
         return (byte) ((m << 4) | n);
     }
 
+    /**
+     * Parse the decimal digits of a u64 in place, e.g. from the text buffer of a JSON parser.
+     * @return the value as unsigned long, above Long.MAX_VALUE it is negative as with Long.parseUnsignedLong
+     * @throws NumberFormatException if the characters are not the digits of a u64
+     */
+    public static long parseU64(char[] chars, int offset, int length) {
+        if (length <= 0) {
+            throw new NumberFormatException("Empty u64");
+        }
+        long value = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid u64: " + new String(chars, offset, length));
+            }
+            if (Long.compareUnsigned(value, U64_MAX_DIV_10) > 0
+                    || (value == U64_MAX_DIV_10 && digit > U64_MAX_LAST_DIGIT)) {
+                throw new NumberFormatException("u64 overflow: " + new String(chars, offset, length));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * View of an unsigned long as BigInteger.
+     */
+    public static BigInteger toU64BigInteger(long value) {
+        return value >= 0 ? BigInteger.valueOf(value) : new BigInteger(Long.toUnsignedString(value));
+    }
+
+    /**
+     * Unsigned long bits of a u64 BigInteger, null is 0 like a missing u64 of a response.
+     */
+    public static long toU64Long(BigInteger value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value.signum() < 0 || value.bitLength() > Long.SIZE) {
+            throw new IllegalArgumentException("Not a u64: " + value);
+        }
+        return value.longValue();
+    }
+
     public static boolean isIntegerValue(BigDecimal value) {
         return value.signum() == 0 || value.scale() <= 0 || value.stripTrailingZeros().scale() <= 0;
     }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/11 15:10
+ * @Description : Bounded cache returning one shared instance per distinct string, for the addresses and type
+ * strings repeated across response pages. Strings are spread over independently locked stripes, each stripe
+ * evicts its least recently used entry once it holds its share of the maximum size.
+ */
+public class StringCanonicalizer {
+
+    public static final int DEFAULT_MAX_SIZE = 16_384;
+
+    public static final int DEFAULT_STRIPES = 16;
+
+    // Longer strings are rarely repeated, e.g. bcs payloads, and are returned as is
+    public static final int DEFAULT_MAX_LENGTH = 512;
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int maxLength;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public StringCanonicalizer() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_STRIPES, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * @param maxSize maximum number of cached strings across all stripes
+     * @param stripes number of stripes, rounded up to a power of two, or down when the rounded count would
+     * exceed maxSize
+     * @param maxLength longest string that is cached
+     */
+    public StringCanonicalizer(int maxSize, int stripes, int maxLength) {
+        // Parameter validation
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        if (stripes <= 0 || stripes > maxSize) {
+            throw new IllegalArgumentException("stripes must be between 1 and maxSize");
+        }
+        if (maxLength <= 0) {
+            throw new IllegalArgumentException("maxLength must be positive");
+        }
+        int count = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        if (count > maxSize) {
+            // Every stripe holds at least one entry, keep count * perStripe within maxSize
+            count = Integer.highestOneBit(maxSize);
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(maxSize / count);
+        }
+        this.mask = count - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Return the cached instance equal to the value, caching the value when there is none.
+     * @param value string to canonicalize, may be null
+     * @return the shared instance, or the value itself when it is null or too long to cache
+     */
+    public String canonicalize(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        int hash = value.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & mask];
+        synchronized (stripe) {
+            String cached = stripe.putIfAbsent(value, value);
+            if (cached != null) {
+                hitCount.increment();
+                return cached;
+            }
+        }
+        missCount.increment();
+        return value;
+    }
+
+    /**
+     * Number of strings currently cached.
+     * @return
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Number of lookups answered with a shared instance.
+     * @return
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, String> {
+
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > capacity;
+        }
+    }
+}
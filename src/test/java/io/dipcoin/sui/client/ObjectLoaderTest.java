@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.dipcoin.sui.model.object.ObjectData;
+import io.dipcoin.sui.model.object.ObjectDataOptions;
+import io.dipcoin.sui.protocol.SuiClient;
+import io.dipcoin.sui.protocol.exceptions.RpcRequestFailedException;
+import io.dipcoin.sui.protocol.http.HttpService;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/13 10:40
+ * @Description :
+ */
+class ObjectLoaderTest {
+
+    private static final String MISSING = "0xdead";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Object ids of every sui_multiGetObjects call received
+    private final Queue<List<String>> calls = new ConcurrentLinkedQueue<>();
+
+    private MockWebServer server;
+
+    private SuiClient suiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return respond(request);
+            }
+        });
+        server.start();
+        suiClient = SuiClient.build(new HttpService(server.url("/").toString()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        suiClient.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void deduplicatesRepeatedIds() throws Exception {
+        ObjectLoader loader = new ObjectLoader(suiClient, ObjectLoaderConfig.manual());
+        ObjectDataOptions options = ObjectDataOptions.ownerAndTypeTrue();
+
+        CompletableFuture<ObjectData> first = loader.load("0x1", options);
+        assertThat(loader.load("0x1", options)).isSameAs(first);
+        List<ObjectData> objects = loader.loadAll(List.of("0x1", "0x2", "0x1"), options).get(5, TimeUnit.SECONDS);
+
+        assertThat(calls).containsExactly(List.of("0x1", "0x2"));
+        assertThat(objects).extracting(ObjectData::getObjectId).containsExactly("0x1", "0x2", "0x1");
+        assertThat(first.get()).isSameAs(objects.getFirst());
+    }
+
+    @Test
+    void splitsLargeLoadsIntoChunks() throws Exception {
+        ObjectLoader loader = new ObjectLoader(suiClient, new ObjectLoaderConfig(Duration.ZERO, 2));
+        List<String> objectIds = List.of("0x1", "0x2", "0x3", "0x4", "0x5");
+
+        List<ObjectData> objects = loader.loadAll(objectIds, ObjectDataOptions.ownerAndTypeTrue()).get(5, TimeUnit.SECONDS);
+
+        assertThat(objects).extracting(ObjectData::getObjectId).containsExactlyElementsOf(objectIds);
+        assertThat(calls).containsExactlyInAnyOrder(List.of("0x1", "0x2"), List.of("0x3", "0x4"), List.of("0x5"));
+    }
+
+    @Test
+    void collectsLoadsWithinTheWindow() throws Exception {
+        ObjectLoader loader = new ObjectLoader(suiClient, new ObjectLoaderConfig(Duration.ofMillis(50), 50));
+
+        List<CompletableFuture<ObjectData>> futures = new ArrayList<>();
+        for (String objectId : List.of("0x1", "0x2", "0x3")) {
+            futures.add(loader.load(objectId));
+        }
+        for (CompletableFuture<ObjectData> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(calls).containsExactly(List.of("0x1", "0x2", "0x3"));
+    }
+
+    @Test
+    void failsLoadsOfMissingObjects() {
+        ObjectLoader loader = new ObjectLoader(suiClient, ObjectLoaderConfig.manual());
+
+        CompletableFuture<ObjectData> missing = loader.load(MISSING);
+        CompletableFuture<ObjectData> present = loader.load("0x1");
+        loader.dispatch();
+
+        assertThatThrownBy(() -> missing.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RpcRequestFailedException.class)
+                .hasMessageContaining(MISSING)
+                .hasMessageContaining("notExists");
+        assertThat(present.join().getObjectId()).isEqualTo("0x1");
+    }
+
+    private MockResponse respond(RecordedRequest request) {
+        try {
+            JsonNode body = objectMapper.readTree(request.getBody().readUtf8());
+            List<String> objectIds = new ArrayList<>();
+            ArrayNode result = objectMapper.createArrayNode();
+            for (JsonNode objectId : body.get("params").get(0)) {
+                objectIds.add(objectId.asText());
+                if (MISSING.equals(objectId.asText())) {
+                    ObjectNode error = result.addObject().putObject("error");
+                    error.put("code", "notExists");
+                    error.put("object_id", MISSING);
+                    continue;
+                }
+                ObjectNode data = result.addObject().putObject("data");
+                data.put("objectId", objectId.asText());
+                data.put("version", "7");
+                data.put("digest", "digest");
+            }
+            calls.add(objectIds);
+            ObjectNode response = objectMapper.createObjectNode();
+            response.put("jsonrpc", "2.0");
+            response.set("id", body.get("id"));
+            response.set("result", result);
+            return new MockResponse().setBody(objectMapper.writeValueAsString(response));
+        } catch (IOException e) {
+            return new MockResponse().setResponseCode(400);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol;
+
+import io.dipcoin.sui.model.BatchRequest;
+import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.protocol.http.response.CheckpointSequenceNumberWrapper;
+import io.dipcoin.sui.protocol.http.response.GasPriceWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/20 15:02
+ * @Description : Batch request unit test
+ */
+public class BatchRequestTest {
+
+    @Test
+    void shouldMapResponsesById() throws Exception {
+        Service service = new Service() {
+            @Override
+            protected InputStream performIO(String payload) {
+                assertThat(payload).startsWith("[");
+                // answer out of order, batch responses are matched by id
+                String response = "[{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"42\"},"
+                        + "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"750\"}]";
+                return new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void close() {}
+        };
+
+        Request<?, GasPriceWrapper> gasPrice = new Request<>(
+                "suix_getReferenceGasPrice", Collections.<String>emptyList(), service, GasPriceWrapper.class);
+        gasPrice.setId(1);
+        Request<?, CheckpointSequenceNumberWrapper> checkpoint = new Request<>(
+                "sui_getLatestCheckpointSequenceNumber", Collections.<String>emptyList(), service, CheckpointSequenceNumberWrapper.class);
+        checkpoint.setId(2);
+
+        BatchRequest batch = new BatchRequest(service);
+        CompletableFuture<GasPriceWrapper> gasFuture = batch.add(gasPrice);
+        CompletableFuture<CheckpointSequenceNumberWrapper> checkpointFuture = batch.add(checkpoint);
+        batch.send().join();
+
+        assertThat(gasFuture.join().getGasPrice()).isEqualTo(BigInteger.valueOf(750));
+        assertThat(checkpointFuture.join().getCheckpointSequenceNumber()).isEqualTo(BigInteger.valueOf(42));
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol;
+
+import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.model.Response;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import io.dipcoin.sui.protocol.http.response.GasPriceWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/13 15:20
+ * @Description : Single-flight decorator unit test
+ */
+public class CoalescingSuiServiceTest {
+
+    private final FakeDelegate delegate = new FakeDelegate();
+
+    private final CoalescingSuiService service = new CoalescingSuiService(delegate);
+
+    @Test
+    void shouldShareConcurrentIdenticalReads() throws Exception {
+        CompletableFuture<GasPriceWrapper> first = service.sendAsync(gasPrice(1), GasPriceWrapper.class);
+        CompletableFuture<GasPriceWrapper> second = service.sendAsync(gasPrice(2), GasPriceWrapper.class);
+
+        assertThat(delegate.pending).hasSize(1);
+        assertThat(service.getInFlightCount()).isEqualTo(1);
+        assertThat(first).isNotDone();
+
+        GasPriceWrapper response = response(1);
+        delegate.pending.getFirst().complete(response);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        // The shared response keeps the id of the request that went to the node
+        assertThat(second.get().getId()).isEqualTo(1);
+        assertThat(service.getHitCount()).isEqualTo(1);
+        assertThat(service.getMissCount()).isEqualTo(1);
+        assertThat(service.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldShareConcurrentBlockingReads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        delegate.blockingSend = release;
+        List<GasPriceWrapper> responses = new CopyOnWriteArrayList<>();
+        Thread leader = Thread.ofVirtual().start(() -> responses.add(sendQuietly(gasPrice(1))));
+        awaitUntil(() -> delegate.sendCalls.get() == 1);
+        Thread follower = Thread.ofVirtual().start(() -> responses.add(sendQuietly(gasPrice(2))));
+        awaitUntil(() -> service.getHitCount() == 1);
+
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        assertThat(delegate.sendCalls.get()).isEqualTo(1);
+        assertThat(responses).hasSize(2);
+        assertThat(responses.get(0)).isSameAs(responses.get(1));
+        assertThat(service.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldNotCoalesceNonReadOnlyMethods() {
+        Request<?, GasPriceWrapper> execute = new Request<>(RpcMethod.EXECUTE_TRANSACTION_BLOCK,
+                Collections.<String>emptyList(), service, GasPriceWrapper.class);
+
+        service.sendAsync(execute, GasPriceWrapper.class);
+        service.sendAsync(execute, GasPriceWrapper.class);
+
+        assertThat(delegate.pending).hasSize(2);
+        assertThat(service.getInFlightCount()).isZero();
+        assertThat(service.getHitCount()).isZero();
+        assertThat(service.getMissCount()).isZero();
+    }
+
+    @Test
+    void shouldPropagateFailureToEveryWaiter() {
+        CompletableFuture<GasPriceWrapper> first = service.sendAsync(gasPrice(1), GasPriceWrapper.class);
+        CompletableFuture<GasPriceWrapper> second = service.sendAsync(gasPrice(2), GasPriceWrapper.class);
+
+        IOException failure = new IOException("connection reset");
+        delegate.pending.getFirst().completeExceptionally(failure);
+
+        for (CompletableFuture<GasPriceWrapper> future : List.of(first, second)) {
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCause(failure);
+        }
+        assertThat(service.getInFlightCount()).isZero();
+
+        // The failed entry is gone, the next call goes to the node again
+        service.sendAsync(gasPrice(3), GasPriceWrapper.class);
+        assertThat(delegate.pending).hasSize(2);
+        assertThat(service.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotShareCompletedCalls() throws Exception {
+        CompletableFuture<GasPriceWrapper> first = service.sendAsync(gasPrice(1), GasPriceWrapper.class);
+        delegate.pending.getFirst().complete(response(1));
+        first.get(5, TimeUnit.SECONDS);
+
+        service.sendAsync(gasPrice(2), GasPriceWrapper.class);
+
+        assertThat(delegate.pending).hasSize(2);
+        assertThat(service.getHitCount()).isZero();
+        assertThat(service.getMissCount()).isEqualTo(2);
+    }
+
+    private Request<?, GasPriceWrapper> gasPrice(long id) {
+        Request<?, GasPriceWrapper> request = new Request<>(RpcMethod.GET_REFERENCE_GAS_PRICE,
+                Collections.<String>emptyList(), service, GasPriceWrapper.class);
+        request.setId(id);
+        return request;
+    }
+
+    private static GasPriceWrapper response(long id) {
+        GasPriceWrapper response = new GasPriceWrapper();
+        response.setId(id);
+        response.setResult("1000");
+        return response;
+    }
+
+    private GasPriceWrapper sendQuietly(Request<?, GasPriceWrapper> request) {
+        try {
+            return service.send(request, GasPriceWrapper.class);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Delegate answering asynchronous calls with futures completed by the test.
+     */
+    private static class FakeDelegate implements SuiService {
+
+        final List<CompletableFuture<Response>> pending = new CopyOnWriteArrayList<>();
+
+        final AtomicInteger sendCalls = new AtomicInteger();
+
+        volatile CountDownLatch blockingSend;
+
+        @Override
+        public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+            sendCalls.incrementAndGet();
+            try {
+                blockingSend.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return responseType.cast(response(request.getId()));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+            CompletableFuture<Response> future = new CompletableFuture<>();
+            pending.add(future);
+            return (CompletableFuture<T>) future;
+        }
+
+        @Override
+        public List<CompletableFuture<Response>> sendBatch(List<? extends Request<?, ?>> requests) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.deserializer;
+
+import io.dipcoin.sui.model.event.Event;
+import io.dipcoin.sui.model.object.ObjectData;
+import io.dipcoin.sui.model.object.kind.owner.AddressOwner;
+import io.dipcoin.sui.protocol.DeserializerTest;
+import io.dipcoin.sui.protocol.ObjectMapperFactory;
+import io.dipcoin.sui.util.StringCanonicalizer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/11 16:20
+ * @Description : Repeated addresses and type strings share one instance while a canonicalizer is set
+ */
+class CanonicalStringDeserializerTest extends DeserializerTest {
+
+    private static final String EVENTS = "[{\"packageId\":\"0x2\",\"sender\":\"0xabc\",\"type\":\"0x2::coin::Mint\"},"
+            + "{\"packageId\":\"0x2\",\"sender\":\"0xabc\",\"type\":\"0x2::coin::Mint\"}]";
+
+    @AfterEach
+    void tearDown() {
+        ObjectMapperFactory.setStringCanonicalizer(null);
+    }
+
+    @Test
+    void sharesRepeatedValuesOnlyWhenEnabled() throws Exception {
+        List<Event> plain = mapper.readValue(EVENTS,
+                mapper.getTypeFactory().constructCollectionType(List.class, Event.class));
+        assertThat(plain.get(0).getSender()).isEqualTo(plain.get(1).getSender())
+                .isNotSameAs(plain.get(1).getSender());
+
+        StringCanonicalizer canonicalizer = new StringCanonicalizer();
+        ObjectMapperFactory.setStringCanonicalizer(canonicalizer);
+        List<Event> events = mapper.readValue(EVENTS,
+                mapper.getTypeFactory().constructCollectionType(List.class, Event.class));
+
+        assertThat(events.get(0).getSender()).isSameAs(events.get(1).getSender());
+        assertThat(events.get(0).getType()).isSameAs(events.get(1).getType());
+        assertThat(events.get(0).getPackageId()).isSameAs(events.get(1).getPackageId());
+
+        ObjectData object = mapper.readValue("{\"objectId\":\"0x5\",\"owner\":{\"AddressOwner\":\"0xabc\"}}",
+                ObjectData.class);
+        assertThat(((AddressOwner) object.getOwner()).getAddressOwner()).isSameAs(events.get(0).getSender());
+        assertThat(canonicalizer.getHitCount()).isEqualTo(4);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPerStripe() {
+        StringCanonicalizer canonicalizer = new StringCanonicalizer(2, 1, 64);
+        String a = canonicalizer.canonicalize(new String("a"));
+        canonicalizer.canonicalize(new String("b"));
+        assertThat(canonicalizer.canonicalize(new String("a"))).isSameAs(a);
+
+        canonicalizer.canonicalize(new String("c"));
+
+        assertThat(canonicalizer.size()).isEqualTo(2);
+        assertThat(canonicalizer.canonicalize(new String("a"))).isSameAs(a);
+        String b = new String("b");
+        assertThat(canonicalizer.canonicalize(b)).isSameAs(b);
+        assertThat(canonicalizer.canonicalize("x".repeat(65))).hasSize(65);
+    }
+
+    @Test
+    void keepsRoundedStripesWithinMaxSize() {
+        StringCanonicalizer canonicalizer = new StringCanonicalizer(3, 3, 64);
+        for (int i = 0; i < 100; i++) {
+            canonicalizer.canonicalize(Integer.toString(i));
+        }
+
+        assertThat(canonicalizer.size()).isLessThanOrEqualTo(3);
+    }
+}
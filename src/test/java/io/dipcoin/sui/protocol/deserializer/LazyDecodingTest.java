@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.deserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dipcoin.sui.model.event.Event;
+import io.dipcoin.sui.model.move.kind.data.MoveObject;
+import io.dipcoin.sui.model.object.ObjectData;
+import io.dipcoin.sui.protocol.ObjectMapperFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/10 11:30
+ * @Description : Heavy fields read by the lazy mapper are decoded on first access
+ */
+class LazyDecodingTest {
+
+    private final ObjectMapper lazy = ObjectMapperFactory.getLazyObjectMapper();
+
+    private final ObjectMapper eager = ObjectMapperFactory.getObjectMapper();
+
+    @Test
+    void decodesParsedJsonOnFirstAccess() throws Exception {
+        String json = "{\"id\":{\"txDigest\":\"d\",\"eventSeq\":\"0\"},\"parsedJson\":{\"amount\":\"5\",\"to\":[\"0x1\"]},"
+                + "\"sender\":\"0x2\",\"type\":\"0x3::m::E\"}";
+
+        Event event = lazy.readValue(json, Event.class);
+
+        assertThat(event.getSender()).isEqualTo("0x2");
+        assertThat(event.getParsedJson()).isEqualTo(Map.of("amount", "5", "to", List.of("0x1")));
+        assertThat(event).isEqualTo(eager.readValue(json, Event.class));
+
+        event.setParsedJson(null);
+        assertThat(event.getParsedJson()).isNull();
+    }
+
+    @Test
+    void defersObjectContentUntilRead() throws Exception {
+        String json = "{\"objectId\":\"0x1\",\"version\":\"3\",\"content\":{\"dataType\":\"moveObject\","
+                + "\"type\":\"0x2::coin::Coin<0x2::sui::SUI>\",\"hasPublicTransfer\":true,"
+                + "\"fields\":{\"balance\":\"100\",\"id\":{\"id\":\"0x1\"}}},\"display\":null}";
+
+        ObjectData data = lazy.readValue(json, ObjectData.class);
+
+        assertThat(data.getObjectId()).isEqualTo("0x1");
+        assertThat(data.getDisplay()).isNull();
+        assertThat(data.getContent()).isInstanceOf(MoveObject.class);
+        assertThat(data).isEqualTo(eager.readValue(json, ObjectData.class));
+    }
+
+    @Test
+    void concurrentReadersSeeTheDecodedValue() throws Exception {
+        String json = "{\"parsedJson\":{\"amount\":\"5\"},\"sender\":\"0x2\"}";
+        for (int round = 0; round < 100; round++) {
+            Event event = lazy.readValue(json, Event.class);
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<Object>> reads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                reads.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return event.getParsedJson();
+                }));
+            }
+            start.countDown();
+            for (CompletableFuture<Object> read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS)).isEqualTo(Map.of("amount", "5"));
+            }
+        }
+    }
+
+    @Test
+    void surfacesDecodingErrorsAtTheGetter() throws Exception {
+        ObjectData data = lazy.readValue("{\"objectId\":\"0x1\",\"content\":{\"dataType\":\"unknown\"}}",
+                ObjectData.class);
+
+        assertThat(data.getObjectId()).isEqualTo("0x1");
+        assertThatThrownBy(data::getContent).isInstanceOf(RuntimeException.class);
+    }
+}
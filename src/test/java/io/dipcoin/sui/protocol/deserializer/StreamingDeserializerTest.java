@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.deserializer;
+
+import io.dipcoin.sui.model.move.kind.MoveStruct;
+import io.dipcoin.sui.model.move.kind.MoveValue;
+import io.dipcoin.sui.model.move.kind.struct.MoveStructObject;
+import io.dipcoin.sui.model.object.kind.ObjectChange;
+import io.dipcoin.sui.model.object.kind.Owner;
+import io.dipcoin.sui.model.object.kind.change.Mutated;
+import io.dipcoin.sui.model.object.kind.owner.AddressOwner;
+import io.dipcoin.sui.model.object.kind.owner.Shared;
+import io.dipcoin.sui.model.transaction.kind.ExecutionStatus;
+import io.dipcoin.sui.model.transaction.kind.status.Failure;
+import io.dipcoin.sui.protocol.DeserializerTest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/9 16:10
+ * @Description : Token based deserializers, discriminators in any position and nested Move values
+ */
+class StreamingDeserializerTest extends DeserializerTest {
+
+    @Test
+    void replaysFieldsReadBeforeTheDiscriminator() throws Exception {
+        String json = "{\"sender\":\"0x1\",\"owner\":{\"AddressOwner\":\"0x2\"},\"type\":\"mutated\","
+                + "\"objectId\":\"0x3\",\"previousVersion\":\"7\",\"version\":8,\"digest\":\"d\"}";
+
+        ObjectChange change = mapper.readValue(json, ObjectChange.class);
+
+        assertThat(change).isInstanceOf(Mutated.class);
+        Mutated mutated = (Mutated) change;
+        assertThat(mutated.getSender()).isEqualTo("0x1");
+        assertThat(((AddressOwner) mutated.getOwner()).getAddressOwner()).isEqualTo("0x2");
+        assertThat(mutated.getPreviousVersion()).isEqualTo(BigInteger.valueOf(7));
+        assertThat(mutated.getVersion()).isEqualTo(8L);
+        assertThat(mutated.getDigest()).isEqualTo("d");
+
+        ExecutionStatus status = mapper.readValue("{\"error\":\"InsufficientGas\",\"status\":\"failure\"}",
+                ExecutionStatus.class);
+        assertThat(((Failure) status).getError()).isEqualTo("InsufficientGas");
+    }
+
+    @Test
+    void readsOwnerForms() throws Exception {
+        Owner shared = mapper.readValue("{\"Shared\":{\"initial_shared_version\":42}}", Owner.class);
+        assertThat(((Shared) shared).getInitialSharedVersion()).isEqualTo(BigInteger.valueOf(42));
+
+        List<Owner> owners = mapper.readValue("[\"Immutable\",{\"AddressOwner\":\"0x2\"}]",
+                mapper.getTypeFactory().constructCollectionType(List.class, Owner.class));
+        assertThat(owners).hasSize(2);
+        assertThat(((AddressOwner) owners.get(1)).getAddressOwner()).isEqualTo("0x2");
+    }
+
+    @Test
+    void decodesNestedMoveValuesInPlace() throws Exception {
+        String json = "{\"type\":\"0x2::coin::Coin<0x2::sui::SUI>\",\"fields\":{\"balance\":\"100\","
+                + "\"id\":{\"id\":\"0xab\"},\"flags\":[1,true,null],"
+                + "\"inner\":{\"fields\":{\"a\":1},\"type\":\"0x1::m::S\"}}}";
+
+        MoveStruct struct = mapper.readValue(json, MoveStruct.class);
+
+        assertThat(struct).isInstanceOf(MoveStructObject.class);
+        MoveStructObject object = (MoveStructObject) struct;
+        assertThat(object.getType()).isEqualTo("0x2::coin::Coin<0x2::sui::SUI>");
+        assertThat(object.getFields().get("balance").getValue()).isEqualTo("100");
+        assertThat(object.getFields().get("id").getValueType()).isEqualTo(MoveValue.MoveValueType.ID_OBJECT);
+        assertThat((List<?>) object.getFields().get("flags").getValue()).hasSize(3);
+
+        // fields before type are buffered and decoded once the shape is known
+        MoveValue inner = object.getFields().get("inner");
+        assertThat(inner.getValueType()).isEqualTo(MoveValue.MoveValueType.STRUCT_OBJECT);
+        assertThat(((MoveStructObject) inner.getValue()).getFields().get("a").getValue()).isEqualTo(1);
+    }
+}
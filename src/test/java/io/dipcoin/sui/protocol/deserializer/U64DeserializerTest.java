@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.deserializer;
+
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import io.dipcoin.sui.model.coin.Coin;
+import io.dipcoin.sui.model.event.Event;
+import io.dipcoin.sui.model.gas.GasCostSummary;
+import io.dipcoin.sui.protocol.DeserializerTest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/11 11:20
+ * @Description : u64 fields kept as primitive long behind the BigInteger getters
+ */
+class U64DeserializerTest extends DeserializerTest {
+
+    @Test
+    void readsTheFullUnsignedRange() throws Exception {
+        Coin coin = mapper.readValue("{\"balance\":\"18446744073709551615\",\"coinObjectId\":\"0x1\"}", Coin.class);
+
+        assertThat(coin.getBalanceAsLong()).isEqualTo(-1L);
+        assertThat(coin.getBalance()).isEqualTo(new BigInteger("18446744073709551615"));
+        assertThat(mapper.writeValueAsString(coin)).contains("\"balance\":\"18446744073709551615\"");
+
+        GasCostSummary gas = mapper.readValue("{\"computationCost\":\"750000\",\"storageCost\":2000,"
+                + "\"storageRebate\":\"978120\",\"nonRefundableStorageFee\":\"9880\"}", GasCostSummary.class);
+        assertThat(gas.getComputationCostAsLong()).isEqualTo(750_000L);
+        assertThat(gas.getStorageCost()).isEqualTo(BigInteger.valueOf(2000));
+        assertThat(gas.getStorageRebateAsLong()).isEqualTo(978_120L);
+    }
+
+    @Test
+    void readsMissingValuesAsTheirInitialValue() throws Exception {
+        Event event = mapper.readValue("{\"sender\":\"0x1\",\"timestampMs\":null}", Event.class);
+
+        assertThat(event.getTimestampMs()).isNull();
+        assertThat(event.getTimestampMsAsLong()).isEqualTo(Event.NO_TIMESTAMP);
+        assertThat(mapper.writeValueAsString(event)).doesNotContain("timestampMs");
+        assertThat(mapper.readValue("{\"sender\":\"0x1\"}", Event.class).getTimestampMs()).isNull();
+        assertThat(mapper.readValue("{\"timestampMs\":\"0\"}", Event.class).getTimestampMs()).isEqualTo(BigInteger.ZERO);
+        assertThat(mapper.readValue("{\"coinObjectId\":\"0x1\"}", Coin.class).getBalanceAsLong()).isZero();
+        assertThat(mapper.readValue("{\"timestampMs\":\"1731300000000\"}", Event.class).getTimestampMsAsLong())
+                .isEqualTo(1_731_300_000_000L);
+    }
+
+    @Test
+    void keepsTheBigIntegerSetters() {
+        Coin coin = new Coin();
+        coin.setBalance(new BigInteger("18446744073709551615"));
+        assertThat(coin.getBalanceAsLong()).isEqualTo(-1L);
+        coin.setBalance((BigInteger) null);
+        assertThat(coin.getBalanceAsLong()).isZero();
+
+        assertThatThrownBy(() -> coin.setBalance(BigInteger.ONE.shiftLeft(64)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsValuesOutsideU64() {
+        assertThatThrownBy(() -> mapper.readValue("{\"balance\":\"18446744073709551616\"}", Coin.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> mapper.readValue("{\"balance\":\"-5\"}", Coin.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.fake;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import io.dipcoin.sui.util.HashUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/30 10:20
+ * @Description : Generated results for every method of JsonRpcSui. Ids and digests are derived from the
+ * request so that the same request always yields the same result.
+ */
+final class FakeResponses {
+
+    static final String SUI_COIN_TYPE = "0x2::sui::SUI";
+
+    private final ObjectMapper mapper;
+
+    private final Map<String, Function<JsonNode, JsonNode>> generators = new ConcurrentHashMap<>();
+
+    // Number of items in list results
+    volatile int pageSize = 10;
+
+    // Extra characters in the parsedJson of every event
+    volatile int eventPadding;
+
+    FakeResponses(ObjectMapper mapper) {
+        this.mapper = mapper;
+        // Extended API
+        generators.put(RpcMethod.GET_BALANCE, this::balance);
+        generators.put(RpcMethod.GET_COINS, this::coins);
+        generators.put(RpcMethod.GET_DYNAMIC_FIELD_OBJECT, params -> objectResponse(id("field", params.toString())));
+        generators.put(RpcMethod.GET_OWNED_OBJECTS, this::ownedObjects);
+        generators.put(RpcMethod.QUERY_EVENTS, this::events);
+        // Governance Read API
+        generators.put(RpcMethod.GET_LATEST_SUI_SYSTEM_STATE, params -> systemState());
+        generators.put(RpcMethod.GET_REFERENCE_GAS_PRICE, params -> mapper.getNodeFactory().textNode("750"));
+        // Move Utils
+        generators.put(RpcMethod.GET_MOVE_FUNCTION_ARG_TYPES, params -> mapper.createArrayNode().add("Pure")
+                .add(mapper.createObjectNode().put("Object", "ByMutableReference")));
+        generators.put(RpcMethod.GET_NORMALIZED_MOVE_FUNCTION, params -> function());
+        generators.put(RpcMethod.GET_NORMALIZED_MOVE_MODULE, params -> module(params.path(0).asText("0x2"), params.path(1).asText("coin")));
+        generators.put(RpcMethod.GET_NORMALIZED_MOVE_MODULES_BY_PACKAGE, this::modulesByPackage);
+        generators.put(RpcMethod.GET_NORMALIZED_MOVE_STRUCT, params -> struct());
+        // Read API
+        generators.put(RpcMethod.GET_CHAIN_IDENTIFIER, params -> mapper.getNodeFactory().textNode("4c78adac"));
+        generators.put(RpcMethod.GET_LATEST_CHECKPOINT_SEQUENCE_NUMBER, params -> mapper.getNodeFactory().textNode("1000000"));
+        generators.put(RpcMethod.GET_OBJECT, params -> objectResponse(params.path(0).asText()));
+        generators.put(RpcMethod.GET_TOTAL_TRANSACTION_BLOCKS, params -> mapper.getNodeFactory().textNode("4000000000"));
+        generators.put(RpcMethod.MULTI_GET_OBJECTS, this::multiGetObjects);
+        generators.put(RpcMethod.VERIFY_ZK_LOGIN_SIGNATURE, params -> {
+            ObjectNode result = mapper.createObjectNode().put("success", true);
+            result.putArray("errors");
+            return result;
+        });
+        // Transaction Builder API
+        for (String method : RpcMethod.TRANSACTION_BUILDER) {
+            generators.put(method, this::transactionBytes);
+        }
+        // Write API
+        generators.put(RpcMethod.EXECUTE_TRANSACTION_BLOCK, this::executionResult);
+    }
+
+    boolean supports(String method) {
+        return generators.containsKey(method);
+    }
+
+    JsonNode generate(String method, JsonNode params) {
+        return generators.get(method).apply(params == null ? mapper.createArrayNode() : params);
+    }
+
+    void override(String method, Function<JsonNode, JsonNode> generator) {
+        generators.put(method, generator);
+    }
+
+    private JsonNode balance(JsonNode params) {
+        ObjectNode balance = mapper.createObjectNode()
+                .put("coinType", params.path(1).asText(SUI_COIN_TYPE))
+                .put("coinObjectCount", pageSize)
+                .put("totalBalance", "1000000000000");
+        balance.putObject("lockedBalance");
+        return balance;
+    }
+
+    private JsonNode coins(JsonNode params) {
+        String owner = params.path(0).asText();
+        String coinType = params.path(1).asText(SUI_COIN_TYPE);
+        ObjectNode page = mapper.createObjectNode();
+        ArrayNode data = page.putArray("data");
+        for (int i = 0; i < pageSize; i++) {
+            String coinId = id(owner, coinType + i);
+            data.addObject()
+                    .put("coinType", coinType)
+                    .put("coinObjectId", coinId)
+                    .put("version", 100 + i)
+                    .put("digest", digest(coinId))
+                    .put("balance", String.valueOf(1_000_000_000L * (i + 1)))
+                    .put("previousTransaction", digest(owner + i));
+        }
+        page.put("nextCursor", pageSize == 0 ? null : data.get(pageSize - 1).get("coinObjectId").asText());
+        page.put("hasNextPage", false);
+        return page;
+    }
+
+    private JsonNode ownedObjects(JsonNode params) {
+        String owner = params.path(0).asText();
+        ObjectNode page = mapper.createObjectNode();
+        ArrayNode data = page.putArray("data");
+        String last = null;
+        for (int i = 0; i < pageSize; i++) {
+            last = id(owner, "owned" + i);
+            data.add(objectResponse(last));
+        }
+        page.put("nextCursor", last);
+        page.put("hasNextPage", false);
+        return page;
+    }
+
+    private JsonNode multiGetObjects(JsonNode params) {
+        ArrayNode result = mapper.createArrayNode();
+        for (JsonNode objectId : params.path(0)) {
+            result.add(objectResponse(objectId.asText()));
+        }
+        return result;
+    }
+
+    private ObjectNode objectResponse(String objectId) {
+        ObjectNode response = mapper.createObjectNode();
+        ObjectNode data = response.putObject("data")
+                .put("objectId", objectId)
+                .put("version", "100")
+                .put("digest", digest(objectId))
+                .put("type", "0x2::coin::Coin<" + SUI_COIN_TYPE + ">")
+                .put("previousTransaction", digest("tx" + objectId))
+                .put("storageRebate", "988000");
+        data.putObject("owner").putObject("Shared").put("initial_shared_version", 1);
+        ObjectNode content = data.putObject("content")
+                .put("dataType", "moveObject")
+                .put("type", "0x2::coin::Coin<" + SUI_COIN_TYPE + ">")
+                .put("hasPublicTransfer", true);
+        content.putObject("fields")
+                .put("balance", "1000000000")
+                .putObject("id").put("id", objectId);
+        return response;
+    }
+
+    private JsonNode events(JsonNode params) {
+        JsonNode cursor = params.path(1);
+        long start = cursor.isObject() ? cursor.path("eventSeq").asLong() + 1 : 0;
+        String padding = "x".repeat(eventPadding);
+        ObjectNode page = mapper.createObjectNode();
+        ArrayNode data = page.putArray("data");
+        ObjectNode last = null;
+        for (int i = 0; i < pageSize; i++) {
+            long seq = start + i;
+            ObjectNode event = data.addObject();
+            last = event.putObject("id").put("txDigest", digest("event" + seq)).put("eventSeq", String.valueOf(seq));
+            event.put("packageId", "0x2")
+                    .put("transactionModule", "fake")
+                    .put("sender", id("sender", String.valueOf(seq)))
+                    .put("type", "0x2::fake::FakeEvent")
+                    .put("timestampMs", String.valueOf(1_700_000_000_000L + seq))
+                    .put("bcs", Base64.getEncoder().encodeToString(new byte[16]))
+                    .put("bcsEncoding", "base64");
+            event.putObject("parsedJson").put("seq", seq).put("padding", padding);
+        }
+        if (last != null) {
+            page.set("nextCursor", last.deepCopy());
+        } else {
+            page.putNull("nextCursor");
+        }
+        page.put("hasNextPage", false);
+        return page;
+    }
+
+    private JsonNode systemState() {
+        ObjectNode state = mapper.createObjectNode()
+                .put("epoch", 500)
+                .put("epochDurationMs", 86_400_000)
+                .put("epochStartTimestampMs", 1_700_000_000_000L)
+                .put("referenceGasPrice", "750")
+                .put("protocolVersion", "90")
+                .put("systemStateVersion", "2");
+        state.putArray("activeValidators");
+        state.putObject("atRiskValidators");
+        return state;
+    }
+
+    private ObjectNode function() {
+        ObjectNode function = mapper.createObjectNode()
+                .put("visibility", "Public")
+                .put("isEntry", true);
+        function.putArray("typeParameters");
+        function.putArray("parameters").add("U64");
+        function.putArray("return");
+        return function;
+    }
+
+    private ObjectNode struct() {
+        ObjectNode struct = mapper.createObjectNode();
+        struct.putObject("abilities").putArray("abilities").add("Store").add("Key");
+        struct.putArray("typeParameters");
+        struct.putArray("fields").addObject().put("name", "value").put("type", "U64");
+        return struct;
+    }
+
+    private ObjectNode module(String address, String name) {
+        ObjectNode module = mapper.createObjectNode()
+                .put("fileFormatVersion", 6)
+                .put("address", address)
+                .put("name", name);
+        module.putArray("friends");
+        module.putObject("structs").set("Fake", struct());
+        module.putObject("exposedFunctions").set("fake", function());
+        return module;
+    }
+
+    private JsonNode modulesByPackage(JsonNode params) {
+        ObjectNode modules = mapper.createObjectNode();
+        for (int i = 0; i < Math.max(1, pageSize / 5); i++) {
+            modules.set("module" + i, module(params.path(0).asText("0x2"), "module" + i));
+        }
+        return modules;
+    }
+
+    private JsonNode transactionBytes(JsonNode params) {
+        String sender = params.path(0).asText();
+        ObjectNode bytes = mapper.createObjectNode()
+                .put("txBytes", Base64.getEncoder().encodeToString(params.toString().getBytes(StandardCharsets.UTF_8)));
+        String gasId = id(sender, "gas");
+        bytes.putArray("gas").addObject()
+                .put("objectId", gasId)
+                .put("version", 100)
+                .put("digest", digest(gasId));
+        bytes.putArray("inputObjects");
+        return bytes;
+    }
+
+    private JsonNode executionResult(JsonNode params) {
+        String digest = digest(params.path(0).asText());
+        ObjectNode result = mapper.createObjectNode()
+                .put("digest", digest)
+                .put("confirmedLocalExecution", true)
+                .put("checkpoint", "1000001");
+        ObjectNode effects = result.putObject("effects")
+                .put("transactionDigest", digest)
+                .put("executedEpoch", "500");
+        effects.putObject("status").put("status", "success");
+        effects.putObject("gasUsed")
+                .put("computationCost", "750000")
+                .put("storageCost", "1976000")
+                .put("storageRebate", "978120")
+                .put("nonRefundableStorageFee", "9880");
+        return result;
+    }
+
+    /**
+     * Deterministic 32-byte object id.
+     */
+    static String id(String seed, String salt) {
+        return "0x" + HexFormat.of().formatHex(HashUtil.sha256((seed + "/" + salt).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Deterministic base58 digest.
+     */
+    static String digest(String seed) {
+        return HashUtil.sha256Base58(seed);
+    }
+}
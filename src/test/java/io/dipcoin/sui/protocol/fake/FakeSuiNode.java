@@ -0,0 +1,247 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.fake;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.dipcoin.sui.protocol.ObjectMapperFactory;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/30 11:00
+ * @Description : Local stand-in for a Sui full node. Serves generated results for every JsonRpcSui method,
+ * single and batched, with configurable latency, injected errors and response sizes, so that transport,
+ * deserialization and transaction pipeline throughput can be measured without network access.
+ * <pre>
+ * try (FakeSuiNode node = FakeSuiNode.start()) {
+ *     node.latency(LatencyModel.logNormal(Duration.ofMillis(20), 0.5)).pageSize(50);
+ *     SuiClient client = SuiClient.build(new HttpService(node.url()));
+ *     ...
+ * }
+ * </pre>
+ */
+@Slf4j
+public class FakeSuiNode extends Dispatcher implements AutoCloseable {
+
+    public static final int INTERNAL_ERROR = -32603;
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ObjectMapper mapper = ObjectMapperFactory.getObjectMapper();
+
+    private final FakeResponses responses = new FakeResponses(mapper);
+
+    private final Map<String, LatencyModel> methodLatency = new ConcurrentHashMap<>();
+
+    private volatile LatencyModel latency = LatencyModel.NONE;
+
+    // Error injection
+    private volatile double rpcErrorRate;
+    private volatile int rpcErrorCode = INTERNAL_ERROR;
+    private volatile double httpErrorRate;
+    private volatile int httpErrorStatus = 503;
+
+    // Statistical information.
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final LongAdder injectedErrors = new LongAdder();
+
+    private FakeSuiNode() {
+        server.setDispatcher(this);
+    }
+
+    /**
+     * Start a node on a free local port.
+     */
+    public static FakeSuiNode start() throws IOException {
+        FakeSuiNode node = new FakeSuiNode();
+        node.server.start();
+        return node;
+    }
+
+    public String url() {
+        return server.url("/").toString();
+    }
+
+    /**
+     * Delay applied to every response.
+     */
+    public FakeSuiNode latency(LatencyModel latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Delay applied to one method, overriding the default latency.
+     */
+    public FakeSuiNode latency(String method, LatencyModel latency) {
+        methodLatency.put(method, latency);
+        return this;
+    }
+
+    /**
+     * Answer the given fraction of calls with a JSON-RPC error.
+     */
+    public FakeSuiNode rpcErrorRate(double rate, int code) {
+        this.rpcErrorRate = rate;
+        this.rpcErrorCode = code;
+        return this;
+    }
+
+    /**
+     * Answer the given fraction of HTTP requests with an HTTP error status, e.g. 429 or 503.
+     */
+    public FakeSuiNode httpErrorRate(double rate, int status) {
+        this.httpErrorRate = rate;
+        this.httpErrorStatus = status;
+        return this;
+    }
+
+    /**
+     * Number of items in coin, object, event and module list results.
+     */
+    public FakeSuiNode pageSize(int pageSize) {
+        responses.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Extra characters in the parsedJson of every event, to grow responses without adding items.
+     */
+    public FakeSuiNode eventPadding(int chars) {
+        responses.eventPadding = chars;
+        return this;
+    }
+
+    /**
+     * Replace the generated result of a method. The function receives the params array.
+     */
+    public FakeSuiNode respond(String method, Function<JsonNode, JsonNode> result) {
+        responses.override(method, result);
+        return this;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        long delayNanos;
+        JsonNode body;
+        try {
+            body = mapper.readTree(request.getBody().inputStream());
+        } catch (IOException e) {
+            return json(error(null, -32700, "Parse error: " + e.getMessage()).toString());
+        }
+        if (roll(httpErrorRate)) {
+            injectedErrors.increment();
+            return delay(new MockResponse().setResponseCode(httpErrorStatus).setBody("injected"), latency.sampleNanos());
+        }
+        JsonNode response;
+        if (body.isArray()) {
+            ArrayNode batch = mapper.createArrayNode();
+            delayNanos = 0;
+            for (JsonNode call : body) {
+                batch.add(call(call));
+                delayNanos = Math.max(delayNanos, latencyOf(call.path("method").asText()).sampleNanos());
+            }
+            response = batch;
+        } else {
+            response = call(body);
+            delayNanos = latencyOf(body.path("method").asText()).sampleNanos();
+        }
+        return delay(json(response.toString()), delayNanos);
+    }
+
+    private JsonNode call(JsonNode call) {
+        JsonNode id = call.get("id");
+        String method = call.path("method").asText();
+        requestCounts.computeIfAbsent(method, k -> new LongAdder()).increment();
+        if (!responses.supports(method)) {
+            return error(id, -32601, "Method not found: " + method);
+        }
+        if (roll(rpcErrorRate)) {
+            injectedErrors.increment();
+            return error(id, rpcErrorCode, "Injected error");
+        }
+        try {
+            ObjectNode response = envelope(id);
+            response.set("result", responses.generate(method, call.get("params")));
+            return response;
+        } catch (RuntimeException e) {
+            log.warn("Fake result of {} failed", method, e);
+            return error(id, INTERNAL_ERROR, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private LatencyModel latencyOf(String method) {
+        return methodLatency.getOrDefault(method, latency);
+    }
+
+    private ObjectNode envelope(JsonNode id) {
+        ObjectNode response = mapper.createObjectNode().put("jsonrpc", "2.0");
+        response.set("id", id);
+        return response;
+    }
+
+    private ObjectNode error(JsonNode id, int code, String message) {
+        ObjectNode response = envelope(id);
+        response.putObject("error").put("code", code).put("message", message);
+        return response;
+    }
+
+    private static boolean roll(double rate) {
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+
+    private static MockResponse delay(MockResponse response, long nanos) {
+        return nanos > 0 ? response.setHeadersDelay(nanos, TimeUnit.NANOSECONDS) : response;
+    }
+
+    public long getRequestCount(String method) {
+        LongAdder count = requestCounts.get(method);
+        return count == null ? 0 : count.sum();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    /**
+     * Number of HTTP requests received, a batch counts once.
+     */
+    public int getHttpRequestCount() {
+        return server.getRequestCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+}
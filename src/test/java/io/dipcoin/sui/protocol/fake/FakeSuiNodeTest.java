@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.fake;
+
+import io.dipcoin.sui.model.filter.EventFilter;
+import io.dipcoin.sui.model.object.ObjectDataOptions;
+import io.dipcoin.sui.protocol.SuiClient;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import io.dipcoin.sui.protocol.http.HttpService;
+import io.dipcoin.sui.protocol.http.request.GetCoins;
+import io.dipcoin.sui.protocol.http.request.MultiGetObjects;
+import io.dipcoin.sui.protocol.http.request.QueryEvents;
+import io.dipcoin.sui.protocol.http.response.GasPriceWrapper;
+import io.dipcoin.sui.protocol.http.response.PageForCoinAndStringWrapper;
+import io.dipcoin.sui.protocol.http.response.PageForEventAndEventIdWrapper;
+import io.dipcoin.sui.protocol.http.response.SuiMultiObjectResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/30 14:30
+ * @Description :
+ */
+class FakeSuiNodeTest {
+
+    private FakeSuiNode node;
+
+    private HttpService suiService;
+
+    private SuiClient suiClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        node = FakeSuiNode.start();
+        suiService = new HttpService(node.url());
+        suiClient = SuiClient.build(suiService);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        suiService.close();
+        node.close();
+    }
+
+    @Test
+    void servesGeneratedResults() throws Exception {
+        node.pageSize(25);
+
+        GasPriceWrapper gasPrice = suiClient.getReferenceGasPrice().send();
+        assertThat(gasPrice.getGasPrice()).isEqualTo(BigInteger.valueOf(750));
+
+        GetCoins getCoins = new GetCoins();
+        getCoins.setOwner(FakeResponses.id("owner", "0"));
+        PageForCoinAndStringWrapper coins = suiClient.getCoins(getCoins).send();
+        assertThat(coins.getResult().getData()).hasSize(25);
+
+        MultiGetObjects multiGet = new MultiGetObjects();
+        multiGet.setObjectIds(List.of("0x5", "0x6"));
+        multiGet.setOptions(new ObjectDataOptions());
+        SuiMultiObjectResponseWrapper objects = suiClient.multiGetObjects(multiGet).send();
+        assertThat(objects.getResult()).extracting(response -> response.getData().getObjectId())
+                .containsExactly("0x5", "0x6");
+
+        QueryEvents query = new QueryEvents();
+        query.setQuery(new EventFilter());
+        PageForEventAndEventIdWrapper events = suiClient.queryEvents(query).send();
+        assertThat(events.getResult().getData()).hasSize(25);
+        assertThat(node.getRequestCount(RpcMethod.QUERY_EVENTS)).isEqualTo(1);
+    }
+
+    @Test
+    void injectsErrorsAndLatency() throws Exception {
+        node.rpcErrorRate(1.0, FakeSuiNode.INTERNAL_ERROR)
+                .latency(LatencyModel.fixed(Duration.ofMillis(50)));
+
+        long start = System.nanoTime();
+        GasPriceWrapper response = suiClient.getReferenceGasPrice().send();
+
+        assertThat(response.hasError()).isTrue();
+        assertThat(response.getError().getCode()).isEqualTo(FakeSuiNode.INTERNAL_ERROR);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+        assertThat(node.getInjectedErrors()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.fake;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/30 10:05
+ * @Description : Latency distribution of the fake node, sampled once per response
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    LatencyModel NONE = () -> 0L;
+
+    /**
+     * Sample a delay.
+     * @return delay in nanoseconds
+     */
+    long sampleNanos();
+
+    static LatencyModel fixed(Duration delay) {
+        long nanos = delay.toNanos();
+        return () -> nanos;
+    }
+
+    static LatencyModel uniform(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long maxNanos = max.toNanos();
+        return () -> ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1);
+    }
+
+    /**
+     * Log-normal distribution, the usual shape of network round trips with a long tail.
+     * @param median median delay
+     * @param sigma standard deviation of the underlying normal distribution, e.g. 0.5
+     */
+    static LatencyModel logNormal(Duration median, double sigma) {
+        double mu = Math.log(median.toNanos());
+        return () -> (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http;
+
+import io.dipcoin.sui.model.BatchRequest;
+import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import io.dipcoin.sui.protocol.http.endpoint.Endpoint;
+import io.dipcoin.sui.protocol.http.response.GasPriceWrapper;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/12 16:30
+ * @Description :
+ */
+class BatchReadConsistencyTest {
+
+    private MockWebServer lagging;
+
+    private MockWebServer writer;
+
+    private MultiHttpService suiService;
+
+    // The first request goes to the writer, the following ones to the lagging endpoint unless fenced
+    private final AtomicBoolean first = new AtomicBoolean(true);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        lagging = new MockWebServer();
+        writer = new MockWebServer();
+        lagging.start();
+        writer.start();
+        suiService = new MultiHttpService(List.of(lagging.url("/").toString(), writer.url("/").toString()),
+                endpoints -> first.getAndSet(false) ? List.of(endpoints.get(1), endpoints.get(0)) : endpoints);
+        suiService.enableReadConsistency();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        suiService.close();
+        lagging.shutdown();
+        writer.shutdown();
+    }
+
+    @Test
+    void batchWritesFenceTheFollowingReadBatches() throws Exception {
+        writer.enqueue(new MockResponse().setBody("[{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"ok\"}]"));
+        BatchRequest write = new BatchRequest(suiService);
+        write.add(request(RpcMethod.EXECUTE_TRANSACTION_BLOCK, 1));
+        write.send().get(5, TimeUnit.SECONDS);
+
+        writer.enqueue(new MockResponse().setBody("[{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"1000\"},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":3,\"result\":\"1000\"}]"));
+        BatchRequest read = new BatchRequest(suiService);
+        read.add(request(RpcMethod.GET_REFERENCE_GAS_PRICE, 2));
+        read.add(request(RpcMethod.GET_REFERENCE_GAS_PRICE, 3));
+        read.send().get(5, TimeUnit.SECONDS);
+
+        assertThat(writer.getRequestCount()).isEqualTo(2);
+        assertThat(lagging.getRequestCount()).isZero();
+        Endpoint fenced = suiService.getEndpoints().get(1);
+        assertThat(suiService.getReadConsistency().getFencedWrites()).isEqualTo(1);
+        assertThat(suiService.getReadConsistency().order(suiService.getEndpoints()).getFirst()).isSameAs(fenced);
+    }
+
+    private Request<?, GasPriceWrapper> request(String method, long id) {
+        Request<Object, GasPriceWrapper> request = new Request<>(method, List.of(), suiService, GasPriceWrapper.class);
+        request.setId(id);
+        return request;
+    }
+}
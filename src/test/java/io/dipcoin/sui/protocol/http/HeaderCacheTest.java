@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http;
+
+import okhttp3.Headers;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/4 14:20
+ * @Description :
+ */
+class HeaderCacheTest {
+
+    @Test
+    void reusesHeadersUntilTheMapChanges() {
+        Map<String, String> source = new HashMap<>();
+        source.put("Authorization", "Bearer a");
+        HeaderCache cache = new HeaderCache(source);
+
+        Headers first = cache.get();
+        assertThat(cache.get()).isSameAs(first);
+        assertThat(first.get("Authorization")).isEqualTo("Bearer a");
+
+        source.put("Authorization", "Bearer b");
+        Headers second = cache.get();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.get("Authorization")).isEqualTo("Bearer b");
+        assertThat(cache.get()).isSameAs(second);
+    }
+}
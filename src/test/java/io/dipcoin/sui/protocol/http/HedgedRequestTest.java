@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http;
+
+import io.dipcoin.sui.protocol.SuiClient;
+import io.dipcoin.sui.protocol.http.endpoint.CircuitState;
+import io.dipcoin.sui.protocol.http.endpoint.Endpoint;
+import io.dipcoin.sui.protocol.http.endpoint.EndpointSelector;
+import io.dipcoin.sui.protocol.http.endpoint.HedgePolicy;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/12 10:20
+ * @Description :
+ */
+class HedgedRequestTest {
+
+    private static final String GAS_PRICE = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"1000\"}";
+
+    private MockWebServer slow;
+
+    private MockWebServer fast;
+
+    private MultiHttpService suiService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        slow = new MockWebServer();
+        fast = new MockWebServer();
+        slow.start();
+        fast.start();
+        suiService = new MultiHttpService(List.of(slow.url("/").toString(), fast.url("/").toString()),
+                EndpointSelector.ordered());
+        suiService.setHedgePolicy(new HedgePolicy(95.0, Duration.ofMillis(1), Duration.ofMillis(20)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        suiService.close();
+        slow.shutdown();
+        fast.shutdown();
+    }
+
+    @Test
+    void cancelledLosersDoNotOpenTheCircuit() throws Exception {
+        SuiClient suiClient = SuiClient.build(suiService);
+        for (int i = 0; i < 5; i++) {
+            slow.enqueue(new MockResponse().setBody(GAS_PRICE).setHeadersDelay(1, TimeUnit.SECONDS));
+            fast.enqueue(new MockResponse().setBody(GAS_PRICE));
+
+            assertThat(suiClient.getReferenceGasPrice().send().getResult()).isEqualTo("1000");
+        }
+
+        Endpoint loser = suiService.getEndpoints().getFirst();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loser.getInFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(loser.getInFlight()).isZero();
+        assertThat(loser.getStats().failureCount()).isZero();
+        assertThat(loser.getCircuitBreaker().getState()).isEqualTo(CircuitState.CLOSED);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http;
+
+import io.dipcoin.sui.model.PageCursor;
+import io.dipcoin.sui.model.coin.Coin;
+import io.dipcoin.sui.model.event.EventId;
+import io.dipcoin.sui.model.filter.EventFilter;
+import io.dipcoin.sui.protocol.SuiClient;
+import io.dipcoin.sui.protocol.exceptions.RpcRequestFailedException;
+import io.dipcoin.sui.protocol.http.request.GetCoins;
+import io.dipcoin.sui.protocol.http.request.QueryEvents;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/10 15:20
+ * @Description :
+ */
+class PageStreamTest {
+
+    private MockWebServer server;
+
+    private HttpService suiService;
+
+    private SuiClient suiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        suiService = new HttpService(server.url("/").toString());
+        suiClient = SuiClient.build(suiService);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        suiService.close();
+        server.shutdown();
+    }
+
+    @Test
+    void handsOverEachCoinAndReportsTheCursorAtTheEnd() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"hasNextPage\":true,"
+                + "\"data\":[{\"coinObjectId\":\"0x1\",\"balance\":\"10\"},{\"coinObjectId\":\"0x2\",\"balance\":\"20\"}],"
+                + "\"nextCursor\":\"0x2\"}}"));
+
+        List<Coin> coins = new ArrayList<>();
+        GetCoins getCoins = new GetCoins();
+        getCoins.setOwner("0xa");
+        PageCursor<String> cursor = suiClient.getCoins(getCoins).stream(coins::add);
+
+        assertThat(coins).extracting(Coin::getCoinObjectId).containsExactly("0x1", "0x2");
+        assertThat(coins.get(1).getBalance()).isEqualTo(BigInteger.valueOf(20));
+        assertThat(cursor).isEqualTo(new PageCursor<>("0x2", true));
+    }
+
+    @Test
+    void decodesObjectCursorsAndSurfacesErrors() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"data\":[],"
+                + "\"nextCursor\":{\"txDigest\":\"d\",\"eventSeq\":\"3\"},\"hasNextPage\":false}}"));
+        server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":2,"
+                + "\"error\":{\"code\":-32602,\"message\":\"Invalid params\"}}"));
+
+        QueryEvents query = new QueryEvents();
+        query.setQuery(new EventFilter());
+        PageCursor<EventId> cursor = suiClient.queryEvents(query).stream(event -> { });
+
+        assertThat(cursor.hasNextPage()).isFalse();
+        assertThat(cursor.nextCursor().getTxDigest()).isEqualTo("d");
+        assertThat(cursor.nextCursor().getEventSeq()).isEqualTo(BigInteger.valueOf(3));
+        assertThatThrownBy(() -> suiClient.queryEvents(query).stream(event -> { }))
+                .isInstanceOf(RpcRequestFailedException.class)
+                .hasMessage("Invalid params");
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.compression;
+
+import io.dipcoin.sui.protocol.metrics.InMemoryRpcMetrics;
+import io.dipcoin.sui.protocol.metrics.MetricsSnapshot;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.Okio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/8 14:05
+ * @Description :
+ */
+class CompressionInterceptorTest {
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private static final String BODY = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"" + "0x00".repeat(2000) + "\"}";
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void decodesGzipResponseAndRecordsSavings() throws Exception {
+        server.enqueue(new MockResponse().addHeader("Content-Encoding", "gzip").setBody(gzip(BODY)));
+        InMemoryRpcMetrics metrics = new InMemoryRpcMetrics();
+        OkHttpClient client = client(CompressionConfig.defaults());
+
+        try (Response response = client.newCall(request(metrics)).execute()) {
+            assertThat(response.header("Content-Encoding")).isNull();
+            assertThat(response.body().string()).isEqualTo(BODY);
+        }
+
+        assertThat(server.takeRequest().getHeader("Accept-Encoding")).isEqualTo("br, gzip");
+        MetricsSnapshot.EndpointSnapshot endpoint = metrics.snapshot().methods().get(0).endpoints().get(0);
+        assertThat(endpoint.endpoint()).isEqualTo("node");
+        assertThat(endpoint.compressedResponses()).isEqualTo(1);
+        assertThat(endpoint.responseBytesSaved()).isGreaterThan(BODY.length() / 2);
+    }
+
+    @Test
+    void compressesLargeRequestsWhenEnabled() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+        InMemoryRpcMetrics metrics = new InMemoryRpcMetrics();
+        OkHttpClient client = client(CompressionConfig.gzip().withRequestCompression(1024));
+
+        try (Response response = client.newCall(request(metrics)).execute()) {
+            assertThat(response.body().string()).isEqualTo("{}");
+        }
+
+        RecordedRequest recorded = server.takeRequest();
+        assertThat(recorded.getHeader("Accept-Encoding")).isEqualTo("gzip");
+        assertThat(recorded.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(Okio.buffer(new GzipSource(recorded.getBody())).readUtf8()).isEqualTo(BODY);
+        assertThat(metrics.snapshot().methods().get(0).endpoints().get(0).requestBytesSaved()).isPositive();
+    }
+
+    private OkHttpClient client(CompressionConfig config) {
+        return new OkHttpClient.Builder().addInterceptor(new CompressionInterceptor(config)).build();
+    }
+
+    private Request request(InMemoryRpcMetrics metrics) {
+        return new Request.Builder().url(server.url("/"))
+                .post(RequestBody.create(BODY, JSON))
+                .tag(CallTag.class, new CallTag("sui_getObject", "node", metrics))
+                .build();
+    }
+
+    private static Buffer gzip(String body) throws IOException {
+        Buffer buffer = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+            sink.writeUtf8(body);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/13 10:10
+ * @Description :
+ */
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailuresOnly() {
+        CircuitBreaker breaker = new CircuitBreaker(new CircuitBreakerConfig(3, Duration.ofMinutes(1)));
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitState.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void halfOpenLetsASingleTrialThrough() {
+        CircuitBreaker breaker = new CircuitBreaker(new CircuitBreakerConfig(1, Duration.ofMinutes(1)));
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        // Open period elapsed
+        breaker.setConfig(new CircuitBreakerConfig(1, Duration.ZERO));
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitState.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        // An unused trial slot is given back
+        breaker.releaseTrial();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitState.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void failedTrialReopensTheCircuit() {
+        CircuitBreaker breaker = new CircuitBreaker(new CircuitBreakerConfig(3, Duration.ZERO));
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitState.HALF_OPEN);
+
+        // A single failure is enough once the circuit has opened
+        breaker.setConfig(new CircuitBreakerConfig(3, Duration.ofMinutes(1)));
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import io.dipcoin.sui.model.BatchEnvelope;
+import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import io.dipcoin.sui.protocol.exceptions.RateLimitRejectedException;
+import io.dipcoin.sui.protocol.retry.RetryConfig;
+import io.dipcoin.sui.protocol.retry.RetryPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/12 11:40
+ * @Description :
+ */
+class RateLimiterTest {
+
+    @Test
+    void servesTheBurstAndRefillsOverTime() throws Exception {
+        RateLimiter limiter = new RateLimiter(new RateLimitConfig(10, 5, 10, Duration.ofSeconds(1), Map.of()));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.acquireAsync(1)).isDone();
+        }
+        // Bucket empty: this call takes the next interval, the following one has to wait for it
+        assertThat(limiter.acquireAsync(1)).isDone();
+        CompletableFuture<Void> waiting = limiter.acquireAsync(1);
+        assertThat(waiting).isNotDone();
+        assertThat(limiter.getQueueDepth()).isEqualTo(1);
+
+        waiting.get(1, TimeUnit.SECONDS);
+        assertThat(limiter.getQueueDepth()).isZero();
+        Thread.sleep(600);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.acquireAsync(1)).isDone();
+        }
+    }
+
+    @Test
+    void heavyCallsDelayTheFollowingOnes() {
+        RateLimiter limiter = new RateLimiter(new RateLimitConfig(100, 1, 10, Duration.ofMillis(100), Map.of()));
+
+        assertThat(limiter.acquireAsync(1)).isDone();
+        // Weight 20 reserves 200ms of permits, more than the following call may wait
+        assertThat(limiter.acquireAsync(20)).isDone();
+
+        assertThatThrownBy(() -> limiter.acquire(1))
+                .isInstanceOfSatisfying(RateLimitRejectedException.class,
+                        e -> assertThat(e.getRetryAfter()).isGreaterThan(Duration.ofMillis(150)));
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void weighsABatchByItsEntries() {
+        RateLimitConfig config = RateLimitConfig.of(10).withMethodWeights(Map.of(RpcMethod.MULTI_GET_OBJECTS, 5));
+        BatchEnvelope batch = new BatchEnvelope(List.of(
+                request(RpcMethod.MULTI_GET_OBJECTS), request(RpcMethod.GET_OBJECT), request(RpcMethod.GET_OBJECT)));
+
+        assertThat(config.weightOf(batch)).isEqualTo(7);
+        assertThat(config.weightOf(new BatchEnvelope(List.of()))).isEqualTo(1);
+        assertThat(config.weightOf(request(RpcMethod.MULTI_GET_OBJECTS))).isEqualTo(5);
+        assertThat(config.weightOf((Request<?, ?>) null)).isEqualTo(1);
+    }
+
+    @Test
+    void localRejectionIsNotRetried() {
+        RateLimiter limiter = new RateLimiter(new RateLimitConfig(1, 1, 0, Duration.ofSeconds(5), Map.of()));
+        // The burst permit, then a reservation on the next interval leave the queue of size 0 full
+        limiter.acquire(1);
+        limiter.acquireAsync(1);
+
+        RetryPolicy policy = new RetryPolicy(new RetryConfig(3, Duration.ofMillis(1), Duration.ofMillis(5), 2.0,
+                Duration.ofSeconds(5), 0.2, 10));
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> policy.execute(RpcMethod.GET_OBJECT, () -> {
+            calls.incrementAndGet();
+            limiter.acquire(1);
+            return null;
+        })).isInstanceOf(RateLimitRejectedException.class);
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    private static Request<?, ?> request(String method) {
+        return new Request<>(method, List.of(), null, null);
+    }
+}
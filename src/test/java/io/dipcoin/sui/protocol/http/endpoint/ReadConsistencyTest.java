@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.endpoint;
+
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/3 15:40
+ * @Description :
+ */
+class ReadConsistencyTest {
+
+    private final Endpoint a = new Endpoint("http://a");
+    private final Endpoint b = new Endpoint("http://b");
+    private final Endpoint c = new Endpoint("http://c");
+
+    @Test
+    void pinsReadsToTheWriterUntilOthersCatchUp() throws Exception {
+        ReadConsistency consistency = new ReadConsistency(Duration.ofMinutes(1), 16);
+        assertThat(consistency.order(List.of(a, b, c))).containsExactly(a, b, c);
+
+        String executed = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"digest\":\"x\",\"effects\":{\"status\":{\"status\":\"success\"}},\"checkpoint\":\"120\"}}";
+        InputStream result = consistency.observe(c, RpcMethod.EXECUTE_TRANSACTION_BLOCK, stream(executed));
+
+        assertThat(new String(result.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(executed);
+        assertThat(c.getCheckpoint()).isEqualTo(120);
+        assertThat(consistency.order(List.of(a, b, c))).containsExactly(c, a, b);
+
+        consistency.observe(b, RpcMethod.GET_LATEST_CHECKPOINT_SEQUENCE_NUMBER,
+                stream("{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"121\"}")).close();
+        assertThat(consistency.order(List.of(a, b, c))).containsExactly(b, c, a);
+        assertThat(consistency.getReroutedReads()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresFailedWritesAndExpiresFences() throws Exception {
+        ReadConsistency consistency = new ReadConsistency(Duration.ofMillis(20), 16);
+
+        consistency.observe(b, RpcMethod.EXECUTE_TRANSACTION_BLOCK,
+                stream("{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":-32002,\"message\":\"failed\"}}")).close();
+        assertThat(consistency.isActive()).isFalse();
+
+        consistency.onWrite(b, -1);
+        assertThat(consistency.order(List.of(a, b))).containsExactly(b, a);
+        Thread.sleep(30);
+        assertThat(consistency.order(List.of(a, b))).containsExactly(a, b);
+        assertThat(consistency.getActiveFences()).isZero();
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.http.priority;
+
+import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.protocol.SuiService;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import io.dipcoin.sui.protocol.http.HttpService;
+import io.dipcoin.sui.protocol.http.MultiHttpService;
+import io.dipcoin.sui.protocol.http.response.GasPriceWrapper;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author : Same
+ * @datetime : 2025/11/12 17:20
+ * @Description :
+ */
+class PriorityLanesTest {
+
+    private final PriorityLanes lanes = PriorityLanes.defaults(new OkHttpClient());
+
+    @Test
+    void mapsMethodsAndHonoursKnownOverrides() {
+        assertThat(lanes.classOf(request(RpcMethod.EXECUTE_TRANSACTION_BLOCK))).isEqualTo(PriorityClass.CRITICAL_NAME);
+        assertThat(lanes.classOf(request(RpcMethod.QUERY_EVENTS))).isEqualTo(PriorityClass.BULK_NAME);
+        assertThat(lanes.classOf(request(RpcMethod.GET_OBJECT))).isEqualTo(PriorityClass.INTERACTIVE_NAME);
+        assertThat(lanes.classOf(null)).isEqualTo(PriorityClass.INTERACTIVE_NAME);
+        assertThat(lanes.classOf(request(RpcMethod.QUERY_EVENTS).withPriority(PriorityClass.CRITICAL_NAME)))
+                .isEqualTo(PriorityClass.CRITICAL_NAME);
+    }
+
+    @Test
+    void rejectsUnknownOverrides() {
+        assertThatThrownBy(() -> lanes.clientFor(request(RpcMethod.GET_OBJECT).withPriority("urgent")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("urgent");
+    }
+
+    @Test
+    void reportsUnknownOverridesThroughTheFuture() throws Exception {
+        try (HttpService service = new HttpService("http://127.0.0.1:1")) {
+            service.enablePriorityLanes();
+            assertFailsAsynchronously(service);
+        }
+        try (MultiHttpService service = new MultiHttpService(List.of("http://127.0.0.1:1"))) {
+            service.enablePriorityLanes();
+            assertFailsAsynchronously(service);
+        }
+    }
+
+    @Test
+    void shutdownStopsTheDispatchers() {
+        lanes.shutdown();
+
+        for (String name : List.of(PriorityClass.CRITICAL_NAME, PriorityClass.INTERACTIVE_NAME, PriorityClass.BULK_NAME)) {
+            assertThat(lanes.getClient(name).dispatcher().executorService().isShutdown()).isTrue();
+        }
+    }
+
+    private static void assertFailsAsynchronously(SuiService service) {
+        CompletableFuture<GasPriceWrapper> future = new Request<>(RpcMethod.GET_REFERENCE_GAS_PRICE,
+                Collections.<String>emptyList(), service, GasPriceWrapper.class).withPriority("urgent").sendAsync();
+
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join).hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Request<?, ?> request(String method) {
+        return new Request<>(method, List.of(), null, null);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.limit;
+
+import io.dipcoin.sui.protocol.exceptions.ConcurrencyLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/25 11:40
+ * @Description : Adaptive concurrency limiter unit test
+ */
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void shouldQueueAndRejectOverLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitConfig(2, 1, 10, 0.2, 1.5, 0.9, 1000, 1, Duration.ofSeconds(5)));
+        assertThat(limiter.acquireAsync()).isDone();
+        assertThat(limiter.acquireAsync()).isDone();
+
+        CompletableFuture<Void> queued = limiter.acquireAsync();
+        assertThat(queued).isNotDone();
+        assertThatThrownBy(() -> limiter.acquireAsync().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ConcurrencyLimitExceededException.class);
+
+        limiter.release(System.nanoTime(), null);
+        assertThat(queued).isDone();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShrinkOnTransportFailures() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitConfig(20, 4, 100, 1.0, 1.5, 0.5, 1000, 10, Duration.ofSeconds(1)));
+        limiter.acquireAsync().join();
+        limiter.release(System.nanoTime(), new IOException("connection reset"));
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(limiter.getDroppedCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.metrics;
+
+import io.dipcoin.sui.model.BatchRequest;
+import io.dipcoin.sui.model.PageCursor;
+import io.dipcoin.sui.model.Request;
+import io.dipcoin.sui.model.coin.Coin;
+import io.dipcoin.sui.protocol.Service;
+import io.dipcoin.sui.protocol.SuiClient;
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import io.dipcoin.sui.protocol.exceptions.RpcRequestFailedException;
+import io.dipcoin.sui.protocol.http.request.GetCoins;
+import io.dipcoin.sui.protocol.http.response.GasPriceWrapper;
+import io.dipcoin.sui.protocol.retry.RetryConfig;
+import io.dipcoin.sui.protocol.retry.RetryPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/26 11:30
+ * @Description : In-memory metrics unit test
+ */
+public class InMemoryRpcMetricsTest {
+
+    @Test
+    void shouldRecordPerMethod() throws Exception {
+        Service service = new Service() {
+            @Override
+            protected InputStream performIO(String payload) {
+                String response = "{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":-32602,\"message\":\"Invalid params\"}}";
+                return new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void close() {}
+        };
+        InMemoryRpcMetrics metrics = new InMemoryRpcMetrics();
+        service.setMetrics(metrics);
+
+        new Request<>(RpcMethod.GET_REFERENCE_GAS_PRICE, Collections.<String>emptyList(), service, GasPriceWrapper.class).send();
+
+        MetricsSnapshot.MethodSnapshot snapshot = metrics.snapshot().methods().getFirst();
+        assertThat(snapshot.method()).isEqualTo(RpcMethod.GET_REFERENCE_GAS_PRICE);
+        assertThat(snapshot.requests()).isEqualTo(1);
+        assertThat(snapshot.bytesSent()).isPositive();
+        assertThat(snapshot.deserialization().count()).isEqualTo(1);
+        assertThat(snapshot.errors()).containsEntry("rpc_-32602", 1L);
+    }
+
+    @Test
+    void shouldSerializeRetriedRequestsOnce() throws Exception {
+        List<byte[]> payloads = new ArrayList<>();
+        Service service = new Service() {
+            @Override
+            protected InputStream performIO(String payload) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            protected InputStream performIO(Request<?, ?> request, byte[] payload) throws IOException {
+                payloads.add(payload);
+                if (payloads.size() == 1) {
+                    throw new IOException("connection reset");
+                }
+                String response = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"1000\"}";
+                return new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void close() {}
+        };
+        InMemoryRpcMetrics metrics = new InMemoryRpcMetrics();
+        service.setMetrics(metrics);
+        service.setRetryPolicy(new RetryPolicy(new RetryConfig(3, Duration.ofMillis(1), Duration.ofMillis(5), 2.0,
+                Duration.ofSeconds(5), 0.2, 10)));
+
+        new Request<>(RpcMethod.GET_REFERENCE_GAS_PRICE, Collections.<String>emptyList(), service, GasPriceWrapper.class).send();
+
+        assertThat(payloads).hasSize(2);
+        assertThat(payloads.get(1)).isSameAs(payloads.get(0));
+        MetricsSnapshot.MethodSnapshot snapshot = metrics.snapshot().methods().getFirst();
+        assertThat(snapshot.requests()).isEqualTo(1);
+        assertThat(snapshot.bytesSent()).isEqualTo(payloads.get(0).length);
+        assertThat(snapshot.retries()).isEqualTo(1);
+        assertThat(snapshot.serialization().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordStreamedPages() throws Exception {
+        List<String> responses = new ArrayList<>(List.of(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"data\":[{\"coinObjectId\":\"0x1\",\"balance\":\"5\"}],"
+                        + "\"nextCursor\":\"0x1\",\"hasNextPage\":true}}",
+                "{\"jsonrpc\":\"2.0\",\"id\":2,\"error\":{\"code\":-32602,\"message\":\"Invalid params\"}}"));
+        Service service = new Service() {
+            @Override
+            protected InputStream performIO(String payload) {
+                return new ByteArrayInputStream(responses.removeFirst().getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void close() {}
+        };
+        InMemoryRpcMetrics metrics = new InMemoryRpcMetrics();
+        service.setMetrics(metrics);
+        SuiClient suiClient = SuiClient.build(service);
+        GetCoins request = new GetCoins();
+        request.setOwner("0x2");
+
+        List<Coin> coins = new ArrayList<>();
+        PageCursor<String> cursor = suiClient.getCoins(request).stream(coins::add);
+        assertThatThrownBy(() -> suiClient.getCoins(request).stream(coins::add))
+                .isInstanceOf(RpcRequestFailedException.class)
+                .hasMessage("Invalid params");
+
+        assertThat(coins).extracting(Coin::getCoinObjectId).containsExactly("0x1");
+        assertThat(cursor.hasNextPage()).isTrue();
+        MetricsSnapshot.MethodSnapshot snapshot = metrics.snapshot().methods().getFirst();
+        assertThat(snapshot.requests()).isEqualTo(2);
+        assertThat(snapshot.deserialization().count()).isEqualTo(2);
+        assertThat(snapshot.errors()).containsEntry("rpc_-32602", 1L);
+    }
+
+    @Test
+    void shouldRecordBatches() throws Exception {
+        Service service = new Service() {
+            @Override
+            protected InputStream performIO(String payload) {
+                String response = "[{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"1000\"},"
+                        + "{\"jsonrpc\":\"2.0\",\"id\":2,\"error\":{\"code\":-32602,\"message\":\"Invalid params\"}}]";
+                return new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void close() {}
+        };
+        InMemoryRpcMetrics metrics = new InMemoryRpcMetrics();
+        service.setMetrics(metrics);
+
+        BatchRequest batch = new BatchRequest(service);
+        for (long id = 1; id <= 2; id++) {
+            Request<String, GasPriceWrapper> request = new Request<>(RpcMethod.GET_REFERENCE_GAS_PRICE,
+                    Collections.emptyList(), service, GasPriceWrapper.class);
+            request.setId(id);
+            batch.add(request);
+        }
+        batch.send().get(5, TimeUnit.SECONDS);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        MetricsSnapshot.MethodSnapshot batchSnapshot = snapshot.methods().getFirst();
+        assertThat(batchSnapshot.method()).isEqualTo("batch");
+        assertThat(batchSnapshot.requests()).isEqualTo(1);
+        assertThat(batchSnapshot.bytesSent()).isPositive();
+        assertThat(batchSnapshot.deserialization().count()).isEqualTo(1);
+        assertThat(snapshot.methods().get(1).errors()).containsEntry("rpc_-32602", 1L);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.replay;
+
+import io.dipcoin.sui.protocol.SuiClient;
+import io.dipcoin.sui.protocol.fake.FakeSuiNode;
+import io.dipcoin.sui.protocol.http.HttpService;
+import io.dipcoin.sui.protocol.http.request.GetCoins;
+import io.dipcoin.sui.protocol.http.response.GasPriceWrapper;
+import io.dipcoin.sui.protocol.http.response.PageForCoinAndStringWrapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/31 16:20
+ * @Description :
+ */
+class RecordReplayTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysRecordedResponsesIgnoringIds() throws Exception {
+        Path file = dir.resolve("traffic.jsonl.gz");
+        GetCoins getCoins = new GetCoins();
+        getCoins.setOwner("0x1");
+
+        PageForCoinAndStringWrapper recordedCoins;
+        try (FakeSuiNode node = FakeSuiNode.start()) {
+            node.pageSize(3);
+            try (RecordingSuiService recorder = new RecordingSuiService(new HttpService(node.url()), file)) {
+                SuiClient client = SuiClient.build(recorder);
+                recordedCoins = client.getCoins(getCoins).send();
+                client.getReferenceGasPrice().sendAsync().get();
+                assertThat(recorder.getRecordedCount()).isEqualTo(2);
+            }
+        }
+
+        List<RecordedCall> calls = Recordings.read(file);
+        assertThat(calls).extracting(RecordedCall::method).containsExactly("suix_getCoins", "suix_getReferenceGasPrice");
+
+        ReplaySuiService replay = new ReplaySuiService(calls);
+        replay.setTimeScale(0);
+        SuiClient client = SuiClient.build(replay);
+
+        PageForCoinAndStringWrapper coins = client.getCoins(getCoins).send();
+        assertThat(coins.getResult()).isEqualTo(recordedCoins.getResult());
+        GasPriceWrapper gasPrice = client.getReferenceGasPrice().send();
+        assertThat(gasPrice.getGasPrice()).hasToString("750");
+
+        getCoins.setOwner("0x2");
+        assertThat(client.getCoins(getCoins).send().hasError()).isTrue();
+        assertThat(replay.getHitCount()).isEqualTo(2);
+        assertThat(replay.getMissCount()).isEqualTo(1);
+
+        TrafficReplayer.Report report = TrafficReplayer.replay(calls, replay, 10.0);
+        assertThat(report.calls()).isEqualTo(2);
+        assertThat(report.rpcErrors()).isZero();
+        assertThat(report.failures()).isZero();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.retry;
+
+import io.dipcoin.sui.protocol.constant.RpcMethod;
+import io.dipcoin.sui.protocol.exceptions.ClientConnectionException;
+import io.dipcoin.sui.protocol.exceptions.MessageDecodingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/24 11:20
+ * @Description : Retry policy unit test
+ */
+public class RetryPolicyTest {
+
+    private final RetryConfig config = new RetryConfig(3, Duration.ofMillis(1), Duration.ofMillis(5), 2.0,
+            Duration.ofSeconds(5), 0.2, 10);
+
+    @Test
+    void shouldRetryTransportFailures() throws Exception {
+        RetryPolicy policy = new RetryPolicy(config);
+        AtomicInteger calls = new AtomicInteger();
+        String result = policy.execute(RpcMethod.GET_OBJECT, () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IOException("connection reset");
+            }
+            return "ok";
+        });
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(policy.getRetryCount()).isEqualTo(2);
+        assertThat(policy.getRetriedSuccessCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRetryDecodingFailures() {
+        RetryPolicy policy = new RetryPolicy(config);
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> policy.execute(RpcMethod.GET_OBJECT, () -> {
+            calls.incrementAndGet();
+            throw new MessageDecodingException("bad");
+        })).isInstanceOf(MessageDecodingException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetryOnlyTransientHttpStatuses() throws Exception {
+        for (int status : new int[]{408, 429, 500, 503}) {
+            RetryPolicy policy = new RetryPolicy(config);
+            AtomicInteger calls = new AtomicInteger();
+            String result = policy.execute(RpcMethod.GET_OBJECT, () -> {
+                if (calls.incrementAndGet() < 2) {
+                    throw new ClientConnectionException("Invalid response received: " + status, status);
+                }
+                return "ok";
+            });
+            assertThat(result).isEqualTo("ok");
+            assertThat(calls.get()).as("status %d", status).isEqualTo(2);
+        }
+        for (int status : new int[]{400, 404, 413}) {
+            RetryPolicy policy = new RetryPolicy(config);
+            AtomicInteger calls = new AtomicInteger();
+            assertThatThrownBy(() -> policy.execute(RpcMethod.GET_OBJECT, () -> {
+                calls.incrementAndGet();
+                throw new ClientConnectionException("Invalid response received: " + status, status);
+            })).isInstanceOf(ClientConnectionException.class);
+            assertThat(calls.get()).as("status %d", status).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() throws Exception {
+        RetryPolicy policy = new RetryPolicy(config);
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> policy.executeAsync(RpcMethod.GET_OBJECT, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.<String>failedFuture(new IOException("timeout"));
+        }).join()).hasCauseInstanceOf(IOException.class);
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(policy.getExhaustedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldClassifyIdempotentMethods() {
+        assertThat(RpcMethod.isIdempotent(RpcMethod.GET_OBJECT)).isTrue();
+        assertThat(RpcMethod.isIdempotent(RpcMethod.EXECUTE_TRANSACTION_BLOCK)).isTrue();
+        assertThat(RpcMethod.isIdempotent("unknown_method")).isFalse();
+    }
+}
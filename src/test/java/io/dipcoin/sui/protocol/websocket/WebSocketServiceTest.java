@@ -0,0 +1,203 @@
+/*
+ * Copyright 2025 Dipcoin LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");you may not use this file except in compliance with
+ * the License.You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,software distributed under the License is distributed on
+ * an "AS IS" BASIS,WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.dipcoin.sui.protocol.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dipcoin.sui.model.event.Event;
+import io.dipcoin.sui.model.filter.EventFilter;
+import io.dipcoin.sui.protocol.SuiClient;
+import io.dipcoin.sui.protocol.http.HttpService;
+import io.dipcoin.sui.protocol.rx.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author : Same
+ * @datetime : 2025/10/29 15:10
+ * @Description :
+ */
+class WebSocketServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MockWebServer server;
+
+    private WebSocketService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (service != null) {
+            service.close();
+        }
+        server.shutdown();
+    }
+
+    @Test
+    void deliversEventNotifications() throws Exception {
+        server.enqueue(new MockResponse().withWebSocketUpgrade(new FakeNode(7, 1, false)));
+        service = new WebSocketService(server.url("/").toString(), new OkHttpClient(), null);
+
+        RecordingCallback callback = new RecordingCallback();
+        service.suiEventSubscribe(new EventFilter(), callback);
+
+        List<Event> events = callback.events.poll(5, TimeUnit.SECONDS);
+        assertThat(events).hasSize(1);
+        assertThat(events.getFirst().getId().getTxDigest()).isEqualTo("digest-1");
+        assertThat(callback.errors).isEmpty();
+    }
+
+    @Test
+    void resubscribesAfterDisconnect() throws Exception {
+        server.enqueue(new MockResponse().withWebSocketUpgrade(new FakeNode(7, 1, true)));
+        server.enqueue(new MockResponse().withWebSocketUpgrade(new FakeNode(8, 2, false)));
+        service = new WebSocketService(server.url("/").toString(), new OkHttpClient(), null);
+        service.setReconnectDelay(Duration.ofMillis(10), Duration.ofMillis(50));
+
+        RecordingCallback callback = new RecordingCallback();
+        service.suiEventSubscribe(new EventFilter(), callback);
+
+        assertThat(callback.events.poll(5, TimeUnit.SECONDS).getFirst().getId().getTxDigest()).isEqualTo("digest-1");
+        assertThat(callback.events.poll(5, TimeUnit.SECONDS).getFirst().getId().getTxDigest()).isEqualTo("digest-2");
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void backfillsWhenTheRenewedSubscribeIsNeverAnswered() throws Exception {
+        // The backfill of the second connection finds nothing yet, digest-2 is emitted before the third one
+        AtomicInteger backfills = new AtomicInteger();
+        MockWebServer rpc = new MockWebServer();
+        rpc.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                boolean descending = request.getBody().readUtf8().contains(",true]");
+                String data = descending || backfills.incrementAndGet() == 1 ? "[]" : "[" + event(2) + "]";
+                return new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"data\":" + data
+                        + ",\"hasNextPage\":false,\"nextCursor\":null}}");
+            }
+        });
+        rpc.start();
+        server.enqueue(new MockResponse().withWebSocketUpgrade(new FakeNode(7, 1, true)));
+        server.enqueue(new MockResponse().withWebSocketUpgrade(new FakeNode(8, 0, false, false)));
+        server.enqueue(new MockResponse().withWebSocketUpgrade(new FakeNode(9, 3, false)));
+        try (HttpService http = new HttpService(rpc.url("/").toString())) {
+            service = new WebSocketService(server.url("/").toString(), new OkHttpClient(), SuiClient.build(http));
+            service.setReconnectDelay(Duration.ofMillis(10), Duration.ofMillis(50));
+
+            RecordingCallback callback = new RecordingCallback();
+            service.suiEventSubscribe(new EventFilter(), callback);
+
+            assertThat(callback.events.poll(5, TimeUnit.SECONDS).getFirst().getId().getTxDigest()).isEqualTo("digest-1");
+            assertThat(callback.events.poll(5, TimeUnit.SECONDS).getFirst().getId().getTxDigest()).isEqualTo("digest-2");
+            assertThat(callback.events.poll(5, TimeUnit.SECONDS).getFirst().getId().getTxDigest()).isEqualTo("digest-3");
+            assertThat(server.getRequestCount()).isEqualTo(3);
+        } finally {
+            service.close();
+            rpc.shutdown();
+        }
+    }
+
+    /**
+     * Answers the subscribe request, pushes one event and optionally drops the connection.
+     */
+    private static final class FakeNode extends WebSocketListener {
+
+        private final int subscriptionId;
+        private final int eventSeq;
+        private final boolean disconnect;
+        private final boolean ack;
+
+        FakeNode(int subscriptionId, int eventSeq, boolean disconnect) {
+            this(subscriptionId, eventSeq, disconnect, true);
+        }
+
+        FakeNode(int subscriptionId, int eventSeq, boolean disconnect, boolean ack) {
+            this.subscriptionId = subscriptionId;
+            this.eventSeq = eventSeq;
+            this.disconnect = disconnect;
+            this.ack = ack;
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            try {
+                JsonNode request = MAPPER.readTree(text);
+                if (!"suix_subscribeEvent".equals(request.get("method").asText())) {
+                    return;
+                }
+                if (!ack) {
+                    webSocket.close(1001, "going away");
+                    return;
+                }
+                webSocket.send("{\"jsonrpc\":\"2.0\",\"id\":" + request.get("id").asLong() + ",\"result\":" + subscriptionId + "}");
+                webSocket.send("{\"jsonrpc\":\"2.0\",\"method\":\"suix_subscribeEvent\",\"params\":{\"subscription\":"
+                        + subscriptionId + ",\"result\":" + event(eventSeq) + "}}");
+                if (disconnect) {
+                    webSocket.close(1001, "going away");
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            webSocket.close(1000, null);
+        }
+    }
+
+    private static String event(int eventSeq) {
+        return "{\"id\":{\"txDigest\":\"digest-" + eventSeq + "\",\"eventSeq\":\"" + eventSeq
+                + "\"},\"packageId\":\"0x2\",\"sender\":\"0x1\",\"type\":\"0x2::test::Event\",\"parsedJson\":{}}";
+    }
+
+    private static final class RecordingCallback implements Callback<List<Event>> {
+
+        final BlockingQueue<List<Event>> events = new LinkedBlockingQueue<>();
+        final BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onEvent(List<Event> value) {
+            events.add(value);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            errors.add(throwable);
+        }
+    }
+}